@@ -21,4 +21,19 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * A single thread for the outbox relay, so a slow mail server or websocket push never holds up
+     * the shared executor or the scheduler. The relay queues at most one drain at a time.
+     */
+    @Bean(name = "outboxRelayExecutor")
+    public Executor outboxRelayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("OutboxRelay-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,37 @@
+package com.rentalplatform.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the geo functions used by listing search, built on core Postgres geometric types so no
+ * PostGIS extension is needed. The point expression must stay identical to the one the GiST index
+ * is built on, otherwise viewport queries fall back to a sequential scan.
+ */
+public class ListingGeoFunctionContributor implements FunctionContributor {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    public static String locationPoint(String latitude, String longitude) {
+        return "point(%s, %s)".formatted(longitude, latitude);
+    }
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "listing_in_box",
+                "(" + locationPoint("?1", "?2") + " <@ box(point(?4, ?3), point(?6, ?5)))",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "listing_distance_km",
+                ("(2 * %s * asin(least(1, sqrt(power(sin(radians(?3 - ?1) / 2), 2) + " +
+                        "cos(radians(?1)) * cos(radians(?3)) * power(sin(radians(?4 - ?2) / 2), 2)))))")
+                        .formatted(EARTH_RADIUS_KM),
+                basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
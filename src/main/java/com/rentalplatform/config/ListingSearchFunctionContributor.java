@@ -0,0 +1,39 @@
+package com.rentalplatform.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the Postgres full-text functions used by listing search. The vector expression must stay
+ * identical to the one the GIN index is built on, otherwise the planner will not use the index.
+ */
+public class ListingSearchFunctionContributor implements FunctionContributor {
+
+    public static final String TEXT_CONFIGURATION = "english";
+
+    public static String searchVector(String title, String address, String description) {
+        return ("(setweight(to_tsvector('%1$s', coalesce(%2$s, '')), 'A') || " +
+                "setweight(to_tsvector('%1$s', coalesce(%3$s, '')), 'B') || " +
+                "setweight(to_tsvector('%1$s', coalesce(%4$s, '')), 'C'))")
+                .formatted(TEXT_CONFIGURATION, title, address, description);
+    }
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        String vector = searchVector("?1", "?2", "?3");
+        String textQuery = "websearch_to_tsquery('%s', ?4)".formatted(TEXT_CONFIGURATION);
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "listing_text_match",
+                "(" + vector + " @@ " + textQuery + ")",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "listing_text_rank",
+                "ts_rank_cd(" + vector + ", " + textQuery + ")",
+                basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -72,6 +72,9 @@ public class RedisCacheConfig {
         cacheConfigurations.put("messages", redisCacheConfiguration().entryTtl(Duration.ofMinutes(10)));
         cacheConfigurations.put("unreadMessages", redisCacheConfiguration().entryTtl(Duration.ofMinutes(10)));
         cacheConfigurations.put("reviews", redisCacheConfiguration().entryTtl(Duration.ofMinutes(10)));
+        cacheConfigurations.put("listingFacets", redisCacheConfiguration().entryTtl(Duration.ofMinutes(10)));
+        cacheConfigurations.put("listingSearch", redisCacheConfiguration().entryTtl(Duration.ofMinutes(10)));
+        cacheConfigurations.put("listingSimilar", redisCacheConfiguration().entryTtl(Duration.ofMinutes(10)));
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(redisCacheConfiguration())
@@ -1,14 +1,18 @@
 package com.rentalplatform.controller;
 
 import com.rentalplatform.dto.BookingDto;
+import com.rentalplatform.dto.ExportFormat;
 import com.rentalplatform.dto.creationDto.CreationBookingDto;
 import com.rentalplatform.dto.PageDto;
 import com.rentalplatform.service.BookingService;
+import com.rentalplatform.service.ExportService;
+import com.rentalplatform.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 
@@ -18,9 +22,13 @@ import java.security.Principal;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
 
     public static final String MY_BOOKINGS = "/my-bookings";
     public static final String BOOKINGS_FOR_LANDLORD = "/owner";
+    public static final String EXPORT_MY_BOOKINGS = "/my-bookings/export";
+    public static final String EXPORT_BOOKINGS_FOR_LANDLORD = "/owner/export";
     public static final String CONFIRM_BY_ID = "/confirm/{bookingId}";
     public static final String CANCEL_BY_ID = "/cancel/{bookingId}";
     public static final String DECLINE_BY_ID = "/decline/{bookingId}";
@@ -45,10 +53,32 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookingsForLandlord(principal.getName(), page, size));
     }
 
+    @GetMapping(EXPORT_MY_BOOKINGS)
+    public ResponseEntity<StreamingResponseBody> exportBookings(Principal principal,
+                                                                @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        String username = principal.getName();
+        return ExportResponses.attachment("my-bookings", format, gzip,
+                out -> exportService.exportBookingsForTenant(username, format, gzip, out));
+    }
+
+    @PreAuthorize("hasRole('ROLE_LANDLORD')")
+    @GetMapping(EXPORT_BOOKINGS_FOR_LANDLORD)
+    public ResponseEntity<StreamingResponseBody> exportBookingsForLandlord(Principal principal,
+                                                                           @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                                           @RequestParam(defaultValue = "false") boolean gzip) {
+        String username = principal.getName();
+        return ExportResponses.attachment("owner-bookings", format, gzip,
+                out -> exportService.exportBookingsForLandlord(username, format, gzip, out));
+    }
+
     @PostMapping
     public ResponseEntity<BookingDto> createBooking(@Valid @RequestBody CreationBookingDto bookingDto,
+                                                    @RequestHeader(value = IdempotencyService.HEADER, required = false)
+                                                    String idempotencyKey,
                                                     Principal principal) {
-        return ResponseEntity.ok(bookingService.createBooking(bookingDto, principal.getName()));
+        return idempotencyService.execute(idempotencyKey, principal.getName(), "create-booking", bookingDto,
+                BookingDto.class, () -> bookingService.createBooking(bookingDto, principal.getName()));
     }
 
     @PreAuthorize("hasRole('ROLE_LANDLORD')")
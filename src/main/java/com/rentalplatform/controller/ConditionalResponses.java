@@ -0,0 +1,36 @@
+package com.rentalplatform.controller;
+
+import com.rentalplatform.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Answers If-None-Match / If-Modified-Since from a version lookup before the body is built, so an
+ * unchanged resource costs one narrow query and no entity loading or serialization. When the
+ * resource is missing the body supplier runs anyway and reports the error as usual.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ifModified(WebRequest request, Optional<ResourceVersion> version, Supplier<T> body) {
+        if (version.isPresent()) {
+            ResourceVersion current = version.get();
+            long lastModified = current.lastModified() != null ? current.lastModified().toEpochMilli() : -1;
+
+            if (request.checkNotModified(current.etag(), lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+}
@@ -0,0 +1,29 @@
+package com.rentalplatform.controller;
+
+import com.rentalplatform.dto.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+final class ExportResponses {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private ExportResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, boolean gzip,
+                                                            StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -20,13 +21,16 @@ public class ImageController {
     private final ImageService imageService;
 
     @GetMapping("/{imageId}")
-    public ResponseEntity<ImageDto> getImageForListing(@PathVariable Long listingId, @PathVariable Long imageId) {
-        return ResponseEntity.ok(imageService.getImageForListing(listingId, imageId));
+    public ResponseEntity<ImageDto> getImageForListing(@PathVariable Long listingId, @PathVariable Long imageId,
+                                                       WebRequest request) {
+        return ConditionalResponses.ifModified(request, imageService.findImageVersion(listingId, imageId),
+                () -> imageService.getImageForListing(listingId, imageId));
     }
 
     @GetMapping
-    public ResponseEntity<List<ImageDto>> getImagesForListing(@PathVariable Long listingId) {
-        return ResponseEntity.ok(imageService.getImagesForListing(listingId));
+    public ResponseEntity<List<ImageDto>> getImagesForListing(@PathVariable Long listingId, WebRequest request) {
+        return ConditionalResponses.ifModified(request, imageService.findImagesVersion(listingId),
+                () -> imageService.getImagesForListing(listingId));
     }
 
     @PreAuthorize("hasRole('ROLE_LANDLORD')")
@@ -1,18 +1,39 @@
 package com.rentalplatform.controller;
 
+import com.rentalplatform.dto.CursorPageDto;
+import com.rentalplatform.dto.ExportFormat;
 import com.rentalplatform.dto.creationDto.CreationListingDto;
 import com.rentalplatform.dto.updateDto.EditListingDto;
 import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.ListingAnalyticsDto;
+import com.rentalplatform.dto.ListingCalendarDto;
 import com.rentalplatform.dto.ListingDto;
+import com.rentalplatform.dto.ListingFacetsDto;
+import com.rentalplatform.dto.ListingImportResultDto;
+import com.rentalplatform.dto.ListingSuggestionDto;
+import com.rentalplatform.dto.ListingSummaryDto;
+import com.rentalplatform.dto.PageDto;
+import com.rentalplatform.service.ExportService;
+import com.rentalplatform.service.ListingAnalyticsService;
+import com.rentalplatform.service.ListingCalendarService;
+import com.rentalplatform.service.ListingImportService;
 import com.rentalplatform.service.ListingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.security.Principal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RequestMapping("/api/listings")
@@ -20,27 +41,94 @@ import java.security.Principal;
 public class ListingController {
 
     private final ListingService listingService;
+    private final ListingImportService listingImportService;
+    private final ListingCalendarService listingCalendarService;
+    private final ListingAnalyticsService listingAnalyticsService;
+    private final ExportService exportService;
 
     @GetMapping("/{listingId}")
-    public ResponseEntity<ListingDto> getListing(@PathVariable Long listingId) {
-        return ResponseEntity.ok(listingService.getListingById(listingId));
+    public ResponseEntity<ListingDto> getListing(@PathVariable Long listingId, WebRequest request) {
+        ResponseEntity<ListingDto> response = ConditionalResponses.ifModified(request,
+                listingService.findListingVersion(listingId), () -> listingService.getListingById(listingId));
+        listingService.recordView(listingId);
+        return response;
     }
 
     @PreAuthorize("hasRole('ROLE_LANDLORD')")
     @GetMapping("/my-listings")
-    public ResponseEntity<Page<ListingDto>> getMyListings(Principal principal,
-                                                          @RequestParam(defaultValue = "0") int page,
-                                                          @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<Page<ListingSummaryDto>> getMyListings(Principal principal,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size) {
         return ResponseEntity.ok(listingService.getMyListings(principal.getName(), page, size));
     }
 
+    @PreAuthorize("hasRole('ROLE_LANDLORD')")
+    @GetMapping("/my-listings/analytics")
+    public ResponseEntity<PageDto<ListingAnalyticsDto>> getMyListingsAnalytics(
+            Principal principal,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(listingAnalyticsService.getAnalytics(principal.getName(), from, to, page, size));
+    }
+
+    @PreAuthorize("hasRole('ROLE_LANDLORD')")
+    @GetMapping("/my-listings/export")
+    public ResponseEntity<StreamingResponseBody> exportMyListings(Principal principal,
+                                                                  @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                                  @RequestParam(defaultValue = "false") boolean gzip) {
+        String username = principal.getName();
+        return ExportResponses.attachment("my-listings", format, gzip,
+                out -> exportService.exportListingsForLandlord(username, format, gzip, out));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportListings(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return ExportResponses.attachment("listings", format, gzip,
+                out -> exportService.exportAllListings(format, gzip, out));
+    }
+
     @GetMapping("/all-listings")
-    public ResponseEntity<Page<ListingDto>> getAllListings(@Valid @ModelAttribute FilterListingsDto filterDto,
-                                                           @RequestParam(defaultValue = "0") int page,
-                                                           @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<PageDto<ListingSummaryDto>> getAllListings(@Valid @ModelAttribute FilterListingsDto filterDto,
+                                                                     @RequestParam(defaultValue = "0") int page,
+                                                                     @RequestParam(defaultValue = "10") int size) {
         return ResponseEntity.ok(listingService.getAllListings(filterDto, page, size));
     }
 
+    @GetMapping("/all-listings/cursor")
+    public ResponseEntity<CursorPageDto<ListingSummaryDto>> getAllListingsByCursor(
+            @Valid @ModelAttribute FilterListingsDto filterDto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(listingService.getAllListingsByCursor(filterDto, cursor, size));
+    }
+
+    @GetMapping("/all-listings/facets")
+    public ResponseEntity<ListingFacetsDto> getListingFacets(@Valid @ModelAttribute FilterListingsDto filterDto) {
+        return ResponseEntity.ok(listingService.getListingFacets(filterDto));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ListingSuggestionDto>> suggest(@RequestParam("q") String query,
+                                                              @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(listingService.suggest(query, limit));
+    }
+
+    @GetMapping("/{listingId}/similar")
+    public ResponseEntity<List<ListingSummaryDto>> getSimilarListings(@PathVariable Long listingId,
+                                                                      @RequestParam(defaultValue = "6") int limit) {
+        return ResponseEntity.ok(listingService.getSimilarListings(listingId, limit));
+    }
+
+    @GetMapping("/{listingId}/calendar")
+    public ResponseEntity<ListingCalendarDto> getCalendar(@PathVariable Long listingId,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(listingCalendarService.getCalendar(listingId, from, to));
+    }
+
     @PreAuthorize("hasRole('ROLE_LANDLORD')")
     @PostMapping
     public ResponseEntity<ListingDto> createListing(@Valid @RequestBody CreationListingDto creationListingDto,
@@ -48,6 +136,14 @@ public class ListingController {
         return ResponseEntity.ok(listingService.createListing(creationListingDto, principal.getName()));
     }
 
+    @PreAuthorize("hasRole('ROLE_LANDLORD')")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ListingImportResultDto> importListings(InputStream body,
+                                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                 Principal principal) {
+        return ResponseEntity.ok(listingImportService.importListings(body, contentType, principal.getName()));
+    }
+
     @PreAuthorize("hasRole('ROLE_LANDLORD')")
     @PatchMapping("/{id}")
     public ResponseEntity<ListingDto> editListing(@PathVariable Long id,
@@ -1,6 +1,7 @@
 package com.rentalplatform.controller;
 
 import com.rentalplatform.dto.MessageDto;
+import com.rentalplatform.service.IdempotencyService;
 import com.rentalplatform.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,7 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping("/conversation/{receiverUsername}")
     public ResponseEntity<List<MessageDto>> getConversation(@PathVariable String receiverUsername,
@@ -35,9 +37,14 @@ public class MessageController {
     @PostMapping("/{receiverUsername}")
     public ResponseEntity<String> sendMessage(@PathVariable String receiverUsername,
                                               @RequestBody String content,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false)
+                                              String idempotencyKey,
                                               Principal principal) {
-        messageService.sendMessage(receiverUsername, content, principal.getName());
-        return ResponseEntity.ok("Message sent successfully");
+        return idempotencyService.execute(idempotencyKey, principal.getName(), "send-message:" + receiverUsername,
+                content, String.class, () -> {
+                    messageService.sendMessage(receiverUsername, content, principal.getName());
+                    return "Message sent successfully";
+                });
     }
 
     @PatchMapping("/{id}/read")
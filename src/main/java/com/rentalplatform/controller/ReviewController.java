@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 
@@ -20,8 +21,9 @@ public class ReviewController {
     private final ReviewService reviewService;
 
     @GetMapping("/{reviewId}")
-    public ResponseEntity<ReviewDto> getReview(@PathVariable Long reviewId) {
-        return ResponseEntity.ok(reviewService.getReviewById(reviewId));
+    public ResponseEntity<ReviewDto> getReview(@PathVariable Long reviewId, WebRequest request) {
+        return ConditionalResponses.ifModified(request, reviewService.findReviewVersion(reviewId),
+                () -> reviewService.getReviewById(reviewId));
     }
 
     @GetMapping("/listing/{listingId}")
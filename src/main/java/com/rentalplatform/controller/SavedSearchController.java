@@ -0,0 +1,38 @@
+package com.rentalplatform.controller;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.SavedSearchDto;
+import com.rentalplatform.service.SavedSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/saved-searches")
+@RestController
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    @GetMapping
+    public ResponseEntity<List<SavedSearchDto>> getMySavedSearches(Principal principal) {
+        return ResponseEntity.ok(savedSearchService.getMySavedSearches(principal.getName()));
+    }
+
+    @PostMapping
+    public ResponseEntity<SavedSearchDto> createSavedSearch(@RequestParam String name,
+                                                            @Valid @ModelAttribute FilterListingsDto filterDto,
+                                                            Principal principal) {
+        return ResponseEntity.ok(savedSearchService.createSavedSearch(name, filterDto, principal.getName()));
+    }
+
+    @DeleteMapping("/{savedSearchId}")
+    public ResponseEntity<String> deleteSavedSearch(@PathVariable Long savedSearchId, Principal principal) {
+        savedSearchService.deleteSavedSearch(savedSearchId, principal.getName());
+        return ResponseEntity.ok("Saved search has been deleted successfully");
+    }
+}
@@ -0,0 +1,20 @@
+package com.rentalplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class CursorPageDto<T> implements Serializable {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
@@ -1,8 +1,11 @@
 package com.rentalplatform.dto;
 
 import com.rentalplatform.entity.ListingType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +15,7 @@ import java.time.LocalDate;
 @Builder
 @Data
 public class FilterListingsDto {
+    private String query;
     private String title;
     private String address;
     @PositiveOrZero(message = "Minimal price must be greater or equal 0")
@@ -24,4 +28,28 @@ public class FilterListingsDto {
     @Max(5)
     private Double minAverageRating;
     private LocalDate availableFrom;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    @Positive(message = "Radius must be greater than 0")
+    @Max(value = 500, message = "Maximum radius is 500 km")
+    private Double radiusKm;
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double minLatitude;
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double minLongitude;
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double maxLatitude;
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double maxLongitude;
+    private ListingSort sort;
 }
@@ -0,0 +1,34 @@
+package com.rentalplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ListingAnalyticsDto implements Serializable {
+    private Long listingId;
+    private String title;
+    private List<MonthlyStatsDto> months;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Data
+    public static class MonthlyStatsDto implements Serializable {
+        private YearMonth month;
+        private int bookedNights;
+        private double occupancyRate;
+        private double revenue;
+        private int pendingRequests;
+        private int reviewCount;
+        private Double averageRating;
+    }
+}
@@ -0,0 +1,27 @@
+package com.rentalplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Occupied nights from {@code from} (inclusive) to {@code to} (exclusive). {@code occupied} is a
+ * base64 bitset with one bit per night, least significant bit first: bit {@code i % 8} of byte
+ * {@code i / 8} is set when the night starting on {@code from + i} days is booked.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ListingCalendarDto implements Serializable {
+    private Long listingId;
+    private LocalDate from;
+    private LocalDate to;
+    private int nights;
+    private int occupiedNights;
+    private String occupied;
+}
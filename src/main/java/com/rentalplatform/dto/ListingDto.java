@@ -22,7 +22,11 @@ public class ListingDto implements Serializable {
     private String description;
     private Double price;
     private String address;
+    private Double latitude;
+    private Double longitude;
     private ListingType type;
+    private Double averageRating;
+    private Integer reviewCount;
     private String ownerUsername;
     @JsonProperty("created_at")
     private Instant createdAt;
@@ -0,0 +1,32 @@
+package com.rentalplatform.dto;
+
+import com.rentalplatform.entity.ListingType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ListingFacetsDto implements Serializable {
+    private long total;
+    private Map<ListingType, Long> byType;
+    private Map<Integer, Long> byNumberOfRooms;
+    private List<PriceBucketDto> byPrice;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Data
+    public static class PriceBucketDto implements Serializable {
+        private Double from;
+        private Double to;
+        private long count;
+    }
+}
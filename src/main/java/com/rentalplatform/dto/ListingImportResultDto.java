@@ -0,0 +1,28 @@
+package com.rentalplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ListingImportResultDto {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<RowErrorDto> errors;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Data
+    public static class RowErrorDto {
+        private long line;
+        private String message;
+    }
+}
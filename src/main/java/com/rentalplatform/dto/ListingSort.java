@@ -0,0 +1,6 @@
+package com.rentalplatform.dto;
+
+public enum ListingSort {
+    DISTANCE,
+    POPULAR;
+}
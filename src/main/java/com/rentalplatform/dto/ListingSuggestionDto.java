@@ -0,0 +1,23 @@
+package com.rentalplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ListingSuggestionDto implements Serializable {
+    private String text;
+    private SuggestionField field;
+    private long weight;
+
+    public enum SuggestionField {
+        TITLE,
+        ADDRESS
+    }
+}
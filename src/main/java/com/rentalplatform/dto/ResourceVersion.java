@@ -0,0 +1,6 @@
+package com.rentalplatform.dto;
+
+import java.time.Instant;
+
+public record ResourceVersion(String etag, Instant lastModified) {
+}
@@ -0,0 +1,22 @@
+package com.rentalplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SavedSearchDto implements Serializable {
+    private Long id;
+    private String name;
+    private FilterListingsDto filter;
+    @JsonProperty("created_at")
+    private Instant createdAt;
+}
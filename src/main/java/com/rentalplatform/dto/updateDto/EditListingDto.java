@@ -1,6 +1,8 @@
 package com.rentalplatform.dto.updateDto;
 
 import com.rentalplatform.entity.ListingType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,4 +15,10 @@ public class EditListingDto {
     private String address;
     private Integer numberOfRooms;
     private ListingType type;
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double longitude;
 }
@@ -13,7 +13,12 @@ import java.util.Objects;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+        indexes = {
+                @Index(name = "idx_booking_listing_status_end_date", columnList = "listing_id, status, end_date"),
+                @Index(name = "idx_booking_status_end_date", columnList = "status, end_date"),
+                @Index(name = "idx_booking_status_start_date", columnList = "status, start_date")
+        })
 public class BookingEntity implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,6 +41,12 @@ public class BookingEntity implements Serializable {
     @Column(name = "end_date")
     private Instant endDate;
 
+    /**
+     * Set by {@code BookingTimerWheel} when it claims the start reminder; never written through JPA.
+     */
+    @Column(name = "reminder_sent_at", insertable = false, updatable = false)
+    private Instant reminderSentAt;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
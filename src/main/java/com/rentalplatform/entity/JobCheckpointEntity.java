@@ -0,0 +1,33 @@
+package com.rentalplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Progress of a chunked background job. A row exists only while a run is in progress, so a run that
+ * finds one left behind resumes from it instead of starting over.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpointEntity implements Serializable {
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    private Instant cutoff;
+
+    @Builder.Default
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -2,6 +2,8 @@ package com.rentalplatform.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -22,7 +24,11 @@ import java.util.Objects;
                 @Index(name = "idx_listing_price", columnList = "price"),
                 @Index(name = "idx_listing_number_of_rooms", columnList = "number_of_rooms"),
                 @Index(name = "idx_listing_type", columnList = "type"),
-                @Index(name = "idx_listing_landlord_id", columnList = "landlord_id")
+                @Index(name = "idx_listing_landlord_id", columnList = "landlord_id"),
+                @Index(name = "idx_listing_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_listing_average_rating", columnList = "average_rating"),
+                @Index(name = "idx_listing_review_count", columnList = "review_count"),
+                @Index(name = "idx_listing_popularity_score_id", columnList = "popularity_score, id")
         })
 public class ListingEntity implements Serializable {
     @Id
@@ -37,12 +43,36 @@ public class ListingEntity implements Serializable {
 
     private String address;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "number_of_rooms")
     private Integer numberOfRooms;
 
     @Enumerated(EnumType.STRING)
     private ListingType type;
 
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "average_rating", nullable = false)
+    private Double averageRating = 0.0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "popularity_score", nullable = false, insertable = false, updatable = false)
+    private Double popularityScore = 0.0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+    private Long viewCount = 0L;
+
     @ManyToOne
     @JoinColumn(name = "landlord_id")
     private UserEntity landlord;
@@ -60,11 +90,21 @@ public class ListingEntity implements Serializable {
     private List<ImageEntity> images = new ArrayList<>();
 
     @Builder.Default
+    @Column(name = "created_at")
     private Instant createdAt = Instant.now();
 
     @Column(name = "next_available_date")
     private Instant nextAvailableDate;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,64 @@
+package com.rentalplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Booking and review totals of one listing in one calendar month, kept up to date by booking
+ * transitions and review writes so the landlord dashboard never aggregates raw history. Booked
+ * nights are counted in the month of the night, pending requests in the month the stay starts and
+ * reviews in the month they were written.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "listing_monthly_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_listing_monthly_stats_listing_month",
+                        columnNames = {"listing_id", "month_start"})
+        })
+public class ListingMonthlyStatsEntity implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "listing_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ListingEntity listing;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Builder.Default
+    @Column(name = "booked_nights", nullable = false)
+    private Integer bookedNights = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Double revenue = 0.0;
+
+    @Builder.Default
+    @Column(name = "pending_requests", nullable = false)
+    private Integer pendingRequests = 0;
+
+    @Builder.Default
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount = 0;
+
+    @Builder.Default
+    @Column(name = "rating_sum", nullable = false)
+    private Double ratingSum = 0.0;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.rentalplatform.entity;
+
+public enum OutboxEventType {
+    EMAIL,
+    NOTIFICATION_PUSH,
+    MESSAGE_PUSH,
+    BOOKING_CACHE_EVICTION,
+    REVIEW_CACHE_EVICTION;
+}
@@ -2,6 +2,8 @@ package com.rentalplatform.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -38,6 +40,15 @@ public class ReviewEntity implements Serializable {
     @Column(name = "created_at")
     private Instant createdAt = Instant.now();
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
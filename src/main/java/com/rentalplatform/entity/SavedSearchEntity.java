@@ -0,0 +1,85 @@
+package com.rentalplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "saved_searches",
+        indexes = @Index(name = "idx_saved_search_user_id", columnList = "user_id"))
+public class SavedSearchEntity implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    private String query;
+
+    private String title;
+
+    private String address;
+
+    @Column(name = "min_price")
+    private Double minPrice;
+
+    @Column(name = "max_price")
+    private Double maxPrice;
+
+    @Column(name = "number_of_rooms")
+    private Integer numberOfRooms;
+
+    @Enumerated(EnumType.STRING)
+    private ListingType type;
+
+    @Column(name = "min_average_rating")
+    private Double minAverageRating;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "radius_km")
+    private Double radiusKm;
+
+    @Column(name = "min_latitude")
+    private Double minLatitude;
+
+    @Column(name = "min_longitude")
+    private Double minLongitude;
+
+    @Column(name = "max_latitude")
+    private Double maxLatitude;
+
+    @Column(name = "max_longitude")
+    private Double maxLongitude;
+
+    @Builder.Default
+    @Column(name = "created_at")
+    private Instant createdAt = Instant.now();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SavedSearchEntity that = (SavedSearchEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,37 @@
+package com.rentalplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Remembers which listings a saved search has already alerted about, so an edited listing that keeps
+ * matching does not notify the same tenant again.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "saved_search_matches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_saved_search_match",
+                columnNames = {"saved_search_id", "listing_id"}),
+        indexes = @Index(name = "idx_saved_search_match_listing_id", columnList = "listing_id"))
+public class SavedSearchMatchEntity implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "saved_search_id", nullable = false)
+    private Long savedSearchId;
+
+    @Column(name = "listing_id", nullable = false)
+    private Long listingId;
+
+    @Builder.Default
+    @Column(name = "matched_at")
+    private Instant matchedAt = Instant.now();
+}
@@ -0,0 +1,13 @@
+package com.rentalplatform.event;
+
+import com.rentalplatform.entity.BookingStatus;
+
+import java.time.Instant;
+
+public record BookingStatusChangedEvent(Long bookingId,
+                                        Long listingId,
+                                        BookingStatus previousStatus,
+                                        BookingStatus status,
+                                        Instant startDate,
+                                        Instant endDate) {
+}
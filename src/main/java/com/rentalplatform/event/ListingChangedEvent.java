@@ -0,0 +1,10 @@
+package com.rentalplatform.event;
+
+public record ListingChangedEvent(Long listingId, ChangeType changeType) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,4 @@
+package com.rentalplatform.event;
+
+public record ListingFavoritedEvent(Long listingId) {
+}
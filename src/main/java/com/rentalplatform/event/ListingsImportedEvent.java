@@ -0,0 +1,6 @@
+package com.rentalplatform.event;
+
+import java.util.List;
+
+public record ListingsImportedEvent(List<Long> listingIds) {
+}
@@ -0,0 +1,6 @@
+package com.rentalplatform.event;
+
+import com.rentalplatform.entity.OutboxEventType;
+
+public record OutboxEventAppendedEvent(Long outboxEventId, OutboxEventType type) {
+}
@@ -0,0 +1,4 @@
+package com.rentalplatform.event;
+
+public record SavedSearchChangedEvent(Long savedSearchId, boolean deleted) {
+}
@@ -1,6 +1,9 @@
 package com.rentalplatform.exception;
 
+import com.rentalplatform.utils.BookingOverlapConstraintInitializer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -40,6 +43,28 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage(), Instant.now());
     }
 
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictException(ConflictException ex) {
+        return new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage(), Instant.now());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return new ErrorResponse(HttpStatus.CONFLICT.value(),
+                "The resource was modified by another request, please retry", Instant.now());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (ex.getMessage() != null && ex.getMessage().contains(BookingOverlapConstraintInitializer.CONSTRAINT_NAME)) {
+            return new ResponseEntity<>(new ErrorResponse(HttpStatus.CONFLICT.value(),
+                    "The listing is already booked for these dates", Instant.now()), HttpStatus.CONFLICT);
+        }
+        return handleGlobalException(ex);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
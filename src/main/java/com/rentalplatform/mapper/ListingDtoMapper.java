@@ -1,11 +1,14 @@
 package com.rentalplatform.mapper;
 
 import com.rentalplatform.dto.ListingDto;
+import com.rentalplatform.dto.ListingSummaryDto;
 import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.repository.projection.RecentReviewView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -20,8 +23,12 @@ public class ListingDtoMapper {
                 .title(listing.getTitle())
                 .description(listing.getDescription())
                 .address(listing.getAddress())
+                .latitude(listing.getLatitude())
+                .longitude(listing.getLongitude())
                 .price(listing.getPrice())
                 .type(listing.getType())
+                .averageRating(listing.getAverageRating())
+                .reviewCount(listing.getReviewCount())
                 .ownerUsername(listing.getLandlord().getUsername())
                 .createdAt(listing.getCreatedAt())
                 .nextAvailableDateForBooking(listing.getNextAvailableDate())
@@ -34,28 +41,34 @@ public class ListingDtoMapper {
                 .collect(Collectors.toList());
     }
 
-    public ListingDto makeListingDtoWithReviews(ListingEntity listing) {
-        return ListingDto.builder()
+    public ListingSummaryDto makeListingSummaryDto(ListingEntity listing, List<RecentReviewView> recentReviews) {
+        return ListingSummaryDto.builder()
                 .id(listing.getId())
                 .title(listing.getTitle())
                 .description(listing.getDescription())
                 .address(listing.getAddress())
+                .latitude(listing.getLatitude())
+                .longitude(listing.getLongitude())
                 .price(listing.getPrice())
+                .numberOfRooms(listing.getNumberOfRooms())
                 .type(listing.getType())
                 .ownerUsername(listing.getLandlord().getUsername())
+                .averageRating(listing.getAverageRating())
+                .reviewCount(listing.getReviewCount())
+                .viewCount(listing.getViewCount())
                 .createdAt(listing.getCreatedAt())
                 .nextAvailableDateForBooking(listing.getNextAvailableDate())
-                .reviews(
-                        listing.getReviews()
-                                .stream()
-                                .map(reviewDtoMapper::makeReviewDto)
+                .recentReviews(
+                        recentReviews.stream()
+                                .map(review -> reviewDtoMapper.makeReviewDto(review, listing.getTitle()))
                                 .collect(Collectors.toList()))
                 .build();
     }
 
-    public List<ListingDto> makeListingDtoWithReviews(List<ListingEntity> listings) {
+    public List<ListingSummaryDto> makeListingSummaryDto(List<ListingEntity> listings,
+                                                         Map<Long, List<RecentReviewView>> recentReviews) {
         return listings.stream()
-                .map(this::makeListingDtoWithReviews)
+                .map(listing -> makeListingSummaryDto(listing, recentReviews.getOrDefault(listing.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 }
@@ -2,6 +2,7 @@ package com.rentalplatform.mapper;
 
 import com.rentalplatform.dto.ReviewDto;
 import com.rentalplatform.entity.ReviewEntity;
+import com.rentalplatform.repository.projection.RecentReviewView;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -20,6 +21,17 @@ public class ReviewDtoMapper {
                 .build();
     }
 
+    public ReviewDto makeReviewDto(RecentReviewView review, String listingTitle) {
+        return ReviewDto.builder()
+                .id(review.getId())
+                .listingTitle(listingTitle)
+                .criticUsername(review.getCriticUsername())
+                .rating(review.getRating())
+                .comment(review.getComment())
+                .createdAt(review.getCreatedAt())
+                .build();
+    }
+
     public List<ReviewDto> makeReviewDto(List<ReviewEntity> reviews) {
         return reviews.stream()
                 .map(this::makeReviewDto)
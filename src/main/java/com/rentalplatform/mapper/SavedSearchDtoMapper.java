@@ -0,0 +1,43 @@
+package com.rentalplatform.mapper;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.SavedSearchDto;
+import com.rentalplatform.entity.SavedSearchEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class SavedSearchDtoMapper {
+    public List<SavedSearchDto> makeSavedSearchDto(List<SavedSearchEntity> savedSearches) {
+        return savedSearches.stream()
+                .map(this::makeSavedSearchDto)
+                .collect(Collectors.toList());
+    }
+
+    public SavedSearchDto makeSavedSearchDto(SavedSearchEntity savedSearch) {
+        return SavedSearchDto.builder()
+                .id(savedSearch.getId())
+                .name(savedSearch.getName())
+                .filter(FilterListingsDto.builder()
+                        .query(savedSearch.getQuery())
+                        .title(savedSearch.getTitle())
+                        .address(savedSearch.getAddress())
+                        .minPrice(savedSearch.getMinPrice())
+                        .maxPrice(savedSearch.getMaxPrice())
+                        .numberOfRooms(savedSearch.getNumberOfRooms())
+                        .type(savedSearch.getType())
+                        .minAverageRating(savedSearch.getMinAverageRating())
+                        .latitude(savedSearch.getLatitude())
+                        .longitude(savedSearch.getLongitude())
+                        .radiusKm(savedSearch.getRadiusKm())
+                        .minLatitude(savedSearch.getMinLatitude())
+                        .minLongitude(savedSearch.getMinLongitude())
+                        .maxLatitude(savedSearch.getMaxLatitude())
+                        .maxLongitude(savedSearch.getMaxLongitude())
+                        .build())
+                .createdAt(savedSearch.getCreatedAt())
+                .build();
+    }
+}
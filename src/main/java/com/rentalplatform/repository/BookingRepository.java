@@ -4,6 +4,7 @@ import com.rentalplatform.entity.BookingEntity;
 import com.rentalplatform.entity.BookingStatus;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.projection.BookingIntervalView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,11 +26,53 @@ public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
     @Query("SELECT b FROM BookingEntity b WHERE b.listing.landlord.username = :username")
     Page<BookingEntity> findAllByListingLandlordUsername(@Param("username") String username, Pageable pageable);
 
-    @Query("SELECT MAX(b.endDate) FROM BookingEntity b WHERE b.listing.id = :listingId AND b.status = :status")
-    Optional<Instant> findMaxEndDateByListingIdAndStatus(@Param("listingId") Long listingId,
-                                                         @Param("status") BookingStatus status);
+    @Query("SELECT MAX(b.endDate) FROM BookingEntity b WHERE b.listing.id = :listingId AND b.status IN :statuses " +
+            "AND b.endDate > :startDate AND b.startDate < :endDate")
+    Optional<Instant> findMaxOverlappingEndDate(@Param("listingId") Long listingId,
+                                                @Param("statuses") Collection<BookingStatus> statuses,
+                                                @Param("startDate") Instant startDate,
+                                                @Param("endDate") Instant endDate);
 
-    List<BookingEntity> findAllByStatusAndEndDateBefore(BookingStatus status, Instant now);
+    @Query("SELECT b.id AS id, b.listing.id AS listingId, b.startDate AS startDate, b.endDate AS endDate " +
+            "FROM BookingEntity b WHERE b.id > :afterId AND b.status = :status " +
+            "AND b.endDate > :from AND b.endDate <= :to ORDER BY b.id")
+    List<BookingIntervalView> findIntervalsEndingBetween(@Param("afterId") Long afterId,
+                                                         @Param("status") BookingStatus status,
+                                                         @Param("from") Instant from,
+                                                         @Param("to") Instant to,
+                                                         Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.listing.id AS listingId, b.startDate AS startDate, b.endDate AS endDate " +
+            "FROM BookingEntity b WHERE b.id > :afterId AND b.status = :status " +
+            "AND b.startDate > :from AND b.startDate <= :to ORDER BY b.id")
+    List<BookingIntervalView> findIntervalsStartingBetween(@Param("afterId") Long afterId,
+                                                           @Param("status") BookingStatus status,
+                                                           @Param("from") Instant from,
+                                                           @Param("to") Instant to,
+                                                           Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.listing.id AS listingId, b.startDate AS startDate, b.endDate AS endDate " +
+            "FROM BookingEntity b WHERE b.id > :afterId AND b.status IN :statuses AND b.endDate > :endAfter " +
+            "ORDER BY b.id")
+    List<BookingIntervalView> findIntervalsAfterId(@Param("afterId") Long afterId,
+                                                   @Param("statuses") Collection<BookingStatus> statuses,
+                                                   @Param("endAfter") Instant endAfter,
+                                                   Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.listing.id AS listingId, b.startDate AS startDate, b.endDate AS endDate " +
+            "FROM BookingEntity b WHERE b.listing.id = :listingId AND b.status IN :statuses " +
+            "AND b.endDate > :from AND b.startDate < :to")
+    List<BookingIntervalView> findIntervalsOverlapping(@Param("listingId") Long listingId,
+                                                       @Param("statuses") Collection<BookingStatus> statuses,
+                                                       @Param("from") Instant from,
+                                                       @Param("to") Instant to);
+
+    @Query("SELECT DISTINCT b.listing.id FROM BookingEntity b WHERE b.listing.id IN :listingIds " +
+            "AND b.status IN :statuses AND b.startDate < :checkOut AND b.endDate > :checkIn")
+    List<Long> findListingIdsBookedBetween(@Param("listingIds") Collection<Long> listingIds,
+                                           @Param("statuses") Collection<BookingStatus> statuses,
+                                           @Param("checkIn") Instant checkIn,
+                                           @Param("checkOut") Instant checkOut);
 
     boolean existsByListingAndTenantAndStatus(ListingEntity listing, UserEntity tenant, BookingStatus status);
 }
@@ -1,7 +1,11 @@
 package com.rentalplatform.repository;
 
 import com.rentalplatform.entity.ImageEntity;
+import com.rentalplatform.repository.projection.EntityVersionView;
+import com.rentalplatform.repository.projection.ImageListVersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +13,13 @@ import java.util.Optional;
 public interface ImageRepository extends JpaRepository<ImageEntity, Long> {
     Optional<ImageEntity> findByFilename(String filename);
     List<ImageEntity> findAllByListingId(Long listingId);
+
+    @Query("SELECT i.version AS version, i.updatedAt AS updatedAt FROM ImageEntity i " +
+            "WHERE i.id = :imageId AND i.listing.id = :listingId")
+    Optional<EntityVersionView> findVersionByIdAndListingId(@Param("imageId") Long imageId,
+                                                            @Param("listingId") Long listingId);
+
+    @Query("SELECT COUNT(i) AS count, COALESCE(MAX(i.id), 0) AS maxId, COALESCE(SUM(i.version), 0) AS versionSum, " +
+            "MAX(i.updatedAt) AS updatedAt FROM ImageEntity i WHERE i.listing.id = :listingId")
+    ImageListVersionView findListVersionByListingId(@Param("listingId") Long listingId);
 }
@@ -0,0 +1,7 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.JobCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpointEntity, String> {
+}
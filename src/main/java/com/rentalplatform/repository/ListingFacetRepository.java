@@ -0,0 +1,11 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.repository.projection.ListingFacetRow;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ListingFacetRepository {
+    List<ListingFacetRow> countFacets(Specification<ListingEntity> specification);
+}
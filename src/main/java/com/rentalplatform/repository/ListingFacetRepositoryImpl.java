@@ -0,0 +1,64 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.repository.projection.ListingFacetRow;
+import com.rentalplatform.utils.ListingPriceBuckets;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Counts listings per (type, rooms, price bucket) combination in one grouped query. The combinations
+ * are few, so the per-facet totals are summed up by the caller instead of issuing a query per facet.
+ */
+public class ListingFacetRepositoryImpl implements ListingFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ListingFacetRow> countFacets(Specification<ListingEntity> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<ListingEntity> root = query.from(ListingEntity.class);
+
+        Expression<ListingType> type = root.get("type");
+        Expression<Integer> numberOfRooms = root.get("numberOfRooms");
+        Expression<Integer> priceBucket = priceBucket(criteriaBuilder, root.get("price"));
+        Expression<Long> count = criteriaBuilder.count(root);
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, criteriaBuilder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.multiselect(type, numberOfRooms, priceBucket, count)
+                .groupBy(type, numberOfRooms, priceBucket)
+                .orderBy(List.of());
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new ListingFacetRow(row.get(0, ListingType.class), row.get(1, Integer.class),
+                        row.get(2, Integer.class), row.get(3, Long.class)))
+                .toList();
+    }
+
+    private static Expression<Integer> priceBucket(CriteriaBuilder criteriaBuilder, Expression<Double> price) {
+        CriteriaBuilder.Case<Integer> bucket = criteriaBuilder.<Integer>selectCase()
+                .when(criteriaBuilder.isNull(price), -1);
+
+        for (int i = 0; i < ListingPriceBuckets.COUNT - 1; i++) {
+            bucket = bucket.when(criteriaBuilder.lessThan(price, ListingPriceBuckets.upperBound(i)), i);
+        }
+
+        return bucket.otherwise(ListingPriceBuckets.COUNT - 1);
+    }
+}
@@ -0,0 +1,42 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.ListingMonthlyStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ListingMonthlyStatsRepository extends JpaRepository<ListingMonthlyStatsEntity, Long> {
+
+    @Query("SELECT s FROM ListingMonthlyStatsEntity s WHERE s.listing.id IN :listingIds " +
+            "AND s.monthStart >= :fromMonth AND s.monthStart <= :toMonth")
+    List<ListingMonthlyStatsEntity> findAllByListingIdsAndMonths(@Param("listingIds") Collection<Long> listingIds,
+                                                                 @Param("fromMonth") LocalDate fromMonth,
+                                                                 @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Adds the deltas to the row of the listing and month, creating it on first use.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO listing_monthly_stats AS s (listing_id, month_start, booked_nights, revenue, " +
+            "pending_requests, review_count, rating_sum, updated_at) " +
+            "VALUES (:listingId, :monthStart, :bookedNights, :revenue, :pendingRequests, :reviewCount, :ratingSum, now()) " +
+            "ON CONFLICT (listing_id, month_start) DO UPDATE SET " +
+            "booked_nights = s.booked_nights + EXCLUDED.booked_nights, " +
+            "revenue = s.revenue + EXCLUDED.revenue, " +
+            "pending_requests = s.pending_requests + EXCLUDED.pending_requests, " +
+            "review_count = s.review_count + EXCLUDED.review_count, " +
+            "rating_sum = s.rating_sum + EXCLUDED.rating_sum, " +
+            "updated_at = now()", nativeQuery = true)
+    void addToMonth(@Param("listingId") Long listingId,
+                    @Param("monthStart") LocalDate monthStart,
+                    @Param("bookedNights") int bookedNights,
+                    @Param("revenue") double revenue,
+                    @Param("pendingRequests") int pendingRequests,
+                    @Param("reviewCount") int reviewCount,
+                    @Param("ratingSum") double ratingSum);
+}
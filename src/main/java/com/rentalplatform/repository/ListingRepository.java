@@ -2,25 +2,236 @@ package com.rentalplatform.repository;
 
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.projection.EntityVersionView;
+import com.rentalplatform.repository.projection.ListingFilterView;
+import com.rentalplatform.repository.projection.ListingPercolationView;
+import com.rentalplatform.repository.projection.ListingSimilarityView;
+import com.rentalplatform.repository.projection.ListingSuggestionView;
+import com.rentalplatform.repository.projection.ListingTitleAddressView;
+import com.rentalplatform.repository.projection.ListingTitleView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ListingRepository extends JpaRepository<ListingEntity, Long>, JpaSpecificationExecutor<ListingEntity> {
-    @EntityGraph(attributePaths = {"reviews"})
+public interface ListingRepository extends JpaRepository<ListingEntity, Long>, JpaSpecificationExecutor<ListingEntity>,
+        ListingFacetRepository {
+    @EntityGraph(attributePaths = {"landlord"})
     @Query("SELECT l FROM ListingEntity l WHERE l.landlord.id = :landlordId")
-    Page<ListingEntity> findAllWithReviewsByLandlordId(@Param("landlordId") Long landlordId, Pageable pageable);
+    Page<ListingEntity> findAllByLandlordId(@Param("landlordId") Long landlordId, Pageable pageable);
+
+    @Query("SELECT l.id AS id, l.title AS title FROM ListingEntity l WHERE l.landlord.username = :username " +
+            "ORDER BY l.id")
+    Page<ListingTitleView> findTitlesByLandlordUsername(@Param("username") String username, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"reviews"})
+    @EntityGraph(attributePaths = {"landlord"})
     @Override
     Page<ListingEntity> findAll(Specification<ListingEntity> spec, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"landlord"})
+    List<ListingEntity> findAllByIdIn(Collection<Long> ids);
+
     boolean existsByTitleAndAddressAndLandlord(String title, String address, UserEntity landlord);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ListingEntity l WHERE l.id = :listingId")
+    Optional<ListingEntity> findByIdForUpdate(@Param("listingId") Long listingId);
+
+    @Query("SELECT l.version AS version, l.updatedAt AS updatedAt FROM ListingEntity l WHERE l.id = :listingId")
+    Optional<EntityVersionView> findVersionById(@Param("listingId") Long listingId);
+
+    @Query("SELECT l.id AS id, l.landlord.id AS landlordId, l.title AS title, l.address AS address, " +
+            "l.description AS description, l.price AS price, l.numberOfRooms AS numberOfRooms, l.type AS type, " +
+            "l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.latitude AS latitude, l.longitude AS longitude " +
+            "FROM ListingEntity l WHERE l.id = :listingId")
+    Optional<ListingPercolationView> findPercolationViewById(@Param("listingId") Long listingId);
+
+    @Query("SELECT l.title AS title, l.address AS address FROM ListingEntity l " +
+            "WHERE l.landlord.id = :landlordId AND l.title IN :titles")
+    List<ListingTitleAddressView> findTitlesAndAddressesByLandlordId(@Param("landlordId") Long landlordId,
+                                                                     @Param("titles") Collection<String> titles);
+
+    @Query("SELECT l.id AS id, l.price AS price, l.numberOfRooms AS numberOfRooms, l.type AS type, " +
+            "l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.nextAvailableDate AS nextAvailableDate " +
+            "FROM ListingEntity l WHERE l.id > :afterId ORDER BY l.id")
+    List<ListingFilterView> findFilterViewsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT l.id AS id, l.price AS price, l.numberOfRooms AS numberOfRooms, l.type AS type, " +
+            "l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.nextAvailableDate AS nextAvailableDate " +
+            "FROM ListingEntity l WHERE l.id = :listingId")
+    Optional<ListingFilterView> findFilterViewById(@Param("listingId") Long listingId);
+
+    @Query("SELECT l.id AS id, l.price AS price, l.numberOfRooms AS numberOfRooms, l.type AS type, " +
+            "l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.nextAvailableDate AS nextAvailableDate " +
+            "FROM ListingEntity l WHERE l.id IN :listingIds")
+    List<ListingFilterView> findFilterViewsByIdIn(@Param("listingIds") Collection<Long> listingIds);
+
+    @Query("SELECT l.id AS id, l.title AS title, l.address AS address, l.reviewCount AS reviewCount " +
+            "FROM ListingEntity l WHERE l.id > :afterId ORDER BY l.id")
+    List<ListingSuggestionView> findSuggestionViewsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT l.id AS id, l.title AS title, l.address AS address, l.reviewCount AS reviewCount " +
+            "FROM ListingEntity l WHERE l.id = :listingId")
+    Optional<ListingSuggestionView> findSuggestionViewById(@Param("listingId") Long listingId);
+
+    @Query("SELECT l.id AS id, l.title AS title, l.address AS address, l.reviewCount AS reviewCount " +
+            "FROM ListingEntity l WHERE l.id IN :listingIds")
+    List<ListingSuggestionView> findSuggestionViewsByIdIn(@Param("listingIds") Collection<Long> listingIds);
+
+    @Query("SELECT l.id AS id, l.title AS title, l.price AS price, l.numberOfRooms AS numberOfRooms, " +
+            "l.type AS type, l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.latitude AS latitude, l.longitude AS longitude " +
+            "FROM ListingEntity l WHERE l.id > :afterId ORDER BY l.id")
+    List<ListingSimilarityView> findSimilarityViewsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT l.id AS id, l.title AS title, l.price AS price, l.numberOfRooms AS numberOfRooms, " +
+            "l.type AS type, l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.latitude AS latitude, l.longitude AS longitude " +
+            "FROM ListingEntity l WHERE l.id = :listingId")
+    Optional<ListingSimilarityView> findSimilarityViewById(@Param("listingId") Long listingId);
+
+    @Query("SELECT l.id AS id, l.title AS title, l.price AS price, l.numberOfRooms AS numberOfRooms, " +
+            "l.type AS type, l.averageRating AS averageRating, l.reviewCount AS reviewCount, " +
+            "l.latitude AS latitude, l.longitude AS longitude " +
+            "FROM ListingEntity l WHERE l.id IN :listingIds")
+    List<ListingSimilarityView> findSimilarityViewsByIdIn(@Param("listingIds") Collection<Long> listingIds);
+
+    @Modifying
+    @Query("UPDATE ListingEntity l SET " +
+            "l.averageRating = (l.averageRating * l.reviewCount + :rating) / (l.reviewCount + 1), " +
+            "l.reviewCount = l.reviewCount + 1, " +
+            "l.version = l.version + 1, l.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE l.id = :listingId")
+    void addReviewRating(@Param("listingId") Long listingId, @Param("rating") Double rating);
+
+    @Modifying
+    @Query("UPDATE ListingEntity l SET " +
+            "l.averageRating = CASE WHEN l.reviewCount > 0 " +
+            "THEN l.averageRating + (:newRating - :oldRating) / l.reviewCount ELSE 0 END, " +
+            "l.version = l.version + 1, l.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE l.id = :listingId")
+    void replaceReviewRating(@Param("listingId") Long listingId,
+                             @Param("oldRating") Double oldRating,
+                             @Param("newRating") Double newRating);
+
+    @Modifying
+    @Query("UPDATE ListingEntity l SET " +
+            "l.averageRating = CASE WHEN l.reviewCount > 1 " +
+            "THEN (l.averageRating * l.reviewCount - :rating) / (l.reviewCount - 1) ELSE 0 END, " +
+            "l.reviewCount = CASE WHEN l.reviewCount > 0 THEN l.reviewCount - 1 ELSE 0 END, " +
+            "l.version = l.version + 1, l.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE l.id = :listingId")
+    void removeReviewRating(@Param("listingId") Long listingId, @Param("rating") Double rating);
+
+    /**
+     * Moves the listing's next available date out to the end of a newly confirmed booking, unless a
+     * later confirmed booking already holds it there.
+     */
+    @Modifying
+    @Query(value = "UPDATE listings SET " +
+            "next_available_date = CAST(:endDate AS timestamptz) + interval '1 hour', " +
+            "version = version + 1, updated_at = now() " +
+            "WHERE id = :listingId AND (next_available_date IS NULL " +
+            "OR next_available_date < CAST(:endDate AS timestamptz) + interval '1 hour')", nativeQuery = true)
+    int extendNextAvailableDate(@Param("listingId") Long listingId, @Param("endDate") Instant endDate);
+
+    /**
+     * Recomputes the next available date of the listings of bookings that stopped being confirmed, but
+     * only where one of them was the booking holding the date; the lookup is a single descending scan of
+     * {@code idx_booking_listing_status_end_date}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE listings l SET " +
+            "next_available_date = COALESCE((SELECT b.end_date FROM bookings b " +
+            "    WHERE b.listing_id = l.id AND b.status = 'CONFIRMED' " +
+            "    ORDER BY b.end_date DESC LIMIT 1) + interval '1 hour', now()), " +
+            "version = l.version + 1, updated_at = now() " +
+            "FROM (SELECT listing_id, MAX(end_date) AS end_date FROM bookings " +
+            "      WHERE id IN :bookingIds GROUP BY listing_id) released " +
+            "WHERE l.id = released.listing_id AND (l.next_available_date IS NULL " +
+            "OR l.next_available_date <= released.end_date + interval '1 hour')", nativeQuery = true)
+    int releaseNextAvailableDates(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Resets next available dates that drifted from the latest confirmed booking. Listings without
+     * confirmed bookings are only touched when their date is missing or still in the future.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE listings l SET " +
+            "next_available_date = COALESCE(e.booked_until, :now), " +
+            "version = l.version + 1, " +
+            "updated_at = now() " +
+            "FROM (SELECT ls.id AS listing_id, " +
+            "             (SELECT b.end_date FROM bookings b WHERE b.listing_id = ls.id AND b.status = 'CONFIRMED' " +
+            "              ORDER BY b.end_date DESC LIMIT 1) + interval '1 hour' AS booked_until " +
+            "      FROM listings ls WHERE ls.id > :fromId AND ls.id <= :toId) e " +
+            "WHERE l.id = e.listing_id AND (" +
+            "    (e.booked_until IS NOT NULL AND l.next_available_date IS DISTINCT FROM e.booked_until) " +
+            "    OR (e.booked_until IS NULL AND (l.next_available_date IS NULL OR l.next_available_date > :now)))",
+            nativeQuery = true)
+    int reconcileNextAvailableDates(@Param("fromId") Long fromId,
+                                    @Param("toId") Long toId,
+                                    @Param("now") Instant now);
+
+    @Query("SELECT COALESCE(MAX(l.id), 0) FROM ListingEntity l")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE listings l SET " +
+            "average_rating = COALESCE(r.average_rating, 0), " +
+            "review_count = r.review_count, " +
+            "version = l.version + 1, " +
+            "updated_at = now() " +
+            "FROM (SELECT ls.id AS listing_id, AVG(rv.rating) AS average_rating, COUNT(rv.id) AS review_count " +
+            "      FROM listings ls LEFT JOIN reviews rv ON rv.listing_id = ls.id " +
+            "      WHERE ls.id > :fromId AND ls.id <= :toId " +
+            "      GROUP BY ls.id) r " +
+            "WHERE l.id = r.listing_id", nativeQuery = true)
+    int recalculateRatingAggregates(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE listings l SET " +
+            "popularity_score = COALESCE(p.score, 0) " +
+            "FROM (SELECT t.listing_id, MAX(t.log_signal) + LN(SUM(EXP(t.log_signal - t.max_log_signal))) AS score " +
+            "      FROM (SELECT ls.id AS listing_id, s.log_signal, MAX(s.log_signal) OVER (PARTITION BY ls.id) AS max_log_signal " +
+            "            FROM listings ls LEFT JOIN (" +
+            "                SELECT u.listing_id, " +
+            "                       LN(u.weight) + (EXTRACT(EPOCH FROM u.signal_at) - :epochSeconds) / :tauSeconds AS log_signal " +
+            "                FROM (SELECT f.listing_id, COALESCE(f.added_at, now()) AS signal_at, :favoriteWeight AS weight " +
+            "                      FROM favorites f " +
+            "                      UNION ALL " +
+            "                      SELECT b.listing_id, LEAST(b.start_date, now()), :bookingWeight " +
+            "                      FROM bookings b WHERE b.status IN ('CONFIRMED', 'FINISHED')) u) s " +
+            "                ON s.listing_id = ls.id " +
+            "            WHERE ls.id > :fromId AND ls.id <= :toId) t " +
+            "      GROUP BY t.listing_id) p " +
+            "WHERE l.id = p.listing_id", nativeQuery = true)
+    int recalculatePopularity(@Param("fromId") Long fromId,
+                              @Param("toId") Long toId,
+                              @Param("epochSeconds") double epochSeconds,
+                              @Param("tauSeconds") double tauSeconds,
+                              @Param("favoriteWeight") double favoriteWeight,
+                              @Param("bookingWeight") double bookingWeight);
 }
@@ -0,0 +1,9 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+    long countByFailedAtIsNull();
+    long countByFailedAtIsNotNull();
+}
@@ -1,6 +1,8 @@
 package com.rentalplatform.repository;
 
 import com.rentalplatform.entity.ReviewEntity;
+import com.rentalplatform.repository.projection.RecentReviewView;
+import com.rentalplatform.repository.projection.ReviewVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +19,22 @@ public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
     @Query("SELECT r FROM ReviewEntity r WHERE r.listing.id = :listingId")
     Page<ReviewEntity> findAllByListingId(@Param("listingId") Long listingId, Pageable pageable);
 
+    @Query("SELECT r.version AS version, r.updatedAt AS updatedAt, " +
+            "l.version AS listingVersion, l.updatedAt AS listingUpdatedAt " +
+            "FROM ReviewEntity r JOIN r.listing l WHERE r.id = :reviewId")
+    Optional<ReviewVersionView> findVersionById(@Param("reviewId") Long reviewId);
+
     @Query("SELECT AVG(r.rating) FROM ReviewEntity r WHERE r.listing.landlord.id = :landlordId")
     Double findAverageRatingForLandlord(@Param("landlordId") Long landlordId);
 
-
+    @Query(value = "SELECT r.id AS \"id\", r.listing_id AS \"listingId\", u.username AS \"criticUsername\", " +
+            "r.rating AS \"rating\", r.comment AS \"comment\", r.created_at AS \"createdAt\" " +
+            "FROM (SELECT rv.*, ROW_NUMBER() OVER (PARTITION BY rv.listing_id " +
+            "      ORDER BY rv.created_at DESC, rv.id DESC) AS position " +
+            "      FROM reviews rv WHERE rv.listing_id IN (:listingIds)) r " +
+            "JOIN users u ON u.id = r.tenant_id " +
+            "WHERE r.position <= :limit " +
+            "ORDER BY r.listing_id, r.position", nativeQuery = true)
+    List<RecentReviewView> findRecentByListingIds(@Param("listingIds") Collection<Long> listingIds,
+                                                  @Param("limit") int limit);
 }
@@ -0,0 +1,21 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.SavedSearchMatchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SavedSearchMatchRepository extends JpaRepository<SavedSearchMatchEntity, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SavedSearchMatchEntity m WHERE m.savedSearchId = :savedSearchId")
+    void deleteAllBySavedSearchId(@Param("savedSearchId") Long savedSearchId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SavedSearchMatchEntity m WHERE m.listingId = :listingId")
+    void deleteAllByListingId(@Param("listingId") Long listingId);
+}
@@ -0,0 +1,43 @@
+package com.rentalplatform.repository;
+
+import com.rentalplatform.entity.SavedSearchEntity;
+import com.rentalplatform.repository.projection.SavedSearchView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SavedSearchRepository extends JpaRepository<SavedSearchEntity, Long> {
+
+    String VIEW_COLUMNS = "s.id AS id, s.user.id AS userId, s.query AS query, s.title AS title, " +
+            "s.address AS address, s.minPrice AS minPrice, s.maxPrice AS maxPrice, " +
+            "s.numberOfRooms AS numberOfRooms, s.type AS type, s.minAverageRating AS minAverageRating, " +
+            "s.latitude AS latitude, s.longitude AS longitude, s.radiusKm AS radiusKm, " +
+            "s.minLatitude AS minLatitude, s.minLongitude AS minLongitude, " +
+            "s.maxLatitude AS maxLatitude, s.maxLongitude AS maxLongitude ";
+
+    List<SavedSearchEntity> findAllByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserId(Long userId);
+
+    @Query("SELECT " + VIEW_COLUMNS + "FROM SavedSearchEntity s WHERE s.id > :afterId ORDER BY s.id")
+    List<SavedSearchView> findViewsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT " + VIEW_COLUMNS + "FROM SavedSearchEntity s WHERE s.id = :savedSearchId")
+    Optional<SavedSearchView> findViewById(@Param("savedSearchId") Long savedSearchId);
+
+    /**
+     * Runs the full-text part of the given saved searches against a single listing, with the same
+     * {@code websearch_to_tsquery} semantics as listing search.
+     */
+    @Query(value = "SELECT s.id FROM saved_searches s JOIN listings l ON l.id = :listingId " +
+            "WHERE s.id IN :savedSearchIds AND to_tsvector('english', coalesce(l.title, '') || ' ' || " +
+            "coalesce(l.address, '') || ' ' || coalesce(l.description, '')) " +
+            "@@ websearch_to_tsquery('english', s.query)", nativeQuery = true)
+    List<Long> findIdsMatchingListingText(@Param("listingId") Long listingId,
+                                          @Param("savedSearchIds") Collection<Long> savedSearchIds);
+}
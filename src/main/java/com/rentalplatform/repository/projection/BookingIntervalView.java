@@ -0,0 +1,10 @@
+package com.rentalplatform.repository.projection;
+
+import java.time.Instant;
+
+public interface BookingIntervalView {
+    Long getId();
+    Long getListingId();
+    Instant getStartDate();
+    Instant getEndDate();
+}
@@ -0,0 +1,8 @@
+package com.rentalplatform.repository.projection;
+
+import java.time.Instant;
+
+public interface EntityVersionView {
+    Long getVersion();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,10 @@
+package com.rentalplatform.repository.projection;
+
+import java.time.Instant;
+
+public interface ImageListVersionView {
+    Long getCount();
+    Long getMaxId();
+    Long getVersionSum();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,6 @@
+package com.rentalplatform.repository.projection;
+
+import com.rentalplatform.entity.ListingType;
+
+public record ListingFacetRow(ListingType type, Integer numberOfRooms, Integer priceBucket, Long count) {
+}
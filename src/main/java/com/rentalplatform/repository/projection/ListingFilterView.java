@@ -0,0 +1,15 @@
+package com.rentalplatform.repository.projection;
+
+import com.rentalplatform.entity.ListingType;
+
+import java.time.Instant;
+
+public interface ListingFilterView {
+    Long getId();
+    Double getPrice();
+    Integer getNumberOfRooms();
+    ListingType getType();
+    Double getAverageRating();
+    Integer getReviewCount();
+    Instant getNextAvailableDate();
+}
@@ -0,0 +1,18 @@
+package com.rentalplatform.repository.projection;
+
+import com.rentalplatform.entity.ListingType;
+
+public interface ListingPercolationView {
+    Long getId();
+    Long getLandlordId();
+    String getTitle();
+    String getAddress();
+    String getDescription();
+    Double getPrice();
+    Integer getNumberOfRooms();
+    ListingType getType();
+    Double getAverageRating();
+    Integer getReviewCount();
+    Double getLatitude();
+    Double getLongitude();
+}
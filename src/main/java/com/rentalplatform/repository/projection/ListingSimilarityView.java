@@ -0,0 +1,15 @@
+package com.rentalplatform.repository.projection;
+
+import com.rentalplatform.entity.ListingType;
+
+public interface ListingSimilarityView {
+    Long getId();
+    String getTitle();
+    Double getPrice();
+    Integer getNumberOfRooms();
+    ListingType getType();
+    Double getAverageRating();
+    Integer getReviewCount();
+    Double getLatitude();
+    Double getLongitude();
+}
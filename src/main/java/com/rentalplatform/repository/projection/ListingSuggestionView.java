@@ -0,0 +1,8 @@
+package com.rentalplatform.repository.projection;
+
+public interface ListingSuggestionView {
+    Long getId();
+    String getTitle();
+    String getAddress();
+    Integer getReviewCount();
+}
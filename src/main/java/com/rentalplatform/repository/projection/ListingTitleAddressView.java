@@ -0,0 +1,6 @@
+package com.rentalplatform.repository.projection;
+
+public interface ListingTitleAddressView {
+    String getTitle();
+    String getAddress();
+}
@@ -0,0 +1,12 @@
+package com.rentalplatform.repository.projection;
+
+import java.time.Instant;
+
+public interface RecentReviewView {
+    Long getId();
+    Long getListingId();
+    String getCriticUsername();
+    Double getRating();
+    String getComment();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,10 @@
+package com.rentalplatform.repository.projection;
+
+import java.time.Instant;
+
+public interface ReviewVersionView {
+    Long getVersion();
+    Instant getUpdatedAt();
+    Long getListingVersion();
+    Instant getListingUpdatedAt();
+}
@@ -0,0 +1,23 @@
+package com.rentalplatform.repository.projection;
+
+import com.rentalplatform.entity.ListingType;
+
+public interface SavedSearchView {
+    Long getId();
+    Long getUserId();
+    String getQuery();
+    String getTitle();
+    String getAddress();
+    Double getMinPrice();
+    Double getMaxPrice();
+    Integer getNumberOfRooms();
+    ListingType getType();
+    Double getMinAverageRating();
+    Double getLatitude();
+    Double getLongitude();
+    Double getRadiusKm();
+    Double getMinLatitude();
+    Double getMinLongitude();
+    Double getMaxLatitude();
+    Double getMaxLongitude();
+}
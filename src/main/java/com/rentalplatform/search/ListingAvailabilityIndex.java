@@ -0,0 +1,236 @@
+package com.rentalplatform.search;
+
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.projection.BookingIntervalView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-listing day bitmaps of the nights held by PENDING and CONFIRMED bookings, used by
+ * {@link ListingFilterEngine} to drop booked listings in memory. A stay from check-in to check-out
+ * is free when no bit in {@code [checkIn, checkOut)} is set. Days are counted from the day of the
+ * last load; nights before that are never stored.
+ * <p>
+ * Each instance only sees the booking transitions it commits itself, so the index is reloaded
+ * periodically. The reload also moves the base day forward and drops bookings that have ended.
+ * Between reloads, an instance can miss bookings made on other instances, so the index only narrows
+ * the candidates: {@code ListingService} re-checks the listings it returns against the bookings
+ * table, and facet counts for a stay are computed in SQL. A booking cancelled on another instance
+ * keeps its listing out of engine results until the next reload.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ListingAvailabilityIndex {
+
+    public static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final BookingRepository bookingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long baseDay = LocalDate.now().toEpochDay();
+
+    @Value("${listings.availability-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean loaded;
+
+    private final Map<Long, ListingCalendar> calendarsByListing = new HashMap<>();
+    private final Map<Long, Long> listingsByBooking = new HashMap<>();
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public Set<Long> findBookedListingIds(LocalDate checkIn, LocalDate checkOut) {
+        int from = dayIndex(checkIn);
+        int to = dayIndex(checkOut);
+        Set<Long> bookedListingIds = new HashSet<>();
+
+        lock.readLock().lock();
+        try {
+            calendarsByListing.forEach((listingId, calendar) -> {
+                if (calendar.isBooked(from, to)) {
+                    bookedListingIds.add(listingId);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return bookedListingIds;
+    }
+
+    public boolean isAvailable(Long listingId, LocalDate checkIn, LocalDate checkOut) {
+        lock.readLock().lock();
+        try {
+            ListingCalendar calendar = calendarsByListing.get(listingId);
+            return calendar == null || !calendar.isBooked(dayIndex(checkIn), dayIndex(checkOut));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${listings.availability-index.reload-interval:PT1H}",
+            initialDelayString = "${listings.availability-index.reload-interval:PT1H}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+
+        loaded = false;
+        lock.writeLock().lock();
+        try {
+            calendarsByListing.clear();
+            listingsByBooking.clear();
+            baseDay = LocalDate.now().toEpochDay();
+
+            Instant now = Instant.now();
+            long lastId = 0;
+            List<BookingIntervalView> batch;
+            do {
+                batch = bookingRepository.findIntervalsAfterId(lastId, ACTIVE_STATUSES, now,
+                        PageRequest.of(0, LOAD_BATCH_SIZE));
+                batch.forEach(interval -> put(interval.getId(), interval.getListingId(),
+                        interval.getStartDate(), interval.getEndDate()));
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            loaded = true;
+            log.info("Listing availability index loaded {} bookings for {} listings",
+                    listingsByBooking.size(), calendarsByListing.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (ACTIVE_STATUSES.contains(event.status())) {
+                put(event.bookingId(), event.listingId(), event.startDate(), event.endDate());
+            } else {
+                remove(event.bookingId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!enabled || event.changeType() != ListingChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            ListingCalendar calendar = calendarsByListing.remove(event.listingId());
+            if (calendar != null) {
+                calendar.nightsByBooking.keySet().forEach(listingsByBooking::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long bookingId, Long listingId, Instant startDate, Instant endDate) {
+        int from = Math.max(dayIndex(startDate), 0);
+        int to = dayIndex(endDate);
+
+        remove(bookingId);
+        if (from >= to) {
+            return;
+        }
+
+        calendarsByListing.computeIfAbsent(listingId, id -> new ListingCalendar()).add(bookingId, from, to);
+        listingsByBooking.put(bookingId, listingId);
+    }
+
+    private void remove(Long bookingId) {
+        Long listingId = listingsByBooking.remove(bookingId);
+        if (listingId == null) {
+            return;
+        }
+
+        ListingCalendar calendar = calendarsByListing.get(listingId);
+        if (calendar != null && calendar.remove(bookingId)) {
+            calendarsByListing.remove(listingId);
+        }
+    }
+
+    private int dayIndex(LocalDate date) {
+        return (int) (date.toEpochDay() - baseDay);
+    }
+
+    private int dayIndex(Instant instant) {
+        return dayIndex(LocalDate.ofInstant(instant, ZoneId.systemDefault()));
+    }
+
+    private static final class ListingCalendar {
+        private final Map<Long, int[]> nightsByBooking = new HashMap<>();
+        private final BitSet bookedNights = new BitSet();
+
+        void add(Long bookingId, int from, int to) {
+            nightsByBooking.put(bookingId, new int[]{from, to});
+            bookedNights.set(from, to);
+        }
+
+        /**
+         * Bookings of one listing may overlap while still PENDING, so the bitmap is rebuilt from
+         * the remaining bookings instead of clearing the removed range. Returns true when empty.
+         */
+        boolean remove(Long bookingId) {
+            if (nightsByBooking.remove(bookingId) == null) {
+                return nightsByBooking.isEmpty();
+            }
+
+            bookedNights.clear();
+            nightsByBooking.values().forEach(nights -> bookedNights.set(nights[0], nights[1]));
+            return nightsByBooking.isEmpty();
+        }
+
+        boolean isBooked(int from, int to) {
+            int firstBooked = bookedNights.nextSetBit(Math.max(from, 0));
+            return firstBooked >= 0 && firstBooked < to;
+        }
+    }
+}
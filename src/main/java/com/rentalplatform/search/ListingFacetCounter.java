@@ -0,0 +1,55 @@
+package com.rentalplatform.search;
+
+import com.rentalplatform.dto.ListingFacetsDto;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.utils.ListingPriceBuckets;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ListingFacetCounter {
+
+    private long total;
+    private final long[] byType = new long[ListingType.values().length];
+    private final Map<Integer, Long> byNumberOfRooms = new TreeMap<>();
+    private final long[] byPriceBucket = new long[ListingPriceBuckets.COUNT];
+
+    public void add(ListingType type, Integer numberOfRooms, int priceBucket, long count) {
+        total += count;
+        if (type != null) {
+            byType[type.ordinal()] += count;
+        }
+        if (numberOfRooms != null) {
+            byNumberOfRooms.merge(numberOfRooms, count, Long::sum);
+        }
+        if (priceBucket >= 0) {
+            byPriceBucket[priceBucket] += count;
+        }
+    }
+
+    public ListingFacetsDto toDto() {
+        Map<ListingType, Long> types = new LinkedHashMap<>();
+        for (ListingType type : ListingType.values()) {
+            types.put(type, byType[type.ordinal()]);
+        }
+
+        List<ListingFacetsDto.PriceBucketDto> prices = new ArrayList<>(byPriceBucket.length);
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            prices.add(ListingFacetsDto.PriceBucketDto.builder()
+                    .from(ListingPriceBuckets.from(i))
+                    .to(ListingPriceBuckets.to(i))
+                    .count(byPriceBucket[i])
+                    .build());
+        }
+
+        return ListingFacetsDto.builder()
+                .total(total)
+                .byType(types)
+                .byNumberOfRooms(byNumberOfRooms)
+                .byPrice(prices)
+                .build();
+    }
+}
@@ -0,0 +1,316 @@
+package com.rentalplatform.search;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingFilterView;
+import com.rentalplatform.utils.ListingPriceBuckets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process column store for the structured all-listings filters. Each listing occupies a slot in
+ * primitive arrays; equality filters (type, rooms) are answered by bitmap intersection and range
+ * filters by a scan over the surviving slots. Only the ids of the requested page leave the engine.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ListingFilterEngine {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final double NO_RATING = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_ROOMS = Integer.MIN_VALUE;
+    private static final BitSet EMPTY = new BitSet();
+    private static final ListingType[] LISTING_TYPES = ListingType.values();
+
+    private final ListingRepository listingRepository;
+    private final ListingAvailabilityIndex listingAvailabilityIndex;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${listings.filter-engine.enabled:false}")
+    private boolean enabled;
+
+    private volatile boolean loaded;
+
+    private int slotCount;
+    private long[] ids = new long[0];
+    private double[] prices = new double[0];
+    private int[] rooms = new int[0];
+    private byte[] types = new byte[0];
+    private double[] ratings = new double[0];
+    private long[] nextAvailableDates = new long[0];
+
+    private final BitSet live = new BitSet();
+    private final BitSet[] slotsByType = newTypeBitmaps();
+    private final Map<Integer, BitSet> slotsByRooms = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    public boolean supports(FilterListingsDto filter) {
+        return enabled && loaded
+                && isBlank(filter.getQuery())
+                && isBlank(filter.getTitle())
+                && isBlank(filter.getAddress())
+                && filter.getSort() == null
+                && !hasLocationCriteria(filter)
+                && (filter.getCheckIn() == null || listingAvailabilityIndex.isReady());
+    }
+
+    public Page<Long> query(FilterListingsDto filter, int page, int size) {
+        int offset = page * size;
+        List<Long> content = new ArrayList<>(size);
+        int[] total = new int[1];
+
+        forEachMatch(filter, slot -> {
+            if (total[0] >= offset && content.size() < size) {
+                content.add(ids[slot]);
+            }
+            total[0]++;
+        });
+
+        return new PageImpl<>(content, PageRequest.of(page, size), total[0]);
+    }
+
+    public ListingFacetCounter countFacets(FilterListingsDto filter) {
+        ListingFacetCounter counter = new ListingFacetCounter();
+
+        forEachMatch(filter, slot -> counter.add(
+                types[slot] >= 0 ? LISTING_TYPES[types[slot]] : null,
+                rooms[slot] != NO_ROOMS ? rooms[slot] : null,
+                Double.isNaN(prices[slot]) ? -1 : ListingPriceBuckets.indexOf(prices[slot]),
+                1));
+
+        return counter;
+    }
+
+    private void forEachMatch(FilterListingsDto filter, IntConsumer action) {
+        boolean hasPriceFilter = filter.getMinPrice() != null || filter.getMaxPrice() != null;
+        double minPrice = filter.getMinPrice() != null ? filter.getMinPrice() : Double.NEGATIVE_INFINITY;
+        double maxPrice = filter.getMaxPrice() != null ? filter.getMaxPrice() : Double.POSITIVE_INFINITY;
+        double minRating = filter.getMinAverageRating() != null ? filter.getMinAverageRating() : Double.NEGATIVE_INFINITY;
+        long availableFrom = filter.getAvailableFrom() != null
+                ? filter.getAvailableFrom().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : NO_DATE;
+
+        Set<Long> bookedListingIds = filter.getCheckIn() != null
+                ? listingAvailabilityIndex.findBookedListingIds(filter.getCheckIn(), filter.getCheckOut())
+                : Set.of();
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) live.clone();
+
+            if (filter.getType() != null) {
+                candidates.and(slotsByType[filter.getType().ordinal()]);
+            }
+
+            if (filter.getNumberOfRooms() != null) {
+                candidates.and(slotsByRooms.getOrDefault(filter.getNumberOfRooms(), EMPTY));
+            }
+
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                if ((hasPriceFilter && !(prices[slot] >= minPrice && prices[slot] <= maxPrice))
+                        || ratings[slot] < minRating
+                        || (availableFrom != NO_DATE && nextAvailableDates[slot] < availableFrom)
+                        || bookedListingIds.contains(ids[slot])) {
+                    continue;
+                }
+
+                action.accept(slot);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            long lastId = 0;
+            List<ListingFilterView> batch;
+            do {
+                batch = listingRepository.findFilterViewsAfterId(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                batch.forEach(this::upsert);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            loaded = true;
+            log.info("Listing filter engine loaded {} listings", live.cardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (event.changeType() == ListingChangedEvent.ChangeType.DELETED) {
+            remove(event.listingId());
+        } else {
+            refresh(event.listingId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        List<ListingFilterView> views = listingRepository.findFilterViewsByIdIn(event.listingIds());
+        lock.writeLock().lock();
+        try {
+            views.forEach(this::upsert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (enabled) {
+            refresh(event.listingId());
+        }
+    }
+
+    private void refresh(Long listingId) {
+        listingRepository.findFilterViewById(listingId).ifPresentOrElse(view -> {
+            lock.writeLock().lock();
+            try {
+                upsert(view);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }, () -> remove(listingId));
+    }
+
+    private void remove(Long listingId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(listingId);
+            if (slot != null) {
+                unindex(slot);
+                live.clear(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(ListingFilterView view) {
+        Integer slot = slotsById.get(view.getId());
+
+        if (slot == null) {
+            slot = slotCount++;
+            ensureCapacity(slotCount);
+            slotsById.put(view.getId(), slot);
+        } else {
+            unindex(slot);
+        }
+
+        ids[slot] = view.getId();
+        prices[slot] = view.getPrice() != null ? view.getPrice() : Double.NaN;
+        rooms[slot] = view.getNumberOfRooms() != null ? view.getNumberOfRooms() : NO_ROOMS;
+        types[slot] = view.getType() != null ? (byte) view.getType().ordinal() : -1;
+        ratings[slot] = view.getReviewCount() != null && view.getReviewCount() > 0 && view.getAverageRating() != null
+                ? view.getAverageRating()
+                : NO_RATING;
+        nextAvailableDates[slot] = view.getNextAvailableDate() != null
+                ? view.getNextAvailableDate().toEpochMilli()
+                : NO_DATE;
+
+        if (types[slot] >= 0) {
+            slotsByType[types[slot]].set(slot);
+        }
+        slotsByRooms.computeIfAbsent(rooms[slot], key -> new BitSet()).set(slot);
+        live.set(slot);
+    }
+
+    private void unindex(int slot) {
+        if (types[slot] >= 0) {
+            slotsByType[types[slot]].clear(slot);
+        }
+        BitSet roomSlots = slotsByRooms.get(rooms[slot]);
+        if (roomSlots != null) {
+            roomSlots.clear(slot);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, Math.max(16, ids.length * 2));
+        ids = Arrays.copyOf(ids, newLength);
+        prices = Arrays.copyOf(prices, newLength);
+        rooms = Arrays.copyOf(rooms, newLength);
+        types = Arrays.copyOf(types, newLength);
+        ratings = Arrays.copyOf(ratings, newLength);
+        nextAvailableDates = Arrays.copyOf(nextAvailableDates, newLength);
+    }
+
+    private void clear() {
+        loaded = false;
+        slotCount = 0;
+        live.clear();
+        slotsById.clear();
+        slotsByRooms.clear();
+        for (BitSet typeSlots : slotsByType) {
+            typeSlots.clear();
+        }
+    }
+
+    private static BitSet[] newTypeBitmaps() {
+        BitSet[] bitmaps = new BitSet[ListingType.values().length];
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    private static boolean hasLocationCriteria(FilterListingsDto filter) {
+        return filter.getRadiusKm() != null
+                || filter.getMinLatitude() != null || filter.getMinLongitude() != null
+                || filter.getMaxLatitude() != null || filter.getMaxLongitude() != null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,401 @@
+package com.rentalplatform.search;
+
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingSimilarityView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest-neighbour index over listing feature vectors. Every listing becomes a fixed-length float
+ * vector (price, rooms, rating, type, location, hashed title words) scaled so that a distance of
+ * about 1 means "noticeably different" on any one feature. Candidates come from Euclidean LSH
+ * buckets and are ranked exactly; when the buckets are too sparse the whole index is scanned.
+ * Slots freed by deleted listings are reused by the next listing added.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ListingSimilarityIndex {
+
+    public static final int MAX_SIMILAR = 20;
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private static final int PRICE = 0;
+    private static final int ROOMS = 1;
+    private static final int RATING = 2;
+    private static final int TYPE = 3;
+    private static final int LOCATION = TYPE + ListingType.values().length;
+    private static final int TEXT = LOCATION + 3;
+    private static final int TEXT_DIMENSIONS = 16;
+    private static final int DIMENSIONS = TEXT + TEXT_DIMENSIONS;
+
+    // a doubling of the price, ~4 extra rooms, a different type or ~125 km are each about 1 apart
+    private static final float PRICE_WEIGHT = 1.0f;
+    private static final float ROOMS_WEIGHT = 0.25f;
+    private static final float RATING_WEIGHT = 0.5f;
+    private static final float TYPE_WEIGHT = 0.7f;
+    private static final float LOCATION_WEIGHT = 50f;
+    private static final float TEXT_WEIGHT = 0.6f;
+    private static final int MAX_ROOMS = 10;
+
+    private static final int TABLES = 8;
+    private static final int HASHES_PER_TABLE = 4;
+    private static final float BUCKET_WIDTH = 1.5f;
+    private static final int MIN_CANDIDATES_PER_RESULT = 4;
+    private static final float[][] PROJECTIONS = new float[TABLES * HASHES_PER_TABLE][DIMENSIONS];
+    private static final float[] OFFSETS = new float[TABLES * HASHES_PER_TABLE];
+
+    static {
+        Random random = new Random(42);
+        for (int i = 0; i < PROJECTIONS.length; i++) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                PROJECTIONS[i][d] = (float) random.nextGaussian();
+            }
+            OFFSETS[i] = random.nextFloat() * BUCKET_WIDTH;
+        }
+    }
+
+    private final ListingRepository listingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${listings.similarity-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean loaded;
+
+    private int slotCount;
+    private long[] ids = new long[0];
+    private float[] vectors = new float[0];
+    private int[] bucketKeys = new int[0];
+    private int[] freeSlots = new int[0];
+    private int freeSlotCount;
+
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<Map<Integer, SlotBucket>> tables = newTables();
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    /**
+     * Returns up to {@code limit} listing ids ordered from most to least similar, excluding the
+     * listing itself; empty when the listing is not indexed.
+     */
+    public List<Long> findSimilar(Long listingId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(listingId);
+            if (slot == null || limit <= 0) {
+                return List.of();
+            }
+
+            BitSet candidates = new BitSet();
+            for (int table = 0; table < TABLES; table++) {
+                SlotBucket bucket = tables.get(table).get(bucketKeys[slot * TABLES + table]);
+                if (bucket != null) {
+                    bucket.addTo(candidates);
+                }
+            }
+            candidates.clear(slot);
+
+            if (candidates.cardinality() < limit * MIN_CANDIDATES_PER_RESULT) {
+                candidates = (BitSet) live.clone();
+                candidates.clear(slot);
+            }
+
+            return nearest(slot, candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            long lastId = 0;
+            List<ListingSimilarityView> batch;
+            do {
+                batch = listingRepository.findSimilarityViewsAfterId(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                batch.forEach(this::upsert);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            loaded = true;
+            log.info("Listing similarity index loaded {} listings", live.cardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (event.changeType() == ListingChangedEvent.ChangeType.DELETED) {
+            remove(event.listingId());
+            return;
+        }
+
+        listingRepository.findSimilarityViewById(event.listingId()).ifPresentOrElse(view -> {
+            lock.writeLock().lock();
+            try {
+                upsert(view);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }, () -> remove(event.listingId()));
+    }
+
+    @TransactionalEventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        List<ListingSimilarityView> views = listingRepository.findSimilarityViewsByIdIn(event.listingIds());
+        lock.writeLock().lock();
+        try {
+            views.forEach(this::upsert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> nearest(int slot, BitSet candidates, int limit) {
+        int base = slot * DIMENSIONS;
+        PriorityQueue<Neighbour> closest = new PriorityQueue<>(limit + 1,
+                (a, b) -> Float.compare(b.distance(), a.distance()));
+
+        for (int candidate = candidates.nextSetBit(0); candidate >= 0; candidate = candidates.nextSetBit(candidate + 1)) {
+            int other = candidate * DIMENSIONS;
+            float distance = 0;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                float diff = vectors[base + d] - vectors[other + d];
+                distance += diff * diff;
+            }
+
+            if (closest.size() < limit) {
+                closest.add(new Neighbour(candidate, distance));
+            } else if (distance < closest.peek().distance()) {
+                closest.poll();
+                closest.add(new Neighbour(candidate, distance));
+            }
+        }
+
+        Long[] result = new Long[closest.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = ids[closest.poll().slot()];
+        }
+        return Arrays.asList(result);
+    }
+
+    private void remove(Long listingId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(listingId);
+            if (slot != null) {
+                unbucket(slot);
+                live.clear(slot);
+                if (freeSlotCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+                }
+                freeSlots[freeSlotCount++] = slot;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(ListingSimilarityView view) {
+        Integer slot = slotsById.get(view.getId());
+
+        if (slot == null) {
+            if (freeSlotCount > 0) {
+                slot = freeSlots[--freeSlotCount];
+            } else {
+                slot = slotCount++;
+                ensureCapacity(slotCount);
+            }
+            slotsById.put(view.getId(), slot);
+        } else {
+            unbucket(slot);
+        }
+
+        ids[slot] = view.getId();
+        writeFeatures(view, slot * DIMENSIONS);
+
+        for (int table = 0; table < TABLES; table++) {
+            int key = bucketKey(slot, table);
+            bucketKeys[slot * TABLES + table] = key;
+            tables.get(table).computeIfAbsent(key, k -> new SlotBucket()).add(slot);
+        }
+        live.set(slot);
+    }
+
+    private void unbucket(int slot) {
+        for (int table = 0; table < TABLES; table++) {
+            Map<Integer, SlotBucket> buckets = tables.get(table);
+            int key = bucketKeys[slot * TABLES + table];
+            SlotBucket bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(slot)) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private void writeFeatures(ListingSimilarityView view, int base) {
+        Arrays.fill(vectors, base, base + DIMENSIONS, 0f);
+
+        if (view.getPrice() != null && view.getPrice() > 0) {
+            vectors[base + PRICE] = (float) (Math.log(view.getPrice()) / Math.log(2)) * PRICE_WEIGHT;
+        }
+        if (view.getNumberOfRooms() != null) {
+            vectors[base + ROOMS] = Math.min(view.getNumberOfRooms(), MAX_ROOMS) * ROOMS_WEIGHT;
+        }
+        boolean rated = view.getReviewCount() != null && view.getReviewCount() > 0 && view.getAverageRating() != null;
+        vectors[base + RATING] = (float) (rated ? view.getAverageRating() / 5 : 0.5) * RATING_WEIGHT;
+        if (view.getType() != null) {
+            vectors[base + TYPE + view.getType().ordinal()] = TYPE_WEIGHT;
+        }
+
+        if (view.getLatitude() != null && view.getLongitude() != null) {
+            double latitude = Math.toRadians(view.getLatitude());
+            double longitude = Math.toRadians(view.getLongitude());
+            vectors[base + LOCATION] = (float) (Math.cos(latitude) * Math.cos(longitude)) * LOCATION_WEIGHT;
+            vectors[base + LOCATION + 1] = (float) (Math.cos(latitude) * Math.sin(longitude)) * LOCATION_WEIGHT;
+            vectors[base + LOCATION + 2] = (float) Math.sin(latitude) * LOCATION_WEIGHT;
+        }
+
+        writeTextFeatures(view.getTitle(), base + TEXT);
+    }
+
+    private void writeTextFeatures(String title, int offset) {
+        if (title == null) {
+            return;
+        }
+
+        float norm = 0;
+        for (String word : title.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 1) {
+                vectors[offset + Math.floorMod(word.hashCode(), TEXT_DIMENSIONS)] += 1;
+            }
+        }
+        for (int d = 0; d < TEXT_DIMENSIONS; d++) {
+            norm += vectors[offset + d] * vectors[offset + d];
+        }
+        if (norm > 0) {
+            float scale = TEXT_WEIGHT / (float) Math.sqrt(norm);
+            for (int d = 0; d < TEXT_DIMENSIONS; d++) {
+                vectors[offset + d] *= scale;
+            }
+        }
+    }
+
+    private int bucketKey(int slot, int table) {
+        int base = slot * DIMENSIONS;
+        int key = 1;
+        for (int h = table * HASHES_PER_TABLE; h < (table + 1) * HASHES_PER_TABLE; h++) {
+            float dot = OFFSETS[h];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                dot += PROJECTIONS[h][d] * vectors[base + d];
+            }
+            key = 31 * key + (int) Math.floor(dot / BUCKET_WIDTH);
+        }
+        return key;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, Math.max(16, ids.length * 2));
+        ids = Arrays.copyOf(ids, newLength);
+        vectors = Arrays.copyOf(vectors, newLength * DIMENSIONS);
+        bucketKeys = Arrays.copyOf(bucketKeys, newLength * TABLES);
+    }
+
+    private void clear() {
+        loaded = false;
+        slotCount = 0;
+        freeSlotCount = 0;
+        live.clear();
+        slotsById.clear();
+        tables.forEach(Map::clear);
+    }
+
+    private static List<Map<Integer, SlotBucket>> newTables() {
+        List<Map<Integer, SlotBucket>> tables = new ArrayList<>(TABLES);
+        for (int i = 0; i < TABLES; i++) {
+            tables.add(new HashMap<>());
+        }
+        return tables;
+    }
+
+    private record Neighbour(int slot, float distance) {
+    }
+
+    private static final class SlotBucket {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Swaps the last slot into the removed position; returns true when the bucket is empty.
+         */
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    break;
+                }
+            }
+            return size == 0;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(slots[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.rentalplatform.search;
+
+import com.rentalplatform.dto.ListingSuggestionDto;
+import com.rentalplatform.dto.ListingSuggestionDto.SuggestionField;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingSuggestionView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over normalized listing titles and addresses. Every node caches the best suggestions of
+ * its subtree, so a lookup costs one walk down the prefix regardless of how many texts share it.
+ * Besides the full text, the suffixes starting at the next few words are indexed as well, which lets
+ * "main st" complete "12 Main Street". A suggestion's weight is the popularity of the listings
+ * carrying that text, counted as one plus their review count.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ListingSuggestionIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int MAX_KEY_LENGTH = 48;
+    private static final int MAX_WORD_SUFFIXES = 4;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator
+            .comparingLong((Suggestion suggestion) -> suggestion.weight).reversed()
+            .thenComparing(suggestion -> suggestion.text);
+
+    private final ListingRepository listingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${listings.suggestions.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean loaded;
+    private boolean bulkLoading;
+
+    private final Node root = new Node("");
+    private final Map<String, Suggestion> suggestionsByKey = new HashMap<>();
+    private final Map<Long, ListingTexts> textsByListing = new HashMap<>();
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public List<ListingSuggestionDto> suggest(String prefix, int limit) {
+        String key = truncate(normalize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = findPrefixNode(key);
+            if (node == null) {
+                return List.of();
+            }
+
+            return Arrays.stream(node.top)
+                    .limit(limit)
+                    .map(suggestion -> ListingSuggestionDto.builder()
+                            .text(suggestion.text)
+                            .field(suggestion.field)
+                            .weight(suggestion.weight)
+                            .build())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            bulkLoading = true;
+            root.children = new Node[0];
+            root.top = NO_SUGGESTIONS;
+            suggestionsByKey.clear();
+            textsByListing.clear();
+
+            long lastId = 0;
+            List<ListingSuggestionView> batch;
+            do {
+                batch = listingRepository.findSuggestionViewsAfterId(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                batch.forEach(this::addListing);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            recomputeSubtree(root);
+            bulkLoading = false;
+            loaded = true;
+            log.info("Listing suggestion index loaded {} suggestions from {} listings",
+                    suggestionsByKey.size(), textsByListing.size());
+        } finally {
+            bulkLoading = false;
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        Optional<ListingSuggestionView> view = event.changeType() == ListingChangedEvent.ChangeType.DELETED
+                ? Optional.empty()
+                : listingRepository.findSuggestionViewById(event.listingId());
+
+        lock.writeLock().lock();
+        try {
+            removeListing(event.listingId());
+            view.ifPresent(this::addListing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        List<ListingSuggestionView> views = listingRepository.findSuggestionViewsByIdIn(event.listingIds());
+        lock.writeLock().lock();
+        try {
+            views.forEach(this::addListing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addListing(ListingSuggestionView view) {
+        long weight = 1 + (view.getReviewCount() != null ? Math.max(view.getReviewCount(), 0) : 0);
+        List<Suggestion> suggestions = new ArrayList<>(2);
+
+        addText(view.getTitle(), SuggestionField.TITLE, weight, suggestions);
+        addText(view.getAddress(), SuggestionField.ADDRESS, weight, suggestions);
+
+        textsByListing.put(view.getId(), new ListingTexts(suggestions, weight));
+    }
+
+    private void addText(String text, SuggestionField field, long weight, List<Suggestion> suggestions) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        Suggestion suggestion = suggestionsByKey.get(field + ":" + normalized);
+        if (suggestion == null) {
+            suggestion = new Suggestion(text.trim(), field, keysOf(normalized));
+            suggestionsByKey.put(field + ":" + normalized, suggestion);
+            for (String key : suggestion.keys) {
+                insert(key, suggestion);
+            }
+        }
+
+        suggestion.listings++;
+        suggestion.weight += weight;
+        suggestions.add(suggestion);
+        refreshPaths(suggestion);
+    }
+
+    private void removeListing(Long listingId) {
+        ListingTexts texts = textsByListing.remove(listingId);
+        if (texts == null) {
+            return;
+        }
+
+        for (Suggestion suggestion : texts.suggestions()) {
+            suggestion.listings--;
+            suggestion.weight -= texts.weight();
+
+            if (suggestion.listings > 0) {
+                refreshPaths(suggestion);
+                continue;
+            }
+
+            suggestionsByKey.remove(suggestion.field + ":" + normalize(suggestion.text));
+            for (String key : suggestion.keys) {
+                remove(key, suggestion);
+            }
+        }
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        Node node = root;
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                child = node.split(child, common);
+            }
+            node = child;
+            position += common;
+        }
+
+        node.terminals.add(suggestion);
+    }
+
+    private void remove(String key, Suggestion suggestion) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+
+        Node node = path.get(path.size() - 1);
+        node.terminals.remove(suggestion);
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (!current.terminals.isEmpty()) {
+                continue;
+            }
+            if (current.children.length == 0) {
+                path.get(i - 1).removeChild(current);
+            } else if (current.children.length == 1) {
+                current.absorbOnlyChild();
+            }
+        }
+
+        recompute(path);
+    }
+
+    private void refreshPaths(Suggestion suggestion) {
+        if (bulkLoading) {
+            return;
+        }
+
+        for (String key : suggestion.keys) {
+            List<Node> path = findPath(key);
+            if (path != null) {
+                recompute(path);
+            }
+        }
+    }
+
+    private Node findPrefixNode(String prefix) {
+        Node node = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            Node child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return null;
+            }
+
+            int remaining = prefix.length() - position;
+            if (remaining <= child.label.length()) {
+                return child.label.regionMatches(0, prefix, position, remaining) ? child : null;
+            }
+            if (!prefix.startsWith(child.label, position)) {
+                return null;
+            }
+
+            position += child.label.length();
+            node = child;
+        }
+
+        return node;
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return null;
+            }
+            position += child.label.length();
+            node = child;
+            path.add(node);
+        }
+
+        return path;
+    }
+
+    private static void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeTop();
+        }
+    }
+
+    private static void recomputeSubtree(Node node) {
+        for (Node child : node.children) {
+            recomputeSubtree(child);
+        }
+        node.recomputeTop();
+    }
+
+    private static Set<String> keysOf(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(truncate(normalized));
+
+        int wordStart = normalized.indexOf(' ');
+        while (wordStart >= 0 && keys.size() < MAX_WORD_SUFFIXES) {
+            keys.add(truncate(normalized.substring(wordStart + 1)));
+            wordStart = normalized.indexOf(' ', wordStart + 1);
+        }
+
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private record ListingTexts(List<Suggestion> suggestions, long weight) {
+    }
+
+    private static final class Suggestion {
+        private final String text;
+        private final SuggestionField field;
+        private final Set<String> keys;
+        private long weight;
+        private int listings;
+
+        private Suggestion(String text, SuggestionField field, Set<String> keys) {
+            this.text = text;
+            this.field = field;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = new Node[0];
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -(indexOf(child.label.charAt(0)) + 1);
+            Node[] expanded = new Node[children.length + 1];
+            System.arraycopy(children, 0, expanded, 0, insertAt);
+            expanded[insertAt] = child;
+            System.arraycopy(children, insertAt, expanded, insertAt + 1, children.length - insertAt);
+            children = expanded;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            if (index < 0 || children[index] != child) {
+                return;
+            }
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        private Node split(Node child, int at) {
+            Node middle = new Node(child.label.substring(0, at));
+            children[indexOf(child.label.charAt(0))] = middle;
+            child.label = child.label.substring(at);
+            middle.children = new Node[]{child};
+            middle.top = child.top;
+            return middle;
+        }
+
+        private void absorbOnlyChild() {
+            Node only = children[0];
+            label = label + only.label;
+            children = only.children;
+            terminals.addAll(only.terminals);
+            top = only.top;
+        }
+
+        private void recomputeTop() {
+            List<Suggestion> candidates = new ArrayList<>(terminals);
+            for (Node child : children) {
+                Collections.addAll(candidates, child.top);
+            }
+
+            top = candidates.stream()
+                    .distinct()
+                    .sorted(BY_WEIGHT)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Suggestion[]::new);
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].label.charAt(0);
+                if (current < first) {
+                    low = middle + 1;
+                } else if (current > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.rentalplatform.search;
+
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.event.SavedSearchChangedEvent;
+import com.rentalplatform.repository.SavedSearchRepository;
+import com.rentalplatform.repository.projection.ListingPercolationView;
+import com.rentalplatform.repository.projection.SavedSearchView;
+import com.rentalplatform.utils.ListingPriceBuckets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static com.rentalplatform.config.ListingGeoFunctionContributor.EARTH_RADIUS_KM;
+
+/**
+ * Reverse index of saved searches. Every search is filed under exactly one key derived from its most
+ * selective criterion (a title or address trigram, a text term prefix, type and rooms, or the price
+ * buckets it overlaps); a listing produces the keys it could satisfy, so only the searches under those
+ * keys are evaluated instead of every saved search. Candidates are then checked against all structural
+ * criteria here; full-text criteria are left to the database, which knows the stemming rules.
+ * <p>
+ * Every instance keeps its own index and applies its own changes right away. Each change also bumps
+ * a version counter in Redis and records the saved search id in a change log scored by that version;
+ * other instances read the ids logged since their last sync and re-read only those searches. An
+ * instance that fell further behind than the log reaches rebuilds the index off-lock and swaps it in,
+ * so matching keeps running against the previous index until the new one is complete.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SavedSearchPercolator {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int KEY_LENGTH = 3;
+    private static final long MAX_LOGGED_CHANGES = 10_000;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern OR_OPERATOR = Pattern.compile("(?i)(^|\\s)or(\\s|$)");
+    private static final String VERSION_KEY = "savedSearchPercolator:version";
+    private static final String CHANGES_KEY = "savedSearchPercolator:changes";
+
+    /**
+     * Bumps the version and logs the changed id under it in one step, so every version a reader sees
+     * already has its log entry. Entries older than the log length are trimmed.
+     */
+    private static final RedisScript<Long> RECORD_CHANGE = new DefaultRedisScript<>(
+            "local version = redis.call('INCR', KEYS[1]) " +
+                    "redis.call('ZADD', KEYS[2], version, ARGV[1]) " +
+                    "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', version - tonumber(ARGV[2])) " +
+                    "return version", Long.class);
+
+    /** Postgres' english stop words are dropped from the text query, so they can never be required. */
+    private static final Set<String> STOP_WORDS = Set.of("about", "above", "after", "again", "against", "all",
+            "and", "any", "are", "because", "been", "before", "being", "below", "between", "both", "but", "can",
+            "did", "does", "doing", "down", "during", "each", "few", "for", "from", "further", "had", "has",
+            "have", "having", "her", "here", "hers", "herself", "him", "himself", "his", "how", "into", "its",
+            "itself", "just", "more", "most", "myself", "nor", "not", "now", "off", "once", "only", "other",
+            "our", "ours", "ourselves", "out", "over", "own", "same", "she", "should", "some", "such", "than",
+            "that", "the", "their", "theirs", "them", "themselves", "then", "there", "these", "they", "this",
+            "those", "through", "too", "under", "until", "very", "was", "were", "what", "when", "where",
+            "which", "while", "who", "whom", "why", "will", "with", "you", "your", "yours", "yourself",
+            "yourselves");
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong loadedVersion = new AtomicLong(-1);
+
+    @Value("${listings.saved-searches.alerts-enabled:true}")
+    private boolean enabled;
+
+    private volatile Index index;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && index != null;
+    }
+
+    public List<Match> percolate(ListingPercolationView listing) {
+        Set<String> keys = keysOf(listing);
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            if (current == null) {
+                return matches;
+            }
+            for (String key : keys) {
+                Set<Long> queryIds = current.queryIdsByKey.get(key);
+                if (queryIds == null) {
+                    continue;
+                }
+                for (Long queryId : queryIds) {
+                    SavedSearchQuery query = current.queriesById.get(queryId);
+                    if (query.matches(listing)) {
+                        matches.add(new Match(query.id(), query.userId(), query.text() != null));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            return;
+        }
+
+        Long version = currentVersion();
+        Index rebuilt = new Index();
+        long lastId = 0;
+        List<SavedSearchView> batch;
+        do {
+            batch = savedSearchRepository.findViewsAfterId(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            batch.forEach(rebuilt::upsert);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            loadedVersion.set(version != null ? version : -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Saved search percolator loaded {} saved searches into {} keys",
+                rebuilt.queriesById.size(), rebuilt.queryIdsByKey.size());
+    }
+
+    @TransactionalEventListener
+    public void onSavedSearchChanged(SavedSearchChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        apply(event.savedSearchId(), event.deleted());
+
+        try {
+            Long version = stringRedisTemplate.execute(RECORD_CHANGE, List.of(VERSION_KEY, CHANGES_KEY),
+                    event.savedSearchId().toString(), String.valueOf(MAX_LOGGED_CHANGES));
+            if (version != null) {
+                loadedVersion.compareAndSet(version - 1, version);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not announce saved search change {}: {}", event.savedSearchId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Applies saved search changes made by other instances since the last sync. Only the logged ids
+     * are re-read; the index is rebuilt only when this instance is further behind than the log reaches.
+     */
+    @Scheduled(fixedDelayString = "${listings.saved-searches.sync-interval:PT30S}",
+            initialDelayString = "${listings.saved-searches.sync-interval:PT30S}")
+    public void syncChangesFromElsewhere() {
+        if (!isReady()) {
+            return;
+        }
+
+        long synced = loadedVersion.get();
+        Set<ZSetOperations.TypedTuple<String>> changes;
+        try {
+            changes = stringRedisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(CHANGES_KEY, synced + 1, Double.POSITIVE_INFINITY);
+        } catch (RuntimeException e) {
+            log.warn("Could not read saved search changes: {}", e.getMessage());
+            return;
+        }
+        Long version = currentVersion();
+        if (version == null || version == synced) {
+            return;
+        }
+
+        if (synced < 0 || version < synced || version - synced > MAX_LOGGED_CHANGES) {
+            log.info("Saved searches at version {} are out of reach of the change log from {}, rebuilding",
+                    version, synced);
+            loadAll();
+            return;
+        }
+
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+
+        long newest = synced;
+        for (ZSetOperations.TypedTuple<String> change : changes) {
+            apply(Long.valueOf(change.getValue()), false);
+            newest = Math.max(newest, change.getScore().longValue());
+        }
+        loadedVersion.accumulateAndGet(newest, Math::max);
+        log.debug("Applied {} saved search changes up to version {}", changes.size(), newest);
+    }
+
+    private void apply(Long savedSearchId, boolean deleted) {
+        SavedSearchView view = deleted
+                ? null
+                : savedSearchRepository.findViewById(savedSearchId).orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            Index current = index;
+            if (current == null) {
+                return;
+            }
+            if (view != null) {
+                current.upsert(view);
+            } else {
+                current.remove(savedSearchId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Long currentVersion() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            return version != null ? Long.parseLong(version) : 0L;
+        } catch (RuntimeException e) {
+            log.warn("Could not read saved search version: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Picks the single criterion a matching listing is guaranteed to produce a key for. Searches
+     * without any indexable criterion are filed under every price bucket they overlap; since a
+     * listing falls into exactly one bucket, no search is ever a candidate twice.
+     */
+    private static List<String> anchorKeysOf(SavedSearchQuery query) {
+        if (query.title() != null && query.title().length() >= KEY_LENGTH) {
+            return List.of("title:" + query.title().substring(0, KEY_LENGTH).toLowerCase(Locale.ROOT));
+        }
+
+        String term = requiredTermOf(query.text());
+        if (term != null) {
+            return List.of("word:" + term.substring(0, KEY_LENGTH));
+        }
+
+        if (query.address() != null && query.address().length() >= KEY_LENGTH) {
+            return List.of("address:" + query.address().substring(0, KEY_LENGTH).toLowerCase(Locale.ROOT));
+        }
+
+        if (query.type() != null && query.numberOfRooms() != null) {
+            return List.of("type-rooms:" + query.type() + ":" + query.numberOfRooms());
+        }
+        if (query.type() != null) {
+            return List.of("type:" + query.type());
+        }
+        if (query.numberOfRooms() != null) {
+            return List.of("rooms:" + query.numberOfRooms());
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (int bucket = 0; bucket < ListingPriceBuckets.COUNT; bucket++) {
+            Double from = ListingPriceBuckets.from(bucket);
+            Double to = ListingPriceBuckets.to(bucket);
+            if ((query.maxPrice() == null || query.maxPrice() >= from)
+                    && (query.minPrice() == null || to == null || query.minPrice() < to)) {
+                keys.add("price:" + bucket);
+            }
+        }
+        return keys;
+    }
+
+    private static Set<String> keysOf(ListingPercolationView listing) {
+        Set<String> keys = new HashSet<>();
+        addTrigrams(keys, "title:", listing.getTitle());
+        addTrigrams(keys, "address:", listing.getAddress());
+        addWordPrefixes(keys, listing.getTitle());
+        addWordPrefixes(keys, listing.getAddress());
+        addWordPrefixes(keys, listing.getDescription());
+
+        if (listing.getType() != null && listing.getNumberOfRooms() != null) {
+            keys.add("type-rooms:" + listing.getType() + ":" + listing.getNumberOfRooms());
+        }
+        if (listing.getType() != null) {
+            keys.add("type:" + listing.getType());
+        }
+        if (listing.getNumberOfRooms() != null) {
+            keys.add("rooms:" + listing.getNumberOfRooms());
+        }
+        if (listing.getPrice() != null) {
+            keys.add("price:" + ListingPriceBuckets.indexOf(listing.getPrice()));
+        }
+        return keys;
+    }
+
+    private static void addTrigrams(Set<String> keys, String prefix, String text) {
+        if (text == null) {
+            return;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + KEY_LENGTH <= normalized.length(); i++) {
+            keys.add(prefix + normalized.substring(i, i + KEY_LENGTH));
+        }
+    }
+
+    private static void addWordPrefixes(Set<String> keys, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= KEY_LENGTH) {
+                keys.add("word:" + word.substring(0, KEY_LENGTH));
+            }
+        }
+    }
+
+    /**
+     * Returns the longest word every matching listing must contain, or {@code null} when the query uses
+     * {@code or} and no single word is required. English stemming only strips suffixes, so the first
+     * characters of a word survive into the lexeme the listing is indexed under.
+     */
+    private static String requiredTermOf(String text) {
+        if (text == null || OR_OPERATOR.matcher(text).find()) {
+            return null;
+        }
+
+        String longest = null;
+        for (String token : text.trim().split("\\s+")) {
+            if (token.startsWith("-")) {
+                continue;
+            }
+            for (String word : WORD_SEPARATOR.split(token.toLowerCase(Locale.ROOT))) {
+                if (word.length() >= KEY_LENGTH && !STOP_WORDS.contains(word)
+                        && (longest == null || word.length() > longest.length())) {
+                    longest = word;
+                }
+            }
+        }
+        return longest;
+    }
+
+    public record Match(Long savedSearchId, Long userId, boolean requiresTextMatch) {
+    }
+
+    private static final class Index {
+        private final Map<Long, SavedSearchQuery> queriesById = new HashMap<>();
+        private final Map<Long, List<String>> keysById = new HashMap<>();
+        private final Map<String, Set<Long>> queryIdsByKey = new HashMap<>();
+
+        private void upsert(SavedSearchView view) {
+            remove(view.getId());
+
+            SavedSearchQuery query = SavedSearchQuery.of(view);
+            List<String> keys = anchorKeysOf(query);
+            queriesById.put(query.id(), query);
+            keysById.put(query.id(), keys);
+            for (String key : keys) {
+                queryIdsByKey.computeIfAbsent(key, k -> new HashSet<>()).add(query.id());
+            }
+        }
+
+        private void remove(Long savedSearchId) {
+            queriesById.remove(savedSearchId);
+            List<String> keys = keysById.remove(savedSearchId);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                Set<Long> queryIds = queryIdsByKey.get(key);
+                if (queryIds != null && queryIds.remove(savedSearchId) && queryIds.isEmpty()) {
+                    queryIdsByKey.remove(key);
+                }
+            }
+        }
+    }
+
+    private record SavedSearchQuery(Long id, Long userId, String text, String title, String address,
+                                    Double minPrice, Double maxPrice, Integer numberOfRooms, ListingType type,
+                                    Double minAverageRating, Double latitude, Double longitude, Double radiusKm,
+                                    Double minLatitude, Double minLongitude, Double maxLatitude,
+                                    Double maxLongitude) {
+
+        static SavedSearchQuery of(SavedSearchView view) {
+            return new SavedSearchQuery(view.getId(), view.getUserId(), blankToNull(view.getQuery()),
+                    blankToNull(view.getTitle()), blankToNull(view.getAddress()), view.getMinPrice(),
+                    view.getMaxPrice(), view.getNumberOfRooms(), view.getType(), view.getMinAverageRating(),
+                    view.getLatitude(), view.getLongitude(), view.getRadiusKm(), view.getMinLatitude(),
+                    view.getMinLongitude(), view.getMaxLatitude(), view.getMaxLongitude());
+        }
+
+        boolean matches(ListingPercolationView listing) {
+            if ((minPrice != null || maxPrice != null) && listing.getPrice() == null) {
+                return false;
+            }
+            if ((minPrice != null && listing.getPrice() < minPrice)
+                    || (maxPrice != null && listing.getPrice() > maxPrice)
+                    || (numberOfRooms != null && !numberOfRooms.equals(listing.getNumberOfRooms()))
+                    || (type != null && type != listing.getType())
+                    || (title != null && (listing.getTitle() == null || !listing.getTitle().contains(title)))
+                    || (address != null && (listing.getAddress() == null || !listing.getAddress().contains(address)))) {
+                return false;
+            }
+            if (minAverageRating != null && (listing.getReviewCount() == null || listing.getReviewCount() <= 0
+                    || listing.getAverageRating() == null || listing.getAverageRating() < minAverageRating)) {
+                return false;
+            }
+            return isWithinRadius(listing) && isWithinBox(listing);
+        }
+
+        private boolean isWithinRadius(ListingPercolationView listing) {
+            if (latitude == null || longitude == null || radiusKm == null) {
+                return true;
+            }
+            if (listing.getLatitude() == null || listing.getLongitude() == null) {
+                return false;
+            }
+            double latitudeDelta = Math.toRadians(listing.getLatitude() - latitude);
+            double longitudeDelta = Math.toRadians(listing.getLongitude() - longitude);
+            double a = Math.pow(Math.sin(latitudeDelta / 2), 2) + Math.cos(Math.toRadians(latitude))
+                    * Math.cos(Math.toRadians(listing.getLatitude())) * Math.pow(Math.sin(longitudeDelta / 2), 2);
+            return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a))) <= radiusKm;
+        }
+
+        private boolean isWithinBox(ListingPercolationView listing) {
+            if (minLatitude == null || minLongitude == null || maxLatitude == null || maxLongitude == null) {
+                return true;
+            }
+            if (listing.getLatitude() == null || listing.getLongitude() == null) {
+                return false;
+            }
+            boolean withinLongitude = minLongitude <= maxLongitude
+                    ? listing.getLongitude() >= minLongitude && listing.getLongitude() <= maxLongitude
+                    : listing.getLongitude() >= minLongitude || listing.getLongitude() <= maxLongitude;
+            return listing.getLatitude() >= Math.min(minLatitude, maxLatitude)
+                    && listing.getLatitude() <= Math.max(minLatitude, maxLatitude)
+                    && withinLongitude;
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+}
@@ -7,15 +7,16 @@ import com.rentalplatform.entity.BookingEntity;
 import com.rentalplatform.entity.BookingStatus;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.BookingStatusChangedEvent;
 import com.rentalplatform.exception.BadRequestException;
 import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.BookingDtoMapper;
 import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
 import com.rentalplatform.repository.UserRepository;
-import com.rentalplatform.utils.RedisCacheCleaner;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,19 +25,22 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
-import java.util.Optional;
+import java.util.List;
 
 @RequiredArgsConstructor
 @Service
 public class BookingService {
 
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
     private final UserRepository userRepository;
     private final ListingRepository listingRepository;
     private final BookingRepository bookingRepository;
     private final BookingDtoMapper bookingDtoMapper;
-    private final EmailService emailService;
     private final NotificationService notificationService;
-    private final RedisCacheCleaner redisCacheCleaner;
+    private final OutboxService outboxService;
+    private final ListingAnalyticsService listingAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(cacheNames = "bookings", key = "#bookingId", unless = "#result == null")
     public BookingDto getBookingById(Long bookingId, String username) {
@@ -74,10 +78,11 @@ public class BookingService {
         Instant startDateTime = bookingDto.getStartDate().atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant endDateTime = bookingDto.getEndDate().atStartOfDay(ZoneId.systemDefault()).toInstant();
 
-        ListingEntity listingToBook = findListingByIdOrThrowException(bookingDto.getListingId());
+        ListingEntity listingToBook = lockListingByIdOrThrowException(bookingDto.getListingId());
         UserEntity user = findUserByUsernameOrThrowException(username);
 
         validateBookingCreation(listingToBook, user, startDateTime, endDateTime);
+        validateNoOverlappingBooking(listingToBook, startDateTime, endDateTime);
 
         BookingEntity booking = BookingEntity.builder()
                 .listing(listingToBook)
@@ -87,14 +92,12 @@ public class BookingService {
                 .status(BookingStatus.PENDING)
                 .build();
 
-        updateNextAvailableDate(listingToBook);
-
         BookingEntity savedBooking = bookingRepository.save(booking);
+        recordStatusChange(savedBooking, null);
 
-        redisCacheCleaner.evictBookingCacheForUser(username);
-        redisCacheCleaner.evictBookingCacheForLandlord(listingToBook.getLandlord().getUsername());
+        outboxService.evictBookingCaches(savedBooking.getId(), username, listingToBook.getLandlord().getUsername());
 
-        emailService.sendEmail(listingToBook.getLandlord().getEmail(),
+        outboxService.sendEmail(OutboxService.BOOKING, savedBooking.getId(), listingToBook.getLandlord().getEmail(),
                 "New Booking Request",
                 "A new booking request has been made for your listing '%s'".formatted(listingToBook.getTitle()));
 
@@ -117,12 +120,13 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.CONFIRMED);
         bookingRepository.save(booking);
+        listingRepository.extendNextAvailableDate(booking.getListing().getId(), booking.getEndDate());
+        recordStatusChange(booking, BookingStatus.PENDING);
 
-        redisCacheCleaner.evictBookingCacheById(bookingId);
-        redisCacheCleaner.evictBookingCacheForUser(booking.getTenant().getUsername());
-        redisCacheCleaner.evictBookingCacheForLandlord(booking.getListing().getLandlord().getUsername());
+        outboxService.evictBookingCaches(bookingId, booking.getTenant().getUsername(),
+                booking.getListing().getLandlord().getUsername());
 
-        emailService.sendEmail(booking.getTenant().getEmail(),
+        outboxService.sendEmail(OutboxService.BOOKING, bookingId, booking.getTenant().getEmail(),
                 "Booking Confirmed",
                 "Your booking for listing '%s' has been confirmed".formatted(booking.getListing().getTitle()));
 
@@ -145,17 +149,18 @@ public class BookingService {
             throw new BadRequestException("You cannot cancel a booking already that has already started");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
 
-        updateNextAvailableDate(booking.getListing());
-
         bookingRepository.save(booking);
+        if (previousStatus == BookingStatus.CONFIRMED) {
+            listingRepository.releaseNextAvailableDates(List.of(bookingId));
+        }
+        recordStatusChange(booking, previousStatus);
 
-        redisCacheCleaner.evictBookingCacheById(bookingId);
-        redisCacheCleaner.evictBookingCacheForUser(username);
-        redisCacheCleaner.evictBookingCacheForLandlord(booking.getListing().getLandlord().getUsername());
+        outboxService.evictBookingCaches(bookingId, username, booking.getListing().getLandlord().getUsername());
 
-        emailService.sendEmail(booking.getListing().getLandlord().getEmail(),
+        outboxService.sendEmail(OutboxService.BOOKING, bookingId, booking.getListing().getLandlord().getEmail(),
                 "Booking Canceled",
                 "User has been canceled the booking for listing '%s'".formatted(booking.getListing().getTitle()));
 
@@ -179,12 +184,12 @@ public class BookingService {
         booking.setStatus(BookingStatus.CANCELLED);
 
         bookingRepository.save(booking);
+        recordStatusChange(booking, BookingStatus.PENDING);
 
-        redisCacheCleaner.evictBookingCacheById(bookingId);
-        redisCacheCleaner.evictBookingCacheForUser(booking.getTenant().getUsername());
-        redisCacheCleaner.evictBookingCacheForLandlord(booking.getListing().getLandlord().getUsername());
+        outboxService.evictBookingCaches(bookingId, booking.getTenant().getUsername(),
+                booking.getListing().getLandlord().getUsername());
 
-        emailService.sendEmail(booking.getTenant().getEmail(),
+        outboxService.sendEmail(OutboxService.BOOKING, bookingId, booking.getTenant().getEmail(),
                 "Booking Declined",
                 "The landlord has declined booking for the listing '%s'".formatted(booking.getListing().getTitle()));
 
@@ -195,15 +200,15 @@ public class BookingService {
         return bookingDtoMapper.makeBookingDto(booking);
     }
 
-    private void updateNextAvailableDate(ListingEntity listing) {
-        Optional<Instant> maxEndDate = bookingRepository.findMaxEndDateByListingIdAndStatus(
-                listing.getId(),
-                BookingStatus.CONFIRMED);
-        if(maxEndDate.isPresent()) {
-            listing.setNextAvailableDate(maxEndDate.get().plusSeconds(3600));
-        } else {
-            listing.setNextAvailableDate(Instant.now());
-        }
+    private void recordStatusChange(BookingEntity booking, BookingStatus previousStatus) {
+        listingAnalyticsService.recordBookingTransition(booking, previousStatus);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                booking.getId(),
+                booking.getListing().getId(),
+                previousStatus,
+                booking.getStatus(),
+                booking.getStartDate(),
+                booking.getEndDate()));
     }
 
     private void validateBookingStatus(BookingEntity booking, String errorMessage) {
@@ -212,6 +217,19 @@ public class BookingService {
         }
     }
 
+    /**
+     * Runs under the listing row lock taken in {@link #createBooking}, so concurrent requests for the
+     * same listing are checked one after another against committed bookings. The exclusion constraint
+     * installed by {@code BookingOverlapConstraintInitializer} backs this up at the database level.
+     */
+    private void validateNoOverlappingBooking(ListingEntity listingToBook, Instant startDateTime,
+                                              Instant endDateTime) {
+        bookingRepository.findMaxOverlappingEndDate(listingToBook.getId(), ACTIVE_STATUSES, startDateTime, endDateTime)
+                .ifPresent(bookedUntil -> {
+                    throw new BadRequestException("The booking start date is only available after: " + bookedUntil);
+                });
+    }
+
     private static void validateBookingCreation(ListingEntity listingToBook, UserEntity user, Instant startDateTime,
                                                 Instant endDateTime) {
         if (listingToBook.getLandlord().getUsername().equals(user.getUsername())) {
@@ -225,14 +243,6 @@ public class BookingService {
         if (!startDateTime.isBefore(endDateTime)) {
             throw new BadRequestException("The booking start date must be before the end date");
         }
-
-        if (!listingToBook.getBookings().isEmpty()) {
-            BookingEntity lastBooking = listingToBook.getBookings().get(listingToBook.getBookings().size() - 1);
-            if (startDateTime.isBefore(lastBooking.getEndDate())) {
-                throw new BadRequestException(
-                        "The booking start date is only available after: " + lastBooking.getEndDate());
-            }
-        }
     }
 
     private BookingEntity findBookingByIdOrThrowException(Long bookingId) {
@@ -245,8 +255,8 @@ public class BookingService {
                 .orElseThrow(() -> new NotFoundException("User '%s' not found".formatted(username)));
     }
 
-    private ListingEntity findListingByIdOrThrowException(Long listingId) {
-        return listingRepository.findById(listingId)
+    private ListingEntity lockListingByIdOrThrowException(Long listingId) {
+        return listingRepository.findByIdForUpdate(listingId)
                 .orElseThrow(() -> new NotFoundException("Listing with id '%d' not found".formatted(listingId)));
     }
 }
@@ -6,6 +6,8 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Service
 public class EmailService {
@@ -14,10 +16,25 @@ public class EmailService {
 
     @Async
     public void sendEmail(String to, String subject, String text) {
+        mailSender.send(message(to, subject, text));
+    }
+
+    @Async
+    public void sendEmails(List<SimpleMailMessage> messages) {
+        if (!messages.isEmpty()) {
+            mailSender.send(messages.toArray(SimpleMailMessage[]::new));
+        }
+    }
+
+    public void deliver(SimpleMailMessage message) {
+        mailSender.send(message);
+    }
+
+    public static SimpleMailMessage message(String to, String subject, String text) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject(subject);
         message.setText(text);
-        mailSender.send(message);
+        return message;
     }
 }
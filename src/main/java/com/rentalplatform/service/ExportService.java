@@ -0,0 +1,197 @@
+package com.rentalplatform.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.dto.ExportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams listings and bookings straight from a JDBC cursor to the response. The query runs in a
+ * read-only transaction with a fixed fetch size, so the Postgres driver keeps a server-side cursor
+ * and only {@value #FETCH_SIZE} rows are held in memory regardless of how many are exported.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] LISTING_COLUMNS = {"id", "title", "description", "price", "address",
+            "latitude", "longitude", "numberOfRooms", "type", "averageRating", "reviewCount", "createdAt",
+            "nextAvailableDate", "landlordUsername"};
+    private static final String SELECT_LISTINGS = "SELECT l.id, l.title, l.description, l.price, l.address, " +
+            "l.latitude, l.longitude, l.number_of_rooms, l.type, l.average_rating, l.review_count, l.created_at, " +
+            "l.next_available_date, u.username FROM listings l JOIN users u ON u.id = l.landlord_id";
+
+    private static final String[] BOOKING_COLUMNS = {"id", "listingId", "listingTitle", "tenantUsername",
+            "landlordUsername", "status", "startDate", "endDate"};
+    private static final String SELECT_BOOKINGS = "SELECT b.id, l.id, l.title, t.username, o.username, b.status, " +
+            "b.start_date, b.end_date FROM bookings b JOIN listings l ON l.id = b.listing_id " +
+            "JOIN users t ON t.id = b.tenant_id JOIN users o ON o.id = l.landlord_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportAllListings(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        export(SELECT_LISTINGS + " ORDER BY l.id", new String[0], LISTING_COLUMNS, format, gzip, out);
+    }
+
+    public void exportListingsForLandlord(String username, ExportFormat format, boolean gzip,
+                                          OutputStream out) throws IOException {
+        export(SELECT_LISTINGS + " WHERE u.username = ? ORDER BY l.id", new String[]{username},
+                LISTING_COLUMNS, format, gzip, out);
+    }
+
+    public void exportBookingsForTenant(String username, ExportFormat format, boolean gzip,
+                                        OutputStream out) throws IOException {
+        export(SELECT_BOOKINGS + " WHERE t.username = ? ORDER BY b.id", new String[]{username},
+                BOOKING_COLUMNS, format, gzip, out);
+    }
+
+    public void exportBookingsForLandlord(String username, ExportFormat format, boolean gzip,
+                                          OutputStream out) throws IOException {
+        export(SELECT_BOOKINGS + " WHERE o.username = ? ORDER BY b.id", new String[]{username},
+                BOOKING_COLUMNS, format, gzip, out);
+    }
+
+    private void export(String sql, String[] parameters, String[] columns, ExportFormat format, boolean gzip,
+                        OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+        RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(target, columns)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(target).setRootValueSeparator(null), columns);
+
+        PreparedStatementCreator statementCreator = connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            return statement;
+        };
+
+        Object[] values = new Object[columns.length];
+        try {
+            writer.writeHeader();
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(statementCreator, resultSet -> {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = toExportValue(resultSet.getObject(i + 1));
+                }
+                try {
+                    writer.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            log.warn("Export aborted: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private static Object toExportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void writeHeader() throws IOException;
+
+        void writeRow(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private record NdjsonRowWriter(JsonGenerator generator, String[] columns) implements RowWriter {
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeObjectField(columns[i], values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final String[] columns;
+
+        private CsvRowWriter(OutputStream out, String[] columns) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writeRow(columns);
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.close();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
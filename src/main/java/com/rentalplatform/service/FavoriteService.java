@@ -4,6 +4,7 @@ import com.rentalplatform.dto.ListingDto;
 import com.rentalplatform.entity.FavoriteEntity;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingFavoritedEvent;
 import com.rentalplatform.exception.BadRequestException;
 import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ListingDtoMapper;
@@ -15,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,6 +29,7 @@ public class FavoriteService {
     private final ListingRepository listingRepository;
     private final FavoriteRepository favoriteRepository;
     private final ListingDtoMapper listingDtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(cacheNames = "favoriteListings", key = "#favoriteId", unless = "#result == null")
     public ListingDto getFavoriteById(Long favoriteId) {
@@ -64,6 +67,8 @@ public class FavoriteService {
                         .listing(listingToAdd)
                         .build());
 
+        eventPublisher.publishEvent(new ListingFavoritedEvent(listingId));
+
         return listingDtoMapper.makeListingDto(listingToAdd);
     }
 
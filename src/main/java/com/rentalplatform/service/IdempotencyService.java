@@ -0,0 +1,202 @@
+package com.rentalplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.exception.ConflictException;
+import com.rentalplatform.utils.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key}. The key is claimed in
+ * {@link IdempotencyStore} together with a fingerprint of the request before the action runs, and
+ * the response replaces the claim once it succeeds. A retry with the same key gets that response
+ * back without the action running again; a duplicate that arrives while the first request is still
+ * running waits for it, on the same instance without polling. A failed request releases its key so
+ * it can be retried.
+ * <p>
+ * The claim expires after {@code idempotency.claim-ttl} so a key held by a crashed instance frees up
+ * quickly; while the action is still running, its instance keeps extending the claim, so a slow
+ * request never lets a duplicate through.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTtl;
+    private final Duration waitTimeout;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> runningClaims = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.claim-ttl:PT30S}") Duration claimTtl,
+                              @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.claimTtl = claimTtl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Keys are scoped to the operation and the user, so different clients never share responses.
+     * Without a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String username, String operation, Object request,
+                                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(action.get());
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("%s must have between 1 and %d characters".formatted(HEADER, MAX_KEY_LENGTH));
+        }
+
+        String key = operation + ":" + username + ":" + idempotencyKey;
+        String fingerprint = fingerprint(operation, request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            CompletableFuture<Void> claim = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(key, claim);
+            if (running != null) {
+                await(running, deadline);
+                continue;
+            }
+
+            try {
+                if (idempotencyStore.putIfAbsent(key, toJson(new StoredResponse(fingerprint, false, null)), claimTtl)) {
+                    return run(key, fingerprint, action);
+                }
+
+                Optional<StoredResponse> stored = idempotencyStore.get(key).map(this::fromJson);
+                if (stored.isPresent()) {
+                    if (!stored.get().fingerprint().equals(fingerprint)) {
+                        throw new BadRequestException("%s was already used for a different request".formatted(HEADER));
+                    }
+                    if (stored.get().completed()) {
+                        return ResponseEntity.ok()
+                                .header(REPLAYED_HEADER, "true")
+                                .body(readBody(stored.get().body(), responseType));
+                    }
+                }
+            } finally {
+                inFlight.remove(key, claim);
+                claim.complete(null);
+            }
+
+            sleep(deadline);
+        }
+
+        throw new ConflictException("A request with this %s is still being processed".formatted(HEADER));
+    }
+
+    /**
+     * Extends the claims of actions still running on this instance. The refresh runs under the map's
+     * per-key lock, so it cannot land after {@link #run} has dropped the claim and shorten the
+     * stored response to the claim TTL.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.claim-refresh-interval:PT10S}")
+    public void refreshClaims() {
+        runningClaims.keySet().forEach(key -> runningClaims.computeIfPresent(key, (claimed, running) -> {
+            idempotencyStore.refresh(claimed, claimTtl);
+            return running;
+        }));
+    }
+
+    private <T> ResponseEntity<T> run(String key, String fingerprint, Supplier<T> action) {
+        T body;
+        runningClaims.put(key, Boolean.TRUE);
+        try {
+            body = action.get();
+        } catch (RuntimeException e) {
+            runningClaims.remove(key);
+            idempotencyStore.remove(key);
+            throw e;
+        }
+        runningClaims.remove(key);
+        idempotencyStore.put(key, toJson(new StoredResponse(fingerprint, true, toJson(body))), ttl);
+        return ResponseEntity.ok(body);
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize idempotent response " + value, e);
+        }
+    }
+
+    private StoredResponse fromJson(String json) {
+        return readBody(json, StoredResponse.class);
+    }
+
+    private <T> T readBody(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> running, long deadline) {
+        try {
+            running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this %s is still being processed".formatted(HEADER));
+        } catch (ExecutionException | TimeoutException ignored) {
+            // the loop re-checks the store or gives up at the deadline
+        }
+    }
+
+    private static void sleep(long deadline) {
+        try {
+            Thread.sleep(Math.min(POLL_INTERVAL_MILLIS,
+                    Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this %s is still being processed".formatted(HEADER));
+        }
+    }
+
+    record StoredResponse(String fingerprint, boolean completed, String body) {
+    }
+}
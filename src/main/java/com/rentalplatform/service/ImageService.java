@@ -2,6 +2,7 @@ package com.rentalplatform.service;
 
 import com.rentalplatform.config.AwsS3Config;
 import com.rentalplatform.dto.ImageDto;
+import com.rentalplatform.dto.ResourceVersion;
 import com.rentalplatform.entity.ImageEntity;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.exception.BadRequestException;
@@ -9,6 +10,7 @@ import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ImageDtoMapper;
 import com.rentalplatform.repository.ImageRepository;
 import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ImageListVersionView;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,7 @@ import software.amazon.awssdk.services.s3.S3Client;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
@@ -28,6 +31,22 @@ public class ImageService {
     private final ImageRepository imageRepository;
     private final ListingRepository listingRepository;
 
+    public Optional<ResourceVersion> findImageVersion(Long listingId, Long imageId) {
+        return imageRepository.findVersionByIdAndListingId(imageId, listingId)
+                .map(version -> new ResourceVersion("image-%d-%d".formatted(imageId, version.getVersion()),
+                        version.getUpdatedAt()));
+    }
+
+    public Optional<ResourceVersion> findImagesVersion(Long listingId) {
+        if (!listingRepository.existsById(listingId)) {
+            return Optional.empty();
+        }
+
+        ImageListVersionView version = imageRepository.findListVersionByListingId(listingId);
+        return Optional.of(new ResourceVersion("images-%d-%d-%d-%d".formatted(listingId,
+                version.getCount(), version.getMaxId(), version.getVersionSum()), version.getUpdatedAt()));
+    }
+
     public ImageDto getImageForListing(Long listingId, Long imageId) {
         ListingEntity listing = findListingByIdOrThrowException(listingId);
         ImageEntity image = findImageByIdOrThrowException(imageId);
@@ -0,0 +1,166 @@
+package com.rentalplatform.service;
+
+import com.rentalplatform.dto.ListingAnalyticsDto;
+import com.rentalplatform.dto.PageDto;
+import com.rentalplatform.entity.BookingEntity;
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.entity.ListingMonthlyStatsEntity;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.repository.ListingMonthlyStatsRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingTitleView;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Landlord dashboard figures per listing and month, read from {@link ListingMonthlyStatsEntity} rows
+ * that booking transitions and review writes adjust in their own transaction. Revenue is estimated
+ * from the listing's nightly price at the time of the transition; the nightly rebuild re-prices it.
+ */
+@RequiredArgsConstructor
+@Service
+public class ListingAnalyticsService {
+
+    public static final int MAX_MONTHS = 24;
+
+    private final ListingRepository listingRepository;
+    private final ListingMonthlyStatsRepository listingMonthlyStatsRepository;
+
+    public PageDto<ListingAnalyticsDto> getAnalytics(String username, YearMonth from, YearMonth to, int page, int size) {
+        if(size > 50) {
+            throw new BadRequestException("Maximum page size is 50");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("End month must not be before start month");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_MONTHS) {
+            throw new BadRequestException("Analytics can cover at most %d months".formatted(MAX_MONTHS));
+        }
+
+        Page<ListingTitleView> listings = listingRepository.findTitlesByLandlordUsername(username,
+                PageRequest.of(page, size));
+        Map<Long, Map<LocalDate, ListingMonthlyStatsEntity>> statsByListing = new HashMap<>();
+        if (listings.hasContent()) {
+            listingMonthlyStatsRepository.findAllByListingIdsAndMonths(
+                            listings.map(ListingTitleView::getId).getContent(), from.atDay(1), to.atDay(1))
+                    .forEach(stats -> statsByListing.computeIfAbsent(stats.getListing().getId(), id -> new HashMap<>())
+                            .put(stats.getMonthStart(), stats));
+        }
+
+        return new PageDto<>(listings.map(listing ->
+                makeAnalyticsDto(listing, statsByListing.getOrDefault(listing.getId(), Map.of()), from, to)));
+    }
+
+    /**
+     * Moves the booking's contribution from its previous status to its current one: confirmed and
+     * finished bookings count their nights and revenue, pending ones count as a request.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordBookingTransition(BookingEntity booking, BookingStatus previousStatus) {
+        Map<LocalDate, MonthDelta> deltas = new TreeMap<>();
+        addContribution(deltas, booking, previousStatus, -1);
+        addContribution(deltas, booking, booking.getStatus(), 1);
+
+        deltas.forEach((monthStart, delta) -> {
+            if (!delta.isEmpty()) {
+                listingMonthlyStatsRepository.addToMonth(booking.getListing().getId(), monthStart,
+                        delta.bookedNights, delta.revenue, delta.pendingRequests, 0, 0);
+            }
+        });
+    }
+
+    /**
+     * Records a review being written, edited or deleted; a missing rating stands for no review.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordReviewChange(Long listingId, Instant createdAt, Double previousRating, Double rating) {
+        int reviewCount = (rating != null ? 1 : 0) - (previousRating != null ? 1 : 0);
+        double ratingSum = Objects.requireNonNullElse(rating, 0.0) - Objects.requireNonNullElse(previousRating, 0.0);
+        if (reviewCount == 0 && ratingSum == 0) {
+            return;
+        }
+        listingMonthlyStatsRepository.addToMonth(listingId, monthStart(createdAt), 0, 0, 0, reviewCount, ratingSum);
+    }
+
+    private static void addContribution(Map<LocalDate, MonthDelta> deltas, BookingEntity booking,
+                                        BookingStatus status, int sign) {
+        if (status == BookingStatus.PENDING) {
+            deltas.computeIfAbsent(monthStart(booking.getStartDate()), month -> new MonthDelta()).pendingRequests += sign;
+        } else if (status == BookingStatus.CONFIRMED || status == BookingStatus.FINISHED) {
+            double price = Objects.requireNonNullElse(booking.getListing().getPrice(), 0.0);
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate firstNight = LocalDate.ofInstant(booking.getStartDate(), zone);
+            LocalDate checkOut = LocalDate.ofInstant(booking.getEndDate(), zone);
+            if (checkOut.atStartOfDay(zone).toInstant().isBefore(booking.getEndDate())) {
+                checkOut = checkOut.plusDays(1);
+            }
+
+            for (LocalDate monthStart = firstNight.withDayOfMonth(1); monthStart.isBefore(checkOut);
+                 monthStart = monthStart.plusMonths(1)) {
+                LocalDate from = firstNight.isAfter(monthStart) ? firstNight : monthStart;
+                LocalDate nextMonth = monthStart.plusMonths(1);
+                int nights = (int) ChronoUnit.DAYS.between(from, checkOut.isBefore(nextMonth) ? checkOut : nextMonth);
+
+                MonthDelta delta = deltas.computeIfAbsent(monthStart, month -> new MonthDelta());
+                delta.bookedNights += sign * nights;
+                delta.revenue += sign * nights * price;
+            }
+        }
+    }
+
+    private static ListingAnalyticsDto makeAnalyticsDto(ListingTitleView listing,
+                                                        Map<LocalDate, ListingMonthlyStatsEntity> statsByMonth,
+                                                        YearMonth from, YearMonth to) {
+        List<ListingAnalyticsDto.MonthlyStatsDto> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            ListingMonthlyStatsEntity stats = statsByMonth.get(month.atDay(1));
+            int bookedNights = stats != null ? stats.getBookedNights() : 0;
+            int reviewCount = stats != null ? stats.getReviewCount() : 0;
+
+            months.add(ListingAnalyticsDto.MonthlyStatsDto.builder()
+                    .month(month)
+                    .bookedNights(bookedNights)
+                    .occupancyRate((double) bookedNights / month.lengthOfMonth())
+                    .revenue(stats != null ? stats.getRevenue() : 0.0)
+                    .pendingRequests(stats != null ? stats.getPendingRequests() : 0)
+                    .reviewCount(reviewCount)
+                    .averageRating(reviewCount > 0 ? stats.getRatingSum() / reviewCount : null)
+                    .build());
+        }
+
+        return ListingAnalyticsDto.builder()
+                .listingId(listing.getId())
+                .title(listing.getTitle())
+                .months(months)
+                .build();
+    }
+
+    private static LocalDate monthStart(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneId.systemDefault()).withDayOfMonth(1);
+    }
+
+    private static final class MonthDelta {
+        private int bookedNights;
+        private double revenue;
+        private int pendingRequests;
+
+        private boolean isEmpty() {
+            return bookedNights == 0 && revenue == 0 && pendingRequests == 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.rentalplatform.service;
+
+import com.rentalplatform.dto.ListingCalendarDto;
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.exception.NotFoundException;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.BookingIntervalView;
+import com.rentalplatform.utils.ListingCalendarCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds occupancy calendars from per-month bit masks kept in {@link ListingCalendarCache}. Months
+ * that are not cached are computed together by a single range query over the listing's bookings.
+ */
+@RequiredArgsConstructor
+@Service
+public class ListingCalendarService {
+
+    public static final int MAX_NIGHTS = 366;
+
+    private static final List<BookingStatus> OCCUPYING_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.FINISHED);
+
+    private final BookingRepository bookingRepository;
+    private final ListingRepository listingRepository;
+    private final ListingCalendarCache listingCalendarCache;
+
+    public ListingCalendarDto getCalendar(Long listingId, LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new BadRequestException("End of the calendar must be after its start");
+        }
+        int nights = (int) Math.min(ChronoUnit.DAYS.between(from, to), Integer.MAX_VALUE);
+        if (nights > MAX_NIGHTS) {
+            throw new BadRequestException("Calendar can cover at most %d nights".formatted(MAX_NIGHTS));
+        }
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to.minusDays(1)));
+             month = month.plusMonths(1)) {
+            months.add(month);
+        }
+
+        ListingCalendarCache.Snapshot cached = listingCalendarCache.get(listingId, months);
+        Map<YearMonth, Integer> masks = new LinkedHashMap<>(cached.masks());
+        List<YearMonth> missing = months.stream()
+                .filter(month -> !masks.containsKey(month))
+                .toList();
+        if (!missing.isEmpty()) {
+            Map<YearMonth, Integer> loaded = loadMonths(listingId, missing);
+            listingCalendarCache.put(listingId, cached.version(), loaded);
+            masks.putAll(loaded);
+        }
+
+        byte[] bits = new byte[(nights + 7) / 8];
+        int occupiedNights = 0;
+        for (int i = 0; i < nights; i++) {
+            LocalDate day = from.plusDays(i);
+            if ((masks.get(YearMonth.from(day)) & (1 << (day.getDayOfMonth() - 1))) != 0) {
+                bits[i / 8] |= (byte) (1 << (i % 8));
+                occupiedNights++;
+            }
+        }
+
+        return ListingCalendarDto.builder()
+                .listingId(listingId)
+                .from(from)
+                .to(to)
+                .nights(nights)
+                .occupiedNights(occupiedNights)
+                .occupied(Base64.getEncoder().encodeToString(bits))
+                .build();
+    }
+
+    /**
+     * Computes the masks of the given months from one query over the span they cover. A listing
+     * without bookings in that span is checked for existence so unknown ids are not cached.
+     */
+    private Map<YearMonth, Integer> loadMonths(Long listingId, List<YearMonth> months) {
+        ZoneId zone = ZoneId.systemDefault();
+        YearMonth first = months.get(0);
+        YearMonth last = months.get(months.size() - 1);
+        Instant rangeStart = first.atDay(1).atStartOfDay(zone).toInstant();
+        Instant rangeEnd = last.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant();
+
+        List<BookingIntervalView> bookings = bookingRepository.findIntervalsOverlapping(listingId,
+                OCCUPYING_STATUSES, rangeStart, rangeEnd);
+        if (bookings.isEmpty() && !listingRepository.existsById(listingId)) {
+            throw new NotFoundException("Listing with id '%d' not found".formatted(listingId));
+        }
+
+        Map<YearMonth, Integer> masks = new LinkedHashMap<>();
+        months.forEach(month -> masks.put(month, 0));
+        for (BookingIntervalView booking : bookings) {
+            LocalDate firstNight = max(LocalDate.ofInstant(booking.getStartDate(), zone), first.atDay(1));
+            LocalDate checkOut = LocalDate.ofInstant(booking.getEndDate(), zone);
+            if (checkOut.atStartOfDay(zone).toInstant().isBefore(booking.getEndDate())) {
+                checkOut = checkOut.plusDays(1);
+            }
+            checkOut = min(checkOut, last.plusMonths(1).atDay(1));
+            for (LocalDate night = firstNight; night.isBefore(checkOut); night = night.plusDays(1)) {
+                int bit = 1 << (night.getDayOfMonth() - 1);
+                masks.computeIfPresent(YearMonth.from(night), (month, mask) -> mask | bit);
+            }
+        }
+        return masks;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
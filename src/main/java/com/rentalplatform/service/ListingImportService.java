@@ -0,0 +1,337 @@
+package com.rentalplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.dto.ListingImportResultDto;
+import com.rentalplatform.dto.creationDto.CreationListingDto;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.exception.NotFoundException;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.utils.CsvRecordReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Imports listings for a landlord from NDJSON or CSV. The body is read row by row (a line per NDJSON row,
+ * a record per CSV row, which may span lines inside quoted values) and written in batches of
+ * {@value #BATCH_SIZE}, each batch in its own transaction, so memory stays bounded by the batch and rows
+ * that fail validation, duplicate an existing listing or are malformed CSV records are reported, not fatal.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ListingImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String INSERT_LISTING = "INSERT INTO listings (title, description, price, address, " +
+            "number_of_rooms, type, latitude, longitude, average_rating, review_count, created_at, landlord_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final ListingRepository listingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ListingImportResultDto importListings(InputStream input, String contentType, String username) {
+        UserEntity landlord = userRepository.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException("User '%s' not found".formatted(username)));
+        boolean csv = isCsv(contentType);
+        ImportRun run = new ImportRun(landlord);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (csv) {
+                readCsv(new CsvRecordReader(reader), run);
+            } else {
+                readNdjson(reader, run);
+            }
+            run.finish();
+        } catch (IOException e) {
+            log.error("Failed to read listing import for '{}'", username, e);
+            throw new BadRequestException("Could not read the import file");
+        }
+
+        return run.report.toDto();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                String json = line;
+                run.add(lineNumber, () -> parseJsonRow(json));
+            }
+        }
+    }
+
+    private static void readCsv(CsvRecordReader records, ImportRun run) throws IOException {
+        Map<String, Integer> columns = readCsvHeader(records.readRecord());
+
+        while (true) {
+            List<String> values;
+            try {
+                values = records.readRecord();
+            } catch (BadRequestException e) {
+                run.report.totalRows++;
+                run.report.fail(records.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if (values == null) {
+                return;
+            }
+            run.add(records.getRecordLine(), () -> parseCsvRow(values, columns));
+        }
+    }
+
+    private void writeBatch(List<ImportRow> batch, UserEntity landlord, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> titles = batch.stream().map(row -> row.listing().getTitle()).collect(Collectors.toSet());
+        Set<String> existingKeys = listingRepository.findTitlesAndAddressesByLandlordId(landlord.getId(), titles)
+                .stream()
+                .map(existing -> duplicateKey(existing.getTitle(), existing.getAddress()))
+                .collect(Collectors.toSet());
+
+        // Earlier batches are already committed, so the query above catches duplicates across batches
+        // and only this batch's own keys need tracking here.
+        Set<String> seenKeys = new HashSet<>();
+        List<ImportRow> rowsToInsert = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String key = duplicateKey(row.listing().getTitle(), row.listing().getAddress());
+            if (existingKeys.contains(key) || !seenKeys.add(key)) {
+                report.fail(row.line(), "You've already created a listing with such title and address");
+            } else {
+                rowsToInsert.add(row);
+            }
+        }
+
+        if (rowsToInsert.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> listingIds = insert(rowsToInsert, landlord);
+            eventPublisher.publishEvent(new ListingsImportedEvent(listingIds));
+        });
+        report.imported += rowsToInsert.size();
+    }
+
+    private List<Long> insert(List<ImportRow> rows, UserEntity landlord) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_LISTING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        CreationListingDto listing = rows.get(index).listing();
+                        statement.setString(1, listing.getTitle());
+                        statement.setString(2, listing.getDescription());
+                        statement.setDouble(3, listing.getPrice());
+                        statement.setString(4, listing.getAddress());
+                        statement.setInt(5, listing.getNumberOfRooms());
+                        statement.setString(6, listing.getType().name());
+                        statement.setObject(7, listing.getLatitude(), Types.DOUBLE);
+                        statement.setObject(8, listing.getLongitude(), Types.DOUBLE);
+                        statement.setTimestamp(9, createdAt);
+                        statement.setLong(10, landlord.getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+    }
+
+    private CreationListingDto parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, CreationListingDto.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(List<String> names) {
+        if (names == null) {
+            throw new BadRequestException("CSV header row is required");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static CreationListingDto parseCsvRow(List<String> values, Map<String, Integer> columns) {
+        return CreationListingDto.builder()
+                .title(csvValue(values, columns, "title"))
+                .description(csvValue(values, columns, "description"))
+                .price(parseNumber(csvValue(values, columns, "price"), "price", Double::valueOf))
+                .address(csvValue(values, columns, "address"))
+                .numberOfRooms(parseNumber(csvValue(values, columns, "numberofrooms"), "numberOfRooms", Integer::valueOf))
+                .type(parseType(csvValue(values, columns, "type")))
+                .latitude(parseNumber(csvValue(values, columns, "latitude"), "latitude", Double::valueOf))
+                .longitude(parseNumber(csvValue(values, columns, "longitude"), "longitude", Double::valueOf))
+                .build();
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static <T> T parseNumber(String value, String column, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid value '%s' for %s".formatted(value, column));
+        }
+    }
+
+    private static ListingType parseType(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ListingType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid value '%s' for type".formatted(value));
+        }
+    }
+
+    private void validate(CreationListingDto listing) {
+        Set<ConstraintViolation<CreationListingDto>> violations = validator.validate(listing);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static boolean isCsv(String contentType) {
+        if (contentType != null && contentType.startsWith("text/csv")) {
+            return true;
+        }
+        if (contentType != null && contentType.startsWith("application/x-ndjson")) {
+            return false;
+        }
+        throw new BadRequestException("Import supports only 'application/x-ndjson' and 'text/csv'");
+    }
+
+    private static String duplicateKey(String title, String address) {
+        return title + '\u0000' + address;
+    }
+
+    private record ImportRow(long line, CreationListingDto listing) {
+    }
+
+    private final class ImportRun {
+        private final UserEntity landlord;
+        private final ImportReport report = new ImportReport();
+        private final List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        private ImportRun(UserEntity landlord) {
+            this.landlord = landlord;
+        }
+
+        private void add(long line, Supplier<CreationListingDto> parser) {
+            report.totalRows++;
+            try {
+                CreationListingDto listing = parser.get();
+                validate(listing);
+                batch.add(new ImportRow(line, listing));
+            } catch (BadRequestException e) {
+                report.fail(line, e.getMessage());
+            }
+
+            if (batch.size() == BATCH_SIZE) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            writeBatch(batch, landlord, report);
+            batch.clear();
+        }
+    }
+
+    private static final class ImportReport {
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<ListingImportResultDto.RowErrorDto> errors = new ArrayList<>();
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ListingImportResultDto.RowErrorDto(line, message));
+            }
+        }
+
+        private ListingImportResultDto toDto() {
+            return ListingImportResultDto.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -1,38 +1,92 @@
 package com.rentalplatform.service;
 
+import com.rentalplatform.dto.CursorPageDto;
 import com.rentalplatform.dto.creationDto.CreationListingDto;
 import com.rentalplatform.dto.updateDto.EditListingDto;
 import com.rentalplatform.dto.FilterListingsDto;
 import com.rentalplatform.dto.ListingDto;
+import com.rentalplatform.dto.ListingFacetsDto;
+import com.rentalplatform.dto.ListingSort;
+import com.rentalplatform.dto.ListingSuggestionDto;
+import com.rentalplatform.dto.ListingSummaryDto;
+import com.rentalplatform.dto.PageDto;
+import com.rentalplatform.dto.ResourceVersion;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingChangedEvent;
 import com.rentalplatform.exception.BadRequestException;
 import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ListingDtoMapper;
+import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.ReviewRepository;
 import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.RecentReviewView;
+import com.rentalplatform.search.ListingAvailabilityIndex;
+import com.rentalplatform.search.ListingFacetCounter;
+import com.rentalplatform.search.ListingFilterEngine;
+import com.rentalplatform.search.ListingSimilarityIndex;
+import com.rentalplatform.search.ListingSuggestionIndex;
+import com.rentalplatform.utils.ListingCursor;
+import com.rentalplatform.utils.ListingViewCounter;
 import com.rentalplatform.utils.ListingSpecification;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @Service
 public class ListingService {
 
     private final UserRepository userRepository;
     private final ListingRepository listingRepository;
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
     private final ListingDtoMapper listingDtoMapper;
+    private final ListingFilterEngine listingFilterEngine;
+    private final ListingSuggestionIndex listingSuggestionIndex;
+    private final ListingSimilarityIndex listingSimilarityIndex;
+    private final ListingViewCounter listingViewCounter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int RECENT_REVIEWS_LIMIT = 3;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
 
     public ListingDto getListingById(Long listingId) {
         ListingEntity listing = findListingByIdOrThrowException(listingId);
         return listingDtoMapper.makeListingDto(listing);
     }
 
-    public Page<ListingDto> getMyListings(String username, int page, int size) {
+    public void recordView(Long listingId) {
+        listingViewCounter.recordView(listingId);
+    }
+
+    public Optional<ResourceVersion> findListingVersion(Long listingId) {
+        return listingRepository.findVersionById(listingId)
+                .map(version -> new ResourceVersion("listing-%d-%d".formatted(listingId, version.getVersion()),
+                        version.getUpdatedAt()));
+    }
+
+    public Page<ListingSummaryDto> getMyListings(String username, int page, int size) {
         UserEntity landlord = userRepository.findByUsername(username)
                 .orElseThrow(() -> new NotFoundException("User '%s' not found".formatted(username)));
 
@@ -41,31 +95,132 @@ public class ListingService {
         }
 
         PageRequest pageRequest = PageRequest.of(page, size);
-        Page<ListingEntity> listings = listingRepository.findAllWithReviewsByLandlordId(landlord.getId(), pageRequest);
+        Page<ListingEntity> listings = listingRepository.findAllByLandlordId(landlord.getId(), pageRequest);
 
-        return listings.map(listingDtoMapper::makeListingDtoWithReviews);
+        return makeListingSummaries(listings);
     }
 
-    public Page<ListingDto> getAllListings(FilterListingsDto filter, int page, int size) {
+    @Cacheable(cacheNames = "listingSearch",
+               key = "@listingCacheVersion.current() + '_' + T(com.rentalplatform.utils.ListingFilterKey).of(#filter) " +
+                     "+ '_' + #page + '_' + #size")
+    public PageDto<ListingSummaryDto> getAllListings(FilterListingsDto filter, int page, int size) {
         PageRequest pageRequest = PageRequest.of(page, size);
 
         if(size > 50) {
             throw new BadRequestException("Maximum page size is 50");
         }
 
-        Specification<ListingEntity> specification = Specification
-                .where(ListingSpecification.hasTitle(filter.getTitle()))
-                .and(ListingSpecification.hasAddress(filter.getAddress()))
-                .and(ListingSpecification.hasMinPrice(filter.getMinPrice()))
-                .and(ListingSpecification.hasMaxPrice(filter.getMaxPrice()))
-                .and(ListingSpecification.hasNumberOfRooms(filter.getNumberOfRooms()))
-                .and(ListingSpecification.hasType(filter.getType()))
-                .and(ListingSpecification.hasMinAverageRating(filter.getMinAverageRating()))
-                .and(ListingSpecification.hasAvailableFrom(filter.getAvailableFrom()));
+        validateStayDates(filter);
+        validateLocation(filter);
+
+        if(listingFilterEngine.supports(filter)) {
+            return new PageDto<>(makeListingSummaries(findListingsByIds(queryFilterEngine(filter, page, size))));
+        }
+
+        Page<ListingEntity> listings = listingRepository.findAll(
+                buildSpecification(filter).and(buildOrdering(filter)), pageRequest);
+
+        return new PageDto<>(makeListingSummaries(listings));
+    }
+
+    @Cacheable(cacheNames = "listingSearch",
+               key = "@listingCacheVersion.current() + '_' + T(com.rentalplatform.utils.ListingFilterKey).of(#filter) " +
+                     "+ '_cursor_' + #cursor + '_' + #size")
+    public CursorPageDto<ListingSummaryDto> getAllListingsByCursor(FilterListingsDto filter, String cursor, int size) {
+        if(size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+
+        if(size > 50) {
+            throw new BadRequestException("Maximum page size is 50");
+        }
+
+        validateStayDates(filter);
+        validateLocation(filter);
+
+        if(filter.getSort() == ListingSort.DISTANCE) {
+            throw new BadRequestException("Sorting by distance is not supported with cursor pagination");
+        }
+
+        if(filter.getSort() == ListingSort.POPULAR) {
+            throw new BadRequestException("Sorting by popularity is not supported with cursor pagination");
+        }
+
+        ListingCursor position = cursor != null && !cursor.isEmpty() ? ListingCursor.decode(cursor) : null;
+
+        Specification<ListingEntity> specification = buildSpecification(filter)
+                .and(ListingSpecification.isAfterCursor(position));
+
+        List<ListingEntity> listings = listingRepository.findBy(specification, query -> query
+                .sortBy(KEYSET_SORT)
+                .project("landlord")
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = listings.size() > size;
+        List<ListingEntity> content = hasNext ? listings.subList(0, size) : listings;
+        String nextCursor = hasNext ? ListingCursor.of(content.get(content.size() - 1)).encode() : null;
+
+        return CursorPageDto.<ListingSummaryDto>builder()
+                .content(listingDtoMapper.makeListingSummaryDto(content, findRecentReviews(content)))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
 
-        Page<ListingEntity> listings = listingRepository.findAll(specification, pageRequest);
+    @Cacheable(cacheNames = "listingFacets",
+               key = "@listingCacheVersion.current() + '_' + T(com.rentalplatform.utils.ListingFilterKey).of(#filter)")
+    public ListingFacetsDto getListingFacets(FilterListingsDto filter) {
+        validateStayDates(filter);
+        validateLocation(filter);
 
-        return listings.map(listingDtoMapper::makeListingDtoWithReviews);
+        if(listingFilterEngine.supports(filter) && filter.getCheckIn() == null) {
+            return listingFilterEngine.countFacets(filter).toDto();
+        }
+
+        ListingFacetCounter counter = new ListingFacetCounter();
+        listingRepository.countFacets(buildSpecification(filter)).forEach(row ->
+                counter.add(row.type(), row.numberOfRooms(), row.priceBucket(), row.count()));
+        return counter.toDto();
+    }
+
+    public List<ListingSuggestionDto> suggest(String query, int limit) {
+        if(limit < 1) {
+            throw new BadRequestException("Number of suggestions must be at least 1");
+        }
+
+        if(limit > ListingSuggestionIndex.MAX_SUGGESTIONS) {
+            throw new BadRequestException("Maximum number of suggestions is %d"
+                    .formatted(ListingSuggestionIndex.MAX_SUGGESTIONS));
+        }
+
+        if(query == null || query.isBlank() || !listingSuggestionIndex.isReady()) {
+            return List.of();
+        }
+
+        return listingSuggestionIndex.suggest(query, limit);
+    }
+
+    @Cacheable(cacheNames = "listingSimilar",
+               key = "@listingCacheVersion.current() + '_' + #listingId + '_' + #limit",
+               unless = "#result.isEmpty()")
+    public List<ListingSummaryDto> getSimilarListings(Long listingId, int limit) {
+        if(limit > ListingSimilarityIndex.MAX_SIMILAR) {
+            throw new BadRequestException("Maximum number of similar listings is %d"
+                    .formatted(ListingSimilarityIndex.MAX_SIMILAR));
+        }
+
+        if(!listingRepository.existsById(listingId)) {
+            throw new NotFoundException("Listing with id '%d' not found".formatted(listingId));
+        }
+
+        if(!listingSimilarityIndex.isReady()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> similarIds = listingSimilarityIndex.findSimilar(listingId, limit);
+        return new ArrayList<>(makeListingSummaries(findListingsByIds(new PageImpl<>(similarIds))).getContent());
     }
 
     @Transactional
@@ -88,10 +243,14 @@ public class ListingService {
                         .address(creationListingDto.getAddress())
                         .numberOfRooms(creationListingDto.getNumberOfRooms())
                         .type(creationListingDto.getType())
+                        .latitude(creationListingDto.getLatitude())
+                        .longitude(creationListingDto.getLongitude())
                         .landlord(landlord)
                         .build()
         );
 
+        eventPublisher.publishEvent(new ListingChangedEvent(listing.getId(), ListingChangedEvent.ChangeType.CREATED));
+
         return listingDtoMapper.makeListingDto(listing);
     }
 
@@ -100,6 +259,7 @@ public class ListingService {
         ListingEntity listing = findListingByIdOrThrowException(listingId);
         validateUpdatingListing(editListingDto, currentUsername, listing);
         ListingEntity updatedListing = listingRepository.save(listing);
+        eventPublisher.publishEvent(new ListingChangedEvent(listingId, ListingChangedEvent.ChangeType.UPDATED));
         return listingDtoMapper.makeListingDto(updatedListing);
     }
 
@@ -108,6 +268,156 @@ public class ListingService {
         ListingEntity listing = findListingByIdOrThrowException(listingId);
         validateLandlordListing(currentUsername, listing);
         listingRepository.delete(listing);
+        eventPublisher.publishEvent(new ListingChangedEvent(listingId, ListingChangedEvent.ChangeType.DELETED));
+    }
+
+    /**
+     * The filter engine drops booked listings using this instance's availability index, which can
+     * miss bookings made on other instances since its last reload. For a stay query every candidate
+     * up to the requested page is re-checked against the bookings table, and the page is refilled
+     * from further candidates when some turn out to be booked.
+     */
+    private Page<Long> queryFilterEngine(FilterListingsDto filter, int page, int size) {
+        if(filter.getCheckIn() == null) {
+            return listingFilterEngine.query(filter, page, size);
+        }
+
+        Instant checkIn = filter.getCheckIn().atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant checkOut = filter.getCheckOut().atStartOfDay(ZoneId.systemDefault()).toInstant();
+        int needed = (page + 1) * size;
+        int fetch = needed;
+
+        while(true) {
+            Page<Long> candidates = listingFilterEngine.query(filter, 0, fetch);
+            Set<Long> booked = candidates.isEmpty() ? Set.of() : new HashSet<>(bookingRepository
+                    .findListingIdsBookedBetween(candidates.getContent(), ListingAvailabilityIndex.ACTIVE_STATUSES,
+                            checkIn, checkOut));
+            List<Long> free = candidates.getContent().stream()
+                    .filter(listingId -> !booked.contains(listingId))
+                    .toList();
+
+            if(free.size() >= needed || candidates.getNumberOfElements() < fetch) {
+                List<Long> content = free.subList(Math.min(page * size, free.size()), Math.min(needed, free.size()));
+                return new PageImpl<>(content, PageRequest.of(page, size),
+                        candidates.getTotalElements() - booked.size());
+            }
+            fetch += needed - free.size();
+        }
+    }
+
+    private Page<ListingEntity> findListingsByIds(Page<Long> listingIds) {
+        Map<Long, ListingEntity> listingsById = listingRepository.findAllByIdIn(listingIds.getContent())
+                .stream()
+                .collect(Collectors.toMap(ListingEntity::getId, Function.identity()));
+
+        List<ListingEntity> listings = listingIds.getContent().stream()
+                .map(listingsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(listings, listingIds.getPageable(), listingIds.getTotalElements());
+    }
+
+    private Page<ListingSummaryDto> makeListingSummaries(Page<ListingEntity> listings) {
+        Map<Long, List<RecentReviewView>> recentReviews = findRecentReviews(listings.getContent());
+        return listings.map(listing ->
+                listingDtoMapper.makeListingSummaryDto(listing, recentReviews.getOrDefault(listing.getId(), List.of())));
+    }
+
+    private Map<Long, List<RecentReviewView>> findRecentReviews(List<ListingEntity> listings) {
+        List<Long> listingIds = listings.stream()
+                .filter(listing -> listing.getReviewCount() != null && listing.getReviewCount() > 0)
+                .map(ListingEntity::getId)
+                .toList();
+
+        if(listingIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return reviewRepository.findRecentByListingIds(listingIds, RECENT_REVIEWS_LIMIT)
+                .stream()
+                .collect(Collectors.groupingBy(RecentReviewView::getListingId));
+    }
+
+    private Specification<ListingEntity> buildSpecification(FilterListingsDto filter) {
+        return Specification
+                .where(ListingSpecification.matchesText(filter.getQuery()))
+                .and(ListingSpecification.hasTitle(filter.getTitle()))
+                .and(ListingSpecification.hasAddress(filter.getAddress()))
+                .and(ListingSpecification.hasMinPrice(filter.getMinPrice()))
+                .and(ListingSpecification.hasMaxPrice(filter.getMaxPrice()))
+                .and(ListingSpecification.hasNumberOfRooms(filter.getNumberOfRooms()))
+                .and(ListingSpecification.hasType(filter.getType()))
+                .and(ListingSpecification.hasMinAverageRating(filter.getMinAverageRating()))
+                .and(ListingSpecification.hasAvailableFrom(filter.getAvailableFrom()))
+                .and(isAvailableForStay(filter))
+                .and(ListingSpecification.isWithinRadius(filter.getLatitude(), filter.getLongitude(), filter.getRadiusKm()))
+                .and(ListingSpecification.isWithinBox(filter.getMinLatitude(), filter.getMinLongitude(),
+                        filter.getMaxLatitude(), filter.getMaxLongitude()));
+    }
+
+    /**
+     * Ordering is kept out of {@link #buildSpecification} so facet and cursor queries, which group
+     * or sort on their own, only receive predicates. Without an explicit sort a text search is
+     * ordered by relevance.
+     */
+    private Specification<ListingEntity> buildOrdering(FilterListingsDto filter) {
+        if(filter.getSort() == ListingSort.DISTANCE) {
+            return ListingSpecification.orderByDistance(filter.getLatitude(), filter.getLongitude());
+        }
+        if(filter.getSort() == ListingSort.POPULAR) {
+            return ListingSpecification.orderByPopularity();
+        }
+        return ListingSpecification.orderByTextRank(filter.getQuery());
+    }
+
+    private Specification<ListingEntity> isAvailableForStay(FilterListingsDto filter) {
+        if(filter.getCheckIn() == null) {
+            return null;
+        }
+
+        return ListingSpecification.isAvailableBetween(
+                filter.getCheckIn().atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                filter.getCheckOut().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static void validateLocation(FilterListingsDto filter) {
+        boolean hasPoint = filter.getLatitude() != null && filter.getLongitude() != null;
+
+        if((filter.getRadiusKm() != null || filter.getSort() == ListingSort.DISTANCE) && !hasPoint) {
+            throw new BadRequestException("Latitude and longitude are required for radius search and distance sort");
+        }
+
+        boolean hasAnyBound = filter.getMinLatitude() != null || filter.getMinLongitude() != null
+                || filter.getMaxLatitude() != null || filter.getMaxLongitude() != null;
+
+        if(!hasAnyBound) {
+            return;
+        }
+
+        if(filter.getMinLatitude() == null || filter.getMinLongitude() == null
+                || filter.getMaxLatitude() == null || filter.getMaxLongitude() == null) {
+            throw new BadRequestException("Bounding box requires minimal and maximum latitude and longitude");
+        }
+
+        // A minimal longitude above the maximum one is a box crossing the antimeridian, not an error.
+        if(filter.getMinLatitude() > filter.getMaxLatitude()) {
+            throw new BadRequestException("Bounding box minimal latitude must not exceed the maximum one");
+        }
+    }
+
+    private static void validateStayDates(FilterListingsDto filter) {
+        if(filter.getCheckIn() == null && filter.getCheckOut() == null) {
+            return;
+        }
+
+        if(filter.getCheckIn() == null || filter.getCheckOut() == null) {
+            throw new BadRequestException("Both check-in and check-out dates are required");
+        }
+
+        if(!filter.getCheckIn().isBefore(filter.getCheckOut())) {
+            throw new BadRequestException("The check-in date must be before the check-out date");
+        }
     }
 
     private ListingEntity findListingByIdOrThrowException(Long listingId) {
@@ -141,6 +451,11 @@ public class ListingService {
         if(editListingDto.getType() != null) {
             listing.setType(editListingDto.getType());
         }
+
+        if(editListingDto.getLatitude() != null && editListingDto.getLongitude() != null) {
+            listing.setLatitude(editListingDto.getLatitude());
+            listing.setLongitude(editListingDto.getLongitude());
+        }
     }
 
     private static void validateLandlordListing(String currentUsername, ListingEntity listing) {
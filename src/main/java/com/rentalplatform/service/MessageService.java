@@ -1,6 +1,5 @@
 package com.rentalplatform.service;
 
-import com.rentalplatform.controller.MessageWebSocketController;
 import com.rentalplatform.dto.MessageDto;
 import com.rentalplatform.entity.MessageEntity;
 import com.rentalplatform.entity.UserEntity;
@@ -25,7 +24,7 @@ public class MessageService {
     private final UserRepository userRepository;
     private final MessageRepository messageRepository;
     private final MessageDtoMapper messageDtoMapper;
-    private final MessageWebSocketController messageWebSocketController;
+    private final OutboxService outboxService;
 
     public List<MessageDto> getConversation(String receiverUsername, String senderUsername) {
         UserEntity receiver = findUserByUsernameOrThrowException(receiverUsername);
@@ -63,7 +62,7 @@ public class MessageService {
                 .build();
 
         messageRepository.save(message);
-        messageWebSocketController.sendNotification(receiverUsername, content);
+        outboxService.pushMessage(receiver.getId(), receiverUsername, content);
     }
 
     @CacheEvict(cacheNames = "unreadMessages", key = "#username")
@@ -1,6 +1,5 @@
 package com.rentalplatform.service;
 
-import com.rentalplatform.controller.NotificationWebSocketController;
 import com.rentalplatform.dto.NotificationDto;
 import com.rentalplatform.entity.NotificationEntity;
 import com.rentalplatform.entity.UserEntity;
@@ -18,6 +17,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @Service
 public class NotificationService {
@@ -26,7 +29,7 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final NotificationDtoMapper notificationDtoMapper;
     private final RedisCacheCleaner redisCacheCleaner;
-    private final NotificationWebSocketController notificationWebSocketController;
+    private final OutboxService outboxService;
 
     @Cacheable(cacheNames = "notifications", key = "#notificationId", unless = "#result = null")
     public NotificationDto getNotificationById(Long notificationId, String username) {
@@ -83,9 +86,29 @@ public class NotificationService {
                 .build();
 
         notificationRepository.save(notification);
-        redisCacheCleaner.evictNotificationCacheByUsername(user.getUsername());
-        redisCacheCleaner.evictUnreadNotificationsCacheByUsername(user.getUsername());
-        notificationWebSocketController.sendNotification(user.getUsername(), message);
+        outboxService.pushNotification(user.getId(), List.of(user.getUsername()), message);
+    }
+
+    /**
+     * Sends the same message to many users with one batch insert and a single outbox event, so the
+     * relay clears their caches in one sweep instead of a round of Redis scans per recipient.
+     */
+    @Transactional
+    public void createNotifications(String message, List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        notificationRepository.saveAll(users.stream()
+                .map(user -> NotificationEntity.builder()
+                        .message(message)
+                        .user(user)
+                        .isRead(false)
+                        .build())
+                .toList());
+
+        Set<String> usernames = users.stream().map(UserEntity::getUsername).collect(Collectors.toSet());
+        outboxService.pushNotification(null, usernames, message);
     }
 
     @CacheEvict(cacheNames = "notifications", key = "#notificationId")
@@ -0,0 +1,95 @@
+package com.rentalplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.entity.OutboxEventEntity;
+import com.rentalplatform.entity.OutboxEventType;
+import com.rentalplatform.event.OutboxEventAppendedEvent;
+import com.rentalplatform.repository.OutboxEventRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records side effects in the caller's transaction so they are carried out only if it commits, and
+ * after it commits. Events of the same aggregate are relayed in the order they were recorded.
+ */
+@RequiredArgsConstructor
+@Service
+public class OutboxService {
+
+    public static final String BOOKING = "booking";
+    public static final String REVIEW = "review";
+    public static final String USER = "user";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void sendEmail(String aggregateType, Long aggregateId, String to, String subject, String text) {
+        append(aggregateType, aggregateId, OutboxEventType.EMAIL, new Email(to, subject, text));
+    }
+
+    /**
+     * A notification pushed to a single user is ordered with that user's other pushes; a broadcast to
+     * many users has no aggregate and is relayed independently.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void pushNotification(Long userId, Collection<String> usernames, String message) {
+        append(USER, userId, OutboxEventType.NOTIFICATION_PUSH, new NotificationPush(List.copyOf(usernames), message));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void pushMessage(Long receiverId, String receiverUsername, String content) {
+        append(USER, receiverId, OutboxEventType.MESSAGE_PUSH, new MessagePush(receiverUsername, content));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void evictBookingCaches(Long bookingId, String tenantUsername, String landlordUsername) {
+        append(BOOKING, bookingId, OutboxEventType.BOOKING_CACHE_EVICTION,
+                new BookingCacheEviction(bookingId, tenantUsername, landlordUsername));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void evictReviewCaches(Long reviewId, Long listingId) {
+        append(REVIEW, reviewId, OutboxEventType.REVIEW_CACHE_EVICTION, new ReviewCacheEviction(listingId));
+    }
+
+    private void append(String aggregateType, Long aggregateId, OutboxEventType type, Object payload) {
+        OutboxEventEntity event = outboxEventRepository.save(OutboxEventEntity.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .type(type)
+                .payload(toJson(payload))
+                .build());
+        eventPublisher.publishEvent(new OutboxEventAppendedEvent(event.getId(), type));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize outbox payload " + payload, e);
+        }
+    }
+
+    public record Email(String to, String subject, String text) {
+    }
+
+    public record NotificationPush(List<String> usernames, String message) {
+    }
+
+    public record MessagePush(String receiverUsername, String content) {
+    }
+
+    public record BookingCacheEviction(Long bookingId, String tenantUsername, String landlordUsername) {
+    }
+
+    public record ReviewCacheEviction(Long listingId) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.rentalplatform.service;
 
+import com.rentalplatform.dto.ResourceVersion;
 import com.rentalplatform.dto.ReviewDto;
 import com.rentalplatform.dto.creationDto.CreationReviewDto;
 import com.rentalplatform.dto.updateDto.UpdateReviewDto;
@@ -7,6 +8,7 @@ import com.rentalplatform.entity.BookingStatus;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.ReviewEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingChangedEvent;
 import com.rentalplatform.exception.BadRequestException;
 import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ReviewDtoMapper;
@@ -14,24 +16,27 @@ import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
 import com.rentalplatform.repository.ReviewRepository;
 import com.rentalplatform.repository.UserRepository;
-import com.rentalplatform.utils.RedisCacheCleaner;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
 public class ReviewService {
 
-    private final EmailService emailService;
+    private final OutboxService outboxService;
     private final RatingService ratingService;
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
@@ -39,7 +44,8 @@ public class ReviewService {
     private final BookingRepository bookingRepository;
     private final ListingRepository listingRepository;
     private final NotificationService notificationService;
-    private final RedisCacheCleaner redisCacheCleaner;
+    private final ListingAnalyticsService listingAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(cacheNames = "reviews", key = "#reviewId", unless = "#result == null")
     public ReviewDto getReviewById(Long reviewId) {
@@ -47,6 +53,13 @@ public class ReviewService {
         return reviewDtoMapper.makeReviewDto(review);
     }
 
+    public Optional<ResourceVersion> findReviewVersion(Long reviewId) {
+        return reviewRepository.findVersionById(reviewId)
+                .map(version -> new ResourceVersion(
+                        "review-%d-%d-%d".formatted(reviewId, version.getVersion(), version.getListingVersion()),
+                        latest(version.getUpdatedAt(), version.getListingUpdatedAt())));
+    }
+
     @Cacheable(cacheNames = "reviews",
                key = "#listingId + '_' + #sortByDate + '_' + #sortByRating + '_' + #page + '_' + #size",
                unless = "#result.content.isEmpty()"
@@ -89,11 +102,15 @@ public class ReviewService {
 
         ReviewEntity savedReview = reviewRepository.save(review);
 
+        listingRepository.addReviewRating(listing.getId(), review.getRating());
+        listingAnalyticsService.recordReviewChange(listing.getId(), savedReview.getCreatedAt(), null,
+                savedReview.getRating());
         ratingService.updateLandlordRating(listing.getLandlord().getId());
+        eventPublisher.publishEvent(new ListingChangedEvent(listing.getId(), ListingChangedEvent.ChangeType.UPDATED));
 
-        redisCacheCleaner.evictReviewCacheByListingId(creationReviewDto.getListingId());
+        outboxService.evictReviewCaches(savedReview.getId(), listing.getId());
 
-        emailService.sendEmail(listing.getLandlord().getEmail(),
+        outboxService.sendEmail(OutboxService.REVIEW, savedReview.getId(), listing.getLandlord().getEmail(),
                 "New Review Received",
                 "Your listing '%s' has received a new review from %s.\n Comment: %s"
                         .formatted(listing.getTitle(), review.getTenant(), review.getComment()));
@@ -109,12 +126,21 @@ public class ReviewService {
     @Transactional
     public ReviewDto editReview(Long reviewId, UpdateReviewDto updateReviewDto, String username) {
         ReviewEntity review = findReviewByIdOrThrowException(reviewId);
+        Double previousRating = review.getRating();
         validateUpdatingReview(updateReviewDto, username, review);
 
         ReviewEntity savedReview = reviewRepository.save(review);
 
-        redisCacheCleaner.evictReviewCacheByListingId(review.getListing().getId());
+        if (!Objects.equals(previousRating, review.getRating())) {
+            listingRepository.replaceReviewRating(review.getListing().getId(), previousRating, review.getRating());
+            listingAnalyticsService.recordReviewChange(review.getListing().getId(), review.getCreatedAt(),
+                    previousRating, review.getRating());
+        }
+
+        outboxService.evictReviewCaches(reviewId, review.getListing().getId());
         ratingService.updateLandlordRating(review.getListing().getLandlord().getId());
+        eventPublisher.publishEvent(new ListingChangedEvent(review.getListing().getId(),
+                ListingChangedEvent.ChangeType.UPDATED));
 
         return reviewDtoMapper.makeReviewDto(savedReview);
     }
@@ -129,8 +155,20 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
-        redisCacheCleaner.evictReviewCacheByListingId(review.getListing().getId());
+        listingRepository.removeReviewRating(review.getListing().getId(), review.getRating());
+        listingAnalyticsService.recordReviewChange(review.getListing().getId(), review.getCreatedAt(),
+                review.getRating(), null);
+        outboxService.evictReviewCaches(reviewId, review.getListing().getId());
         ratingService.updateLandlordRating(review.getListing().getLandlord().getId());
+        eventPublisher.publishEvent(new ListingChangedEvent(review.getListing().getId(),
+                ListingChangedEvent.ChangeType.UPDATED));
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        return first.isAfter(second) ? first : second;
     }
 
     private ReviewEntity findReviewByIdOrThrowException(Long reviewId) {
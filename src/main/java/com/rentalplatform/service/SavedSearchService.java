@@ -0,0 +1,245 @@
+package com.rentalplatform.service;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.SavedSearchDto;
+import com.rentalplatform.entity.SavedSearchEntity;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.event.SavedSearchChangedEvent;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.exception.NotFoundException;
+import com.rentalplatform.mapper.SavedSearchDtoMapper;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.SavedSearchMatchRepository;
+import com.rentalplatform.repository.SavedSearchRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.ListingPercolationView;
+import com.rentalplatform.search.SavedSearchPercolator;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SavedSearchService {
+
+    private static final int MAX_SAVED_SEARCHES = 20;
+    private static final int MATCH_BATCH_SIZE = 1000;
+    private static final int NOTIFICATION_BATCH_SIZE = 500;
+    private static final int MAX_DEFERRED_ALERTS = 100_000;
+    private static final String RECORD_MATCHES = "INSERT INTO saved_search_matches " +
+            "(saved_search_id, listing_id, matched_at) SELECT UNNEST(CAST(? AS bigint[])), ?, now() " +
+            "ON CONFLICT (saved_search_id, listing_id) DO NOTHING RETURNING saved_search_id";
+
+    private final UserRepository userRepository;
+    private final ListingRepository listingRepository;
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatchRepository savedSearchMatchRepository;
+    private final SavedSearchDtoMapper savedSearchDtoMapper;
+    private final SavedSearchPercolator savedSearchPercolator;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Set<Long> deferredListingIds = ConcurrentHashMap.newKeySet();
+
+    public List<SavedSearchDto> getMySavedSearches(String username) {
+        UserEntity user = findUserByUsernameOrThrowException(username);
+        return savedSearchDtoMapper.makeSavedSearchDto(
+                savedSearchRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId()));
+    }
+
+    @Transactional
+    public SavedSearchDto createSavedSearch(String name, FilterListingsDto filter, String username) {
+        UserEntity user = findUserByUsernameOrThrowException(username);
+
+        if (name == null || name.isBlank()) {
+            throw new BadRequestException("Saved search name is required");
+        }
+
+        if (filter.getAvailableFrom() != null || filter.getCheckIn() != null || filter.getCheckOut() != null) {
+            throw new BadRequestException("Saved searches cannot filter by dates");
+        }
+
+        if (savedSearchRepository.countByUserId(user.getId()) >= MAX_SAVED_SEARCHES) {
+            throw new BadRequestException("Maximum number of saved searches is %d".formatted(MAX_SAVED_SEARCHES));
+        }
+
+        SavedSearchEntity savedSearch = savedSearchRepository.save(
+                SavedSearchEntity.builder()
+                        .name(name.trim())
+                        .user(user)
+                        .query(filter.getQuery())
+                        .title(filter.getTitle())
+                        .address(filter.getAddress())
+                        .minPrice(filter.getMinPrice())
+                        .maxPrice(filter.getMaxPrice())
+                        .numberOfRooms(filter.getNumberOfRooms())
+                        .type(filter.getType())
+                        .minAverageRating(filter.getMinAverageRating())
+                        .latitude(filter.getLatitude())
+                        .longitude(filter.getLongitude())
+                        .radiusKm(filter.getRadiusKm())
+                        .minLatitude(filter.getMinLatitude())
+                        .minLongitude(filter.getMinLongitude())
+                        .maxLatitude(filter.getMaxLatitude())
+                        .maxLongitude(filter.getMaxLongitude())
+                        .build());
+
+        eventPublisher.publishEvent(new SavedSearchChangedEvent(savedSearch.getId(), false));
+
+        return savedSearchDtoMapper.makeSavedSearchDto(savedSearch);
+    }
+
+    @Transactional
+    public void deleteSavedSearch(Long savedSearchId, String username) {
+        SavedSearchEntity savedSearch = savedSearchRepository.findById(savedSearchId)
+                .orElseThrow(() -> new NotFoundException("Saved search with id '%d' not found".formatted(savedSearchId)));
+
+        if (!savedSearch.getUser().getUsername().equals(username)) {
+            throw new BadRequestException("You are not authorized to delete this saved search");
+        }
+
+        savedSearchMatchRepository.deleteAllBySavedSearchId(savedSearchId);
+        savedSearchRepository.delete(savedSearch);
+        eventPublisher.publishEvent(new SavedSearchChangedEvent(savedSearchId, true));
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.changeType() == ListingChangedEvent.ChangeType.DELETED) {
+            savedSearchMatchRepository.deleteAllByListingId(event.listingId());
+        } else {
+            alertMatchingSearches(event.listingId());
+        }
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        event.listingIds().forEach(this::alertMatchingSearches);
+    }
+
+    /**
+     * Notifies the owners of saved searches that the listing newly matches. Searches that already
+     * alerted about this listing are skipped, and each user gets one notification however many of
+     * their searches matched. While the percolator is still loading, the listing is kept and alerted
+     * once it is ready.
+     */
+    public void alertMatchingSearches(Long listingId) {
+        if (!savedSearchPercolator.isReady()) {
+            deferAlert(listingId);
+            return;
+        }
+
+        ListingPercolationView listing = listingRepository.findPercolationViewById(listingId).orElse(null);
+        if (listing == null) {
+            return;
+        }
+
+        List<SavedSearchPercolator.Match> matches = savedSearchPercolator.percolate(listing).stream()
+                .filter(match -> !match.userId().equals(listing.getLandlordId()))
+                .toList();
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        Set<Long> matchedIds = matches.stream()
+                .filter(match -> !match.requiresTextMatch())
+                .map(SavedSearchPercolator.Match::savedSearchId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Long> textCandidates = matches.stream()
+                .filter(SavedSearchPercolator.Match::requiresTextMatch)
+                .map(SavedSearchPercolator.Match::savedSearchId)
+                .toList();
+        for (List<Long> batch : partition(textCandidates, MATCH_BATCH_SIZE)) {
+            matchedIds.addAll(savedSearchRepository.findIdsMatchingListingText(listingId, batch));
+        }
+
+        Set<Long> newMatchIds = recordMatches(listingId, new ArrayList<>(matchedIds));
+        List<Long> userIds = matches.stream()
+                .filter(match -> newMatchIds.contains(match.savedSearchId()))
+                .map(SavedSearchPercolator.Match::userId)
+                .distinct()
+                .toList();
+
+        String message = "New listing '%s' matches one of your saved searches".formatted(listing.getTitle());
+        for (List<Long> batch : partition(userIds, NOTIFICATION_BATCH_SIZE)) {
+            notificationService.createNotifications(message, userRepository.findAllById(batch));
+        }
+
+        if (!userIds.isEmpty()) {
+            log.debug("Listing {} matched {} saved searches of {} users", listingId, newMatchIds.size(), userIds.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${listings.saved-searches.alert-retry-interval:PT10S}")
+    public void retryDeferredAlerts() {
+        if (deferredListingIds.isEmpty() || !savedSearchPercolator.isReady()) {
+            return;
+        }
+
+        for (Long listingId : List.copyOf(deferredListingIds)) {
+            deferredListingIds.remove(listingId);
+            try {
+                alertMatchingSearches(listingId);
+            } catch (RuntimeException e) {
+                deferredListingIds.add(listingId);
+                log.warn("Could not alert saved searches about listing {}: {}", listingId, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    public int getDeferredAlerts() {
+        return deferredListingIds.size();
+    }
+
+    private void deferAlert(Long listingId) {
+        if (!savedSearchPercolator.isEnabled()) {
+            return;
+        }
+        if (deferredListingIds.size() >= MAX_DEFERRED_ALERTS) {
+            log.warn("Too many deferred saved search alerts, dropping listing {}", listingId);
+            return;
+        }
+        deferredListingIds.add(listingId);
+    }
+
+    private Set<Long> recordMatches(Long listingId, List<Long> savedSearchIds) {
+        Set<Long> inserted = new LinkedHashSet<>();
+        for (List<Long> batch : partition(savedSearchIds, MATCH_BATCH_SIZE)) {
+            String ids = batch.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+            inserted.addAll(jdbcTemplate.queryForList(RECORD_MATCHES, Long.class, ids, listingId));
+        }
+        return inserted;
+    }
+
+    private static <T> List<List<T>> partition(List<T> values, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += size) {
+            batches.add(values.subList(from, Math.min(from + size, values.size())));
+        }
+        return batches;
+    }
+
+    private UserEntity findUserByUsernameOrThrowException(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException("User '%s' not found".formatted(username)));
+    }
+}
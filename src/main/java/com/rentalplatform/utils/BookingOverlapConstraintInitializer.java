@@ -0,0 +1,42 @@
+package com.rentalplatform.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs an exclusion constraint so that no two pending or confirmed bookings of the same listing
+ * can overlap, whoever writes them. Existing overlapping rows prevent the constraint from being
+ * created; in that case a warning is logged and booking creation relies on the listing lock alone.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BookingOverlapConstraintInitializer implements CommandLineRunner {
+
+    public static final String CONSTRAINT_NAME = "excl_booking_listing_period";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, CONSTRAINT_NAME);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT " + CONSTRAINT_NAME + " EXCLUDE USING gist " +
+                    "(listing_id WITH =, tstzrange(start_date, end_date) WITH &&) " +
+                    "WHERE (status IN ('PENDING', 'CONFIRMED'))");
+            log.info("Created booking overlap constraint {}", CONSTRAINT_NAME);
+        } catch (DataAccessException e) {
+            log.warn("Could not create booking overlap constraint {}: {}", CONSTRAINT_NAME, e.getMessage());
+        }
+    }
+}
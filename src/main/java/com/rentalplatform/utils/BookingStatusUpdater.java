@@ -1,33 +1,221 @@
 package com.rentalplatform.utils;
 
-import com.rentalplatform.entity.BookingEntity;
-import com.rentalplatform.entity.BookingStatus;
-import com.rentalplatform.repository.BookingRepository;
-import com.rentalplatform.service.EmailService;
-import lombok.RequiredArgsConstructor;
+import com.rentalplatform.entity.JobCheckpointEntity;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.JobCheckpointRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.service.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
+/**
+ * Sweeps confirmed bookings that have ended to finished, one chunk per transaction. Transitions are
+ * normally applied on time by {@link BookingTimerWheel}; the sweep catches whatever it missed, e.g.
+ * while the application was down. Each chunk is a single {@code UPDATE ... RETURNING id}; the
+ * tenants' emails are appended to the outbox, their notifications written and the job checkpoint
+ * advanced in the same transaction, so a run that dies halfway resumes with the same cutoff after
+ * the last committed chunk and no tenant is notified twice or missed.
+ */
+@Slf4j
 @Component
+@ManagedResource(objectName = "com.rentalplatform:type=BookingStatusUpdater")
 public class BookingStatusUpdater {
 
-    private final EmailService emailService;
-    private final BookingRepository bookingRepository;
+    static final String JOB_NAME = "booking-status-updater";
 
-    @Scheduled(cron = "0 0 0 * * ?")
-    public void updateFinishedBookings() {
-        Instant now = Instant.now();
-        List<BookingEntity> bookings = bookingRepository.findAllByStatusAndEndDateBefore(BookingStatus.CONFIRMED, now);
+    private static final String FINISH_CHUNK = "UPDATE bookings SET status = 'FINISHED' WHERE id IN (" +
+            "SELECT id FROM bookings WHERE status = 'CONFIRMED' AND end_date < ? AND id > ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE) RETURNING id";
+    private static final String FINISH_BY_IDS = "UPDATE bookings SET status = 'FINISHED' " +
+            "WHERE id = ANY (CAST(? AS bigint[])) AND status = 'CONFIRMED' AND end_date <= ? RETURNING id";
+    private static final String SELECT_FINISHED = "SELECT b.id, b.tenant_id, t.email, l.title FROM bookings b " +
+            "JOIN users t ON t.id = b.tenant_id JOIN listings l ON l.id = b.listing_id " +
+            "WHERE b.id = ANY (CAST(? AS bigint[]))";
 
-        for(BookingEntity booking : bookings) {
-            booking.setStatus(BookingStatus.FINISHED);
-            emailService.sendEmail(booking.getTenant().getEmail(),
-                    "Booking Finished",
-                    "Your booking '%s' has been finished".formatted(booking.getListing().getTitle()));
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final ListingRepository listingRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final NotificationService notificationService;
+
+    @Value("${bookings.status-updater.chunk-size:500}")
+    private int chunkSize;
+
+    private volatile Instant lastRunStartedAt;
+    private volatile long lastRunDurationMillis;
+    private volatile long lastRunRows;
+    private volatile long lastRunChunks;
+    private final AtomicLong totalRows = new AtomicLong();
+
+    public BookingStatusUpdater(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                JobCheckpointRepository jobCheckpointRepository, ListingRepository listingRepository,
+                                UserRepository userRepository, OutboxService outboxService,
+                                NotificationService notificationService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.listingRepository = listingRepository;
+        this.userRepository = userRepository;
+        this.outboxService = outboxService;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Finishes the given bookings if they are still confirmed and have ended. Used by
+     * {@link BookingTimerWheel} to apply transitions as they fall due; returns the number finished.
+     */
+    public int finishBookings(List<Long> bookingIds) {
+        List<Long> finished = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(FINISH_BY_IDS, Long.class, joinIds(bookingIds),
+                    Timestamp.from(Instant.now()));
+            if (!ids.isEmpty()) {
+                listingRepository.releaseNextAvailableDates(ids);
+                notifyTenants(ids);
+            }
+            return ids;
+        });
+        if (finished == null || finished.isEmpty()) {
+            return 0;
+        }
+        totalRows.addAndGet(finished.size());
+        return finished.size();
+    }
+
+    @Scheduled(cron = "${bookings.status-updater.cron:0 30 * * * *}")
+    public synchronized void updateFinishedBookings() {
+        long startedAt = System.nanoTime();
+        lastRunStartedAt = Instant.now();
+
+        JobCheckpointEntity checkpoint = jobCheckpointRepository.findById(JOB_NAME).orElse(null);
+        if (checkpoint == null) {
+            checkpoint = JobCheckpointEntity.builder()
+                    .jobName(JOB_NAME)
+                    .cutoff(lastRunStartedAt)
+                    .build();
+        } else {
+            log.info("Resuming booking status update from id {} with cutoff {}",
+                    checkpoint.getLastId(), checkpoint.getCutoff());
         }
+
+        long rows = 0;
+        long chunks = 0;
+        List<Long> finished;
+        do {
+            finished = finishChunk(checkpoint);
+            if (!finished.isEmpty()) {
+                rows += finished.size();
+                chunks++;
+            }
+        } while (finished.size() == chunkSize);
+
+        jobCheckpointRepository.deleteById(JOB_NAME);
+
+        lastRunRows = rows;
+        lastRunChunks = chunks;
+        totalRows.addAndGet(rows);
+        lastRunDurationMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        log.info("Finished {} bookings in {} chunks in {} ms", rows, chunks, lastRunDurationMillis);
+    }
+
+    @ManagedAttribute(description = "Start time of the last run")
+    public String getLastRunStartedAt() {
+        return lastRunStartedAt != null ? lastRunStartedAt.toString() : null;
+    }
+
+    @ManagedAttribute(description = "Duration of the last run in milliseconds")
+    public long getLastRunDurationMillis() {
+        return lastRunDurationMillis;
+    }
+
+    @ManagedAttribute(description = "Bookings finished by the last run")
+    public long getLastRunRows() {
+        return lastRunRows;
+    }
+
+    @ManagedAttribute(description = "Chunks committed by the last run")
+    public long getLastRunChunks() {
+        return lastRunChunks;
+    }
+
+    @ManagedAttribute(description = "Bookings finished since startup")
+    public long getTotalRows() {
+        return totalRows.get();
+    }
+
+    private List<Long> finishChunk(JobCheckpointEntity checkpoint) {
+        List<Long> finished = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(FINISH_CHUNK, Long.class,
+                    Timestamp.from(checkpoint.getCutoff()), checkpoint.getLastId(), chunkSize);
+            if (!ids.isEmpty()) {
+                listingRepository.releaseNextAvailableDates(ids);
+                notifyTenants(ids);
+                saveCheckpoint(checkpoint, Collections.max(ids));
+            }
+            return ids;
+        });
+        return finished != null ? finished : List.of();
+    }
+
+    private void saveCheckpoint(JobCheckpointEntity checkpoint, Long lastId) {
+        checkpoint.setLastId(lastId);
+        checkpoint.setUpdatedAt(Instant.now());
+        jobCheckpointRepository.save(checkpoint);
+    }
+
+    private void notifyTenants(List<Long> bookingIds) {
+        List<FinishedBooking> bookings = jdbcTemplate.query(SELECT_FINISHED,
+                (resultSet, rowNum) -> new FinishedBooking(resultSet.getLong(1), resultSet.getLong(2),
+                        resultSet.getString(3), Objects.requireNonNullElse(resultSet.getString(4), "")),
+                joinIds(bookingIds));
+
+        bookings.forEach(booking -> outboxService.sendEmail(OutboxService.BOOKING, booking.bookingId(),
+                booking.tenantEmail(), "Booking Finished",
+                "Your booking '%s' has been finished".formatted(booking.listingTitle())));
+
+        Map<Long, UserEntity> tenants = userRepository.findAllById(bookings.stream()
+                        .map(FinishedBooking::tenantId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+        Map<String, List<UserEntity>> tenantsByListingTitle = bookings.stream()
+                .filter(booking -> tenants.containsKey(booking.tenantId()))
+                .collect(Collectors.groupingBy(FinishedBooking::listingTitle, LinkedHashMap::new,
+                        Collectors.mapping(booking -> tenants.get(booking.tenantId()),
+                                Collectors.collectingAndThen(Collectors.toSet(), List::copyOf))));
+
+        tenantsByListingTitle.forEach((title, users) -> notificationService.createNotifications(
+                "Your booking '%s' has been finished".formatted(title), users));
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private record FinishedBooking(Long bookingId, Long tenantId, String tenantEmail, String listingTitle) {
     }
 }
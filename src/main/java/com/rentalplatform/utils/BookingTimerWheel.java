@@ -0,0 +1,282 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.BookingIntervalView;
+import com.rentalplatform.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies booking lifecycle transitions close to their exact time instead of in one nightly batch.
+ * Ends of confirmed bookings and start reminders falling inside a sliding window are kept in a
+ * {@link TimerWheel}; the window is topped up from {@link BookingRepository} as it slides, and rebuilt
+ * from it after a restart. Timers that fall due are drained at a bounded rate per tick, so bookings
+ * that all end at midnight are spread over the following seconds rather than handled in one spike.
+ * Every transition re-checks the booking's status when it fires, so cancelled bookings need no
+ * explicit removal from the wheel. Each instance runs its own wheel; a transition or reminder is
+ * claimed by a conditional {@code UPDATE} when it fires, so only one instance acts on it.
+ */
+@Slf4j
+@Component
+@ManagedResource(objectName = "com.rentalplatform:type=BookingTimerWheel")
+public class BookingTimerWheel {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int LEVELS = 3;
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final DateTimeFormatter REMINDER_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String CLAIM_REMINDERS = "UPDATE bookings b SET reminder_sent_at = now() " +
+            "FROM listings l WHERE l.id = b.listing_id AND b.id = ANY (CAST(? AS bigint[])) " +
+            "AND b.status = 'CONFIRMED' AND b.start_date > now() AND b.reminder_sent_at IS NULL " +
+            "RETURNING b.tenant_id, l.title, b.start_date";
+
+    private final BookingRepository bookingRepository;
+    private final BookingStatusUpdater bookingStatusUpdater;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration reminderLead;
+    private final int maxPerTick;
+
+    private final TimerWheel<BookingTimer> wheel;
+    private final Deque<BookingTimer> ready = new ArrayDeque<>();
+    private volatile Instant loadedUntil;
+    private volatile long firedTransitions;
+    private volatile long firedReminders;
+    private volatile long lastTickLagMillis;
+
+    public BookingTimerWheel(BookingRepository bookingRepository, BookingStatusUpdater bookingStatusUpdater,
+                             UserRepository userRepository, NotificationService notificationService,
+                             JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${bookings.timer-wheel.enabled:true}") boolean enabled,
+                             @Value("${bookings.timer-wheel.window:PT6H}") Duration window,
+                             @Value("${bookings.timer-wheel.reminder-lead:PT24H}") Duration reminderLead,
+                             @Value("${bookings.timer-wheel.max-per-tick:200}") int maxPerTick) {
+        this.bookingRepository = bookingRepository;
+        this.bookingStatusUpdater = bookingStatusUpdater;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.window = window;
+        this.reminderLead = reminderLead;
+        this.maxPerTick = maxPerTick;
+        this.wheel = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, LEVELS, System.currentTimeMillis());
+    }
+
+    /**
+     * Bookings that ended while the application was down are picked up from one window back; older
+     * ones are left to the {@link BookingStatusUpdater} sweep. Reminders are only loaded forward; one
+     * that was already sent is skipped by its claim anyway.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        loadWindow(now.minus(window), now, now.plus(window));
+        log.info("Booking timer wheel loaded {} timers up to {}", pendingTimers(), loadedUntil);
+    }
+
+    @Scheduled(fixedDelayString = "${bookings.timer-wheel.refresh-interval:PT15M}",
+            initialDelayString = "${bookings.timer-wheel.refresh-interval:PT15M}")
+    public void slideWindow() {
+        Instant from = loadedUntil;
+        if (!enabled || from == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        loadWindow(from, from, now.plus(window));
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Long> finishing = new ArrayList<>();
+        List<Long> reminding = new ArrayList<>();
+
+        synchronized (this) {
+            ready.addAll(wheel.advance(now));
+            while (!ready.isEmpty() && finishing.size() + reminding.size() < maxPerTick) {
+                BookingTimer timer = ready.poll();
+                (timer.type() == TimerType.END ? finishing : reminding).add(timer.bookingId());
+                lastTickLagMillis = Math.max(0, now - timer.dueMillis());
+            }
+        }
+
+        if (!finishing.isEmpty()) {
+            firedTransitions += bookingStatusUpdater.finishBookings(finishing);
+        }
+        if (!reminding.isEmpty()) {
+            firedReminders += sendReminders(reminding);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        Instant until = loadedUntil;
+        if (!enabled || until == null || event.status() != BookingStatus.CONFIRMED) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!event.endDate().isAfter(until)) {
+                schedule(event.bookingId(), event.endDate(), TimerType.END);
+            }
+            Instant reminderAt = event.startDate().minus(reminderLead);
+            if (reminderAt.isAfter(Instant.now()) && !reminderAt.isAfter(until)) {
+                schedule(event.bookingId(), reminderAt, TimerType.START_REMINDER);
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Timers waiting in the wheel or ready to fire")
+    public synchronized int getPendingTimers() {
+        return pendingTimers();
+    }
+
+    @ManagedAttribute(description = "End of the window loaded into the wheel")
+    public String getLoadedUntil() {
+        return loadedUntil != null ? loadedUntil.toString() : null;
+    }
+
+    @ManagedAttribute(description = "Bookings finished by the wheel since startup")
+    public long getFiredTransitions() {
+        return firedTransitions;
+    }
+
+    @ManagedAttribute(description = "Start reminders sent by the wheel since startup")
+    public long getFiredReminders() {
+        return firedReminders;
+    }
+
+    @ManagedAttribute(description = "Delay between due time and firing of the last timer in milliseconds")
+    public long getLastTickLagMillis() {
+        return lastTickLagMillis;
+    }
+
+    private void loadWindow(Instant endsFrom, Instant remindersFrom, Instant to) {
+        List<BookingTimer> timers = new ArrayList<>();
+
+        long lastId = 0;
+        List<BookingIntervalView> batch;
+        do {
+            batch = bookingRepository.findIntervalsEndingBetween(lastId, BookingStatus.CONFIRMED, endsFrom, to,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            batch.forEach(booking -> timers.add(new BookingTimer(booking.getId(),
+                    booking.getEndDate().toEpochMilli(), TimerType.END)));
+            lastId = batch.isEmpty() ? lastId : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        lastId = 0;
+        do {
+            batch = bookingRepository.findIntervalsStartingBetween(lastId, BookingStatus.CONFIRMED,
+                    remindersFrom.plus(reminderLead), to.plus(reminderLead), PageRequest.of(0, LOAD_BATCH_SIZE));
+            batch.forEach(booking -> timers.add(new BookingTimer(booking.getId(),
+                    booking.getStartDate().minus(reminderLead).toEpochMilli(), TimerType.START_REMINDER)));
+            lastId = batch.isEmpty() ? lastId : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        synchronized (this) {
+            timers.forEach(timer -> schedule(timer.bookingId(), Instant.ofEpochMilli(timer.dueMillis()), timer.type()));
+            loadedUntil = to;
+        }
+    }
+
+    private void schedule(Long bookingId, Instant dueAt, TimerType type) {
+        if (!wheel.schedule(dueAt.toEpochMilli(), new BookingTimer(bookingId, dueAt.toEpochMilli(), type))) {
+            log.warn("Booking {} {} at {} is beyond the timer wheel horizon", bookingId, type, dueAt);
+        }
+    }
+
+    private int pendingTimers() {
+        return wheel.size() + ready.size();
+    }
+
+    /**
+     * Claims the reminders and writes the notifications in one transaction, so a reminder is either
+     * marked as sent together with its notification or left for another attempt.
+     */
+    private int sendReminders(List<Long> bookingIds) {
+        Integer sent = transactionTemplate.execute(status -> claimAndNotify(bookingIds));
+        return sent != null ? sent : 0;
+    }
+
+    private int claimAndNotify(List<Long> bookingIds) {
+        List<Reminder> reminders = jdbcTemplate.query(CLAIM_REMINDERS,
+                (resultSet, rowNum) -> new Reminder(resultSet.getLong(1),
+                        Objects.requireNonNullElse(resultSet.getString(2), ""),
+                        resultSet.getTimestamp(3).toInstant()),
+                bookingIds.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}")));
+
+        Map<Long, UserEntity> tenants = userRepository.findAllById(reminders.stream()
+                        .map(Reminder::tenantId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+        Map<String, List<UserEntity>> tenantsByMessage = reminders.stream()
+                .filter(reminder -> tenants.containsKey(reminder.tenantId()))
+                .collect(Collectors.groupingBy(
+                        reminder -> "Your booking for listing '%s' starts on %s".formatted(reminder.listingTitle(),
+                                REMINDER_DATE.format(reminder.startDate().atZone(ZoneId.systemDefault()))),
+                        LinkedHashMap::new,
+                        Collectors.mapping(reminder -> tenants.get(reminder.tenantId()),
+                                Collectors.collectingAndThen(Collectors.toSet(), List::copyOf))));
+
+        tenantsByMessage.forEach(notificationService::createNotifications);
+        return reminders.size();
+    }
+
+    private enum TimerType {
+        END,
+        START_REMINDER
+    }
+
+    private record BookingTimer(Long bookingId, long dueMillis, TimerType type) {
+    }
+
+    private record Reminder(Long tenantId, String listingTitle, Instant startDate) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records (RFC 4180 quoting, comma separated) from a character stream. A quoted value may
+ * contain commas, doubled quotes and line breaks, so one record can span several physical lines;
+ * {@link #getRecordLine()} reports the line the last record started on. Blank lines are skipped. A quote
+ * only opens a quoted value at the start of a field; elsewhere it is kept as a literal character.
+ * <p>
+ * A quote that is never closed would otherwise swallow the rest of the stream, so when the stream ends
+ * inside a quoted value the record fails on its own: everything after its first line is read again as
+ * the following records.
+ */
+public final class CsvRecordReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -1;
+    private final StringBuilder raw = new StringBuilder();
+    private String replay;
+    private int replayPosition;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the values of the next record, or {@code null} at the end of the stream.
+     *
+     * @throws BadRequestException if the stream ends inside a quoted value; reading can continue with
+     *                             the record after the first line of the failed one
+     */
+    public List<String> readRecord() throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        recordLine = line;
+        raw.setLength(0);
+        int next;
+
+        while ((next = read()) != -1) {
+            char current = (char) next;
+
+            if (quoted) {
+                if (current == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    value.append(current);
+                    if (isLineBreak(current, value)) {
+                        line++;
+                    }
+                }
+            } else if (current == '"' && value.toString().isBlank()) {
+                quoted = true;
+            } else if (current == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else if (current == '\r' || current == '\n') {
+                skipLineFeedAfter(current);
+                line++;
+                if (values.isEmpty() && value.toString().isBlank()) {
+                    recordLine = line;
+                    raw.setLength(0);
+                    continue;
+                }
+                values.add(value.toString().trim());
+                return values;
+            } else {
+                value.append(current);
+            }
+        }
+
+        if (quoted) {
+            replayAfterFirstLine();
+            throw new BadRequestException("Unterminated quoted value");
+        }
+        if (values.isEmpty() && value.toString().isBlank()) {
+            return null;
+        }
+
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private boolean isLineBreak(char current, StringBuilder value) throws IOException {
+        if (current == '\n') {
+            return true;
+        }
+        if (current != '\r') {
+            return false;
+        }
+        int following = read();
+        if (following == '\n') {
+            value.append('\n');
+        } else {
+            unread(following);
+        }
+        return true;
+    }
+
+    private void skipLineFeedAfter(char current) throws IOException {
+        if (current == '\r') {
+            int following = read();
+            if (following != '\n') {
+                unread(following);
+            }
+        }
+    }
+
+    private void replayAfterFirstLine() {
+        int start = 0;
+        while (start < raw.length() && raw.charAt(start) != '\r' && raw.charAt(start) != '\n') {
+            start++;
+        }
+        if (start < raw.length() - 1 && raw.charAt(start) == '\r' && raw.charAt(start + 1) == '\n') {
+            start++;
+        }
+
+        replay = start + 1 < raw.length() ? raw.substring(start + 1) : null;
+        replayPosition = 0;
+        line = recordLine + 1;
+    }
+
+    private int read() throws IOException {
+        int next;
+        if (pushedBack != -1) {
+            next = pushedBack;
+            pushedBack = -1;
+        } else if (replay != null && replayPosition < replay.length()) {
+            next = replay.charAt(replayPosition++);
+        } else {
+            replay = null;
+            next = reader.read();
+        }
+
+        if (next != -1) {
+            raw.append((char) next);
+        }
+        return next;
+    }
+
+    private void unread(int next) {
+        pushedBack = next;
+        if (next != -1) {
+            raw.setLength(raw.length() - 1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.rentalplatform.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expiring key-value store for idempotency records. Entries live in Redis so every instance sees
+ * them; while Redis is unreachable they are kept in a local map instead, which still protects
+ * retries that reach the same instance.
+ * <p>
+ * Local entries are never copied to Redis. A claim or response recorded during an outage is
+ * invisible to {@link #putIfAbsent} on other instances, and to this instance too once Redis is back
+ * (only {@link #get} falls through to the local map). A retry routed elsewhere in that window can
+ * therefore run the action a second time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ManagedResource(objectName = "com.rentalplatform:type=IdempotencyStore")
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency::";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Map<String, LocalEntry> localEntries = new ConcurrentHashMap<>();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * Stores the value only if the key is absent; returns whether it was stored.
+     */
+    public boolean putIfAbsent(String key, String value, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, value, ttl));
+        } catch (DataAccessException e) {
+            fallingBack(e);
+            long now = System.currentTimeMillis();
+            LocalEntry entry = new LocalEntry(value, now + ttl.toMillis());
+            return localEntries.merge(key, entry, (current, candidate) -> current.isExpired(now) ? candidate : current)
+                    == entry;
+        }
+    }
+
+    /**
+     * Looks the key up in Redis and then locally, so records written during an outage are still found
+     * once Redis is back.
+     */
+    public Optional<String> get(String key) {
+        try {
+            Object value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            if (value != null) {
+                return Optional.of(value.toString());
+            }
+        } catch (DataAccessException e) {
+            fallingBack(e);
+        }
+        LocalEntry entry = localEntries.get(key);
+        return entry != null && !entry.isExpired(System.currentTimeMillis())
+                ? Optional.of(entry.value())
+                : Optional.empty();
+    }
+
+    public void put(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, value, ttl);
+        } catch (DataAccessException e) {
+            fallingBack(e);
+            localEntries.put(key, new LocalEntry(value, System.currentTimeMillis() + ttl.toMillis()));
+        }
+    }
+
+    /**
+     * Resets the expiry of an existing record; a record that has already expired stays gone.
+     */
+    public void refresh(String key, Duration ttl) {
+        try {
+            redisTemplate.expire(KEY_PREFIX + key, ttl);
+        } catch (DataAccessException e) {
+            fallingBack(e);
+        }
+        long now = System.currentTimeMillis();
+        localEntries.computeIfPresent(key, (local, entry) ->
+                entry.isExpired(now) ? null : new LocalEntry(entry.value(), now + ttl.toMillis()));
+    }
+
+    public void remove(String key) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } catch (DataAccessException e) {
+            fallingBack(e);
+        }
+        localEntries.remove(key);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        localEntries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    @ManagedAttribute(description = "Records held locally because Redis was unreachable")
+    public int getLocalEntries() {
+        return localEntries.size();
+    }
+
+    @ManagedAttribute(description = "Operations that fell back to the local store since startup")
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    private void fallingBack(DataAccessException e) {
+        if (fallbacks.getAndIncrement() % 1000 == 0) {
+            log.warn("Redis is unavailable, keeping idempotency records locally: {}", e.getMessage());
+        }
+    }
+
+    private record LocalEntry(String value, long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
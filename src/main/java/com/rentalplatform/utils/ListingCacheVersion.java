@@ -0,0 +1,47 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Version stamp that is part of every listing search cache key. Any committed listing change or
+ * booking transition bumps it, so old entries are never read again and simply expire by TTL
+ * instead of being found and deleted by key pattern.
+ */
+@RequiredArgsConstructor
+@Component
+public class ListingCacheVersion {
+
+    private static final String VERSION_KEY = "listings::version";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public String current() {
+        Object version = redisTemplate.opsForValue().get(VERSION_KEY);
+        return version != null ? version.toString() : "0";
+    }
+
+    public void bump() {
+        redisTemplate.opsForValue().increment(VERSION_KEY);
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        bump();
+    }
+}
@@ -0,0 +1,97 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupied nights of a listing, one Redis entry per month holding a bit mask in which bit
+ * {@code day - 1} is set when that night is booked. Entry keys carry a per-listing version that a
+ * committed booking transition or deletion bumps. A reader stamps its write with the version it read
+ * before querying bookings, so masks computed from a snapshot older than the last transition land
+ * under a key that is never read again and expire by TTL instead of being served as current.
+ */
+@RequiredArgsConstructor
+@Component
+public class ListingCalendarCache {
+
+    private static final String CACHE_PREFIX = "listingCalendar::";
+    private static final String VERSION_PREFIX = "listingCalendarVersion::";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheCleaner redisCacheCleaner;
+
+    @Value("${listings.calendar.ttl:PT1H}")
+    private Duration ttl;
+
+    /**
+     * Returns the listing's current version and the cached masks of the given months; months that
+     * are not cached are missing from the result. The version must be passed back to
+     * {@link #put(Long, long, Map)} for the masks loaded after this call.
+     */
+    public Snapshot get(Long listingId, List<YearMonth> months) {
+        Object current = redisTemplate.opsForValue().get(versionKey(listingId));
+        long version = current instanceof Number number ? number.longValue() : 0;
+
+        List<Object> values = redisTemplate.opsForValue().multiGet(months.stream()
+                .map(month -> key(listingId, version, month))
+                .toList());
+
+        Map<YearMonth, Integer> masks = new LinkedHashMap<>();
+        for (int i = 0; i < months.size(); i++) {
+            Object value = values != null ? values.get(i) : null;
+            if (value instanceof Number mask) {
+                masks.put(months.get(i), mask.intValue());
+            }
+        }
+        return new Snapshot(version, masks);
+    }
+
+    public void put(Long listingId, long version, Map<YearMonth, Integer> masks) {
+        masks.forEach((month, mask) -> redisTemplate.opsForValue().set(key(listingId, version, month), mask, ttl));
+    }
+
+    /**
+     * The version key outlives every entry written under the version it replaced, so when it expires
+     * and the count restarts at zero no old entry is left to be read under a reused version.
+     */
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        bump(event.listingId());
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.changeType() == ListingChangedEvent.ChangeType.DELETED) {
+            bump(event.listingId());
+            redisCacheCleaner.evictListingCalendar(event.listingId());
+        }
+    }
+
+    private void bump(Long listingId) {
+        String versionKey = versionKey(listingId);
+        redisTemplate.opsForValue().increment(versionKey);
+        redisTemplate.expire(versionKey, ttl.multipliedBy(2));
+    }
+
+    private static String key(Long listingId, long version, YearMonth month) {
+        return CACHE_PREFIX + listingId + "_v" + version + "_" + month;
+    }
+
+    private static String versionKey(Long listingId) {
+        return VERSION_PREFIX + listingId;
+    }
+
+    public record Snapshot(long version, Map<YearMonth, Integer> masks) {
+    }
+}
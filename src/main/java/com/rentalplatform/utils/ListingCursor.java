@@ -0,0 +1,38 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for listing search: the {@code createdAt} sort key of the last
+ * returned row plus its {@code id} as a tie-breaker.
+ */
+public record ListingCursor(Instant createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ListingCursor of(ListingEntity listing) {
+        return new ListingCursor(listing.getCreatedAt(), listing.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ListingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new ListingCursor(
+                    Instant.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor '%s'".formatted(cursor));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.dto.FilterListingsDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Canonical cache key for a listing filter: unset criteria are skipped, text is trimmed and the
+ * remaining criteria are written in a fixed order, so equivalent requests share one key.
+ */
+public final class ListingFilterKey {
+
+    private ListingFilterKey() {
+    }
+
+    public static String of(FilterListingsDto filter) {
+        StringJoiner canonical = new StringJoiner("&");
+        append(canonical, "query", filter.getQuery() != null ? filter.getQuery().trim().toLowerCase(Locale.ROOT) : null);
+        append(canonical, "title", filter.getTitle() != null ? filter.getTitle().trim() : null);
+        append(canonical, "address", filter.getAddress() != null ? filter.getAddress().trim() : null);
+        append(canonical, "minPrice", filter.getMinPrice());
+        append(canonical, "maxPrice", filter.getMaxPrice());
+        append(canonical, "numberOfRooms", filter.getNumberOfRooms());
+        append(canonical, "type", filter.getType());
+        append(canonical, "minAverageRating", filter.getMinAverageRating());
+        append(canonical, "availableFrom", filter.getAvailableFrom());
+        append(canonical, "checkIn", filter.getCheckIn());
+        append(canonical, "checkOut", filter.getCheckOut());
+        append(canonical, "latitude", filter.getLatitude());
+        append(canonical, "longitude", filter.getLongitude());
+        append(canonical, "radiusKm", filter.getRadiusKm());
+        append(canonical, "minLatitude", filter.getMinLatitude());
+        append(canonical, "minLongitude", filter.getMinLongitude());
+        append(canonical, "maxLatitude", filter.getMaxLatitude());
+        append(canonical, "maxLongitude", filter.getMaxLongitude());
+        append(canonical, "sort", filter.getSort());
+        return sha256(canonical.toString());
+    }
+
+    private static void append(StringJoiner canonical, String name, Object value) {
+        if (value != null && !(value instanceof String text && text.isEmpty())) {
+            canonical.add(name + "=" + value);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.rentalplatform.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Popularity is stored as {@code ln(sum of weight * e^((t - EPOCH) / TAU))} over all signals. Every
+ * score decays at the same rate, so ordering by the stored value equals ordering by the decayed
+ * popularity and nothing has to be rewritten as time passes; a new signal only touches its
+ * listing. The actual decayed value at time {@code t} is {@code e^(score - (t - EPOCH) / TAU)}.
+ */
+public final class ListingPopularity {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    public static final Duration HALF_LIFE = Duration.ofDays(14);
+    public static final double TAU_SECONDS = HALF_LIFE.toSeconds() / Math.log(2);
+
+    public static final double VIEW_WEIGHT = 1;
+    public static final double FAVORITE_WEIGHT = 5;
+    public static final double BOOKING_WEIGHT = 20;
+
+    private ListingPopularity() {
+    }
+
+    public static double logScore(double weight, Instant at) {
+        return Math.log(weight) + (at.getEpochSecond() - EPOCH.getEpochSecond()) / TAU_SECONDS;
+    }
+}
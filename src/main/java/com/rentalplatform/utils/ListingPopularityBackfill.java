@@ -0,0 +1,44 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.repository.ListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes every popularity score from favorites and confirmed bookings. Bookings have no
+ * confirmation timestamp, so their start date (capped at now) stands in for it; views are not
+ * stored and only count from the moment the tracker sees them. The per-signal scores grow with time
+ * and their exponentials overflow, so they are summed in log space around the largest one, the same
+ * way {@link ListingPopularityTracker} adds a signal to a stored score.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "listings.popularity.rebuild", havingValue = "true")
+@Component
+public class ListingPopularityBackfill implements CommandLineRunner {
+
+    private final ListingRepository listingRepository;
+
+    @Value("${listings.popularity.batch-size:1000}")
+    private long batchSize;
+
+    @Override
+    public void run(String... args) {
+        long maxId = listingRepository.findMaxId();
+        long updated = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            updated += listingRepository.recalculatePopularity(fromId, fromId + batchSize,
+                    ListingPopularity.EPOCH.getEpochSecond(),
+                    ListingPopularity.TAU_SECONDS,
+                    ListingPopularity.FAVORITE_WEIGHT,
+                    ListingPopularity.BOOKING_WEIGHT);
+        }
+
+        log.info("Popularity scores recalculated for {} listings", updated);
+    }
+}
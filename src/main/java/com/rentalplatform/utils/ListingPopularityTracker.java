@@ -0,0 +1,89 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingFavoritedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects views, favorites and confirmed bookings per listing in memory and folds them into
+ * {@code listings.popularity_score} on a fixed delay. Only listings with new signals are written;
+ * see {@link ListingPopularity} for why the rest never need to be decayed explicitly. A flush writes
+ * all its listings in one transaction; if it fails, the weights go back to the pending ones and are
+ * written by the next flush.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ListingPopularityTracker {
+
+    private static final String ADD_SIGNAL = "UPDATE listings SET popularity_score = CASE " +
+            "WHEN popularity_score <= 0 THEN ? " +
+            "ELSE GREATEST(popularity_score, ?) + LN(1 + EXP(-ABS(popularity_score - ?))) END " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Double> pendingWeights = new ConcurrentHashMap<>();
+
+    public void recordViews(Long listingId, long views) {
+        pendingWeights.merge(listingId, ListingPopularity.VIEW_WEIGHT * views, Double::sum);
+    }
+
+    @TransactionalEventListener
+    public void onListingFavorited(ListingFavoritedEvent event) {
+        pendingWeights.merge(event.listingId(), ListingPopularity.FAVORITE_WEIGHT, Double::sum);
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.status() == BookingStatus.CONFIRMED && event.previousStatus() != BookingStatus.CONFIRMED) {
+            pendingWeights.merge(event.listingId(), ListingPopularity.BOOKING_WEIGHT, Double::sum);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${listings.popularity.flush-interval:PT5M}")
+    public synchronized void flush() {
+        Instant now = Instant.now();
+        Map<Long, Double> weights = new HashMap<>();
+        List<Object[]> updates = new ArrayList<>();
+
+        for (Long listingId : pendingWeights.keySet()) {
+            Double weight = pendingWeights.remove(listingId);
+            if (weight != null && weight > 0) {
+                double signal = ListingPopularity.logScore(weight, now);
+                weights.put(listingId, weight);
+                updates.add(new Object[]{signal, signal, signal, listingId});
+            }
+        }
+
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_SIGNAL, updates));
+        } catch (RuntimeException e) {
+            log.warn("Failed to update popularity for {} listings, keeping them for the next flush: {}",
+                    updates.size(), e.getMessage());
+            weights.forEach((listingId, weight) -> pendingWeights.merge(listingId, weight, Double::sum));
+            return;
+        }
+        log.debug("Popularity updated for {} listings", updates.size());
+    }
+}
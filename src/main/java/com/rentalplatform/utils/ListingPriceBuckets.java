@@ -0,0 +1,36 @@
+package com.rentalplatform.utils;
+
+/**
+ * Fixed price ranges shown next to the search filters: {@code [0, 50)}, {@code [50, 100)} and so on,
+ * with the last bucket open-ended.
+ */
+public final class ListingPriceBuckets {
+
+    private static final double[] UPPER_BOUNDS = {50, 100, 200, 500, 1000};
+
+    public static final int COUNT = UPPER_BOUNDS.length + 1;
+
+    private ListingPriceBuckets() {
+    }
+
+    public static int indexOf(double price) {
+        for (int i = 0; i < UPPER_BOUNDS.length; i++) {
+            if (price < UPPER_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return UPPER_BOUNDS.length;
+    }
+
+    public static double upperBound(int index) {
+        return UPPER_BOUNDS[index];
+    }
+
+    public static Double from(int index) {
+        return index == 0 ? 0.0 : UPPER_BOUNDS[index - 1];
+    }
+
+    public static Double to(int index) {
+        return index < UPPER_BOUNDS.length ? UPPER_BOUNDS[index] : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.repository.ListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "listings.rating-backfill.enabled", havingValue = "true")
+@Component
+public class ListingRatingBackfill implements CommandLineRunner {
+
+    private final ListingRepository listingRepository;
+
+    @Value("${listings.rating-backfill.batch-size:1000}")
+    private long batchSize;
+
+    @Override
+    public void run(String... args) {
+        long maxId = listingRepository.findMaxId();
+        long updated = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            updated += listingRepository.recalculateRatingAggregates(fromId, fromId + batchSize);
+        }
+
+        log.info("Rating aggregates recalculated for {} listings", updated);
+    }
+}
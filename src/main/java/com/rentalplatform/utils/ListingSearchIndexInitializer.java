@@ -0,0 +1,43 @@
+package com.rentalplatform.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.rentalplatform.config.ListingGeoFunctionContributor.locationPoint;
+import static com.rentalplatform.config.ListingSearchFunctionContributor.searchVector;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ListingSearchIndexInitializer implements CommandLineRunner {
+
+    private static final String INDEX_NAME = "idx_listing_search";
+    private static final String LOCATION_INDEX_NAME = "idx_listing_location";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${listings.search-index.rebuild:false}")
+    private boolean rebuild;
+
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME + " ON listings USING gin (" +
+                searchVector("title", "address", "description") + ")");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + LOCATION_INDEX_NAME +
+                " ON listings USING gist (" + locationPoint("latitude", "longitude") + ")");
+
+        if (rebuild) {
+            rebuildIndex();
+        }
+    }
+
+    public void rebuildIndex() {
+        log.info("Rebuilding listing search index");
+        jdbcTemplate.execute("REINDEX INDEX CONCURRENTLY " + INDEX_NAME);
+        jdbcTemplate.execute("REINDEX INDEX CONCURRENTLY " + LOCATION_INDEX_NAME);
+    }
+}
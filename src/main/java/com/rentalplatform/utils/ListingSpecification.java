@@ -1,14 +1,20 @@
 package com.rentalplatform.utils;
 
+import com.rentalplatform.entity.BookingEntity;
+import com.rentalplatform.entity.BookingStatus;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.ListingType;
-import com.rentalplatform.entity.ReviewEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
+import static com.rentalplatform.config.ListingGeoFunctionContributor.EARTH_RADIUS_KM;
+
 public class ListingSpecification {
 
     public static Specification<ListingEntity> hasTitle(String title) {
@@ -25,6 +31,15 @@ public class ListingSpecification {
         return null;
     }
 
+    public static Specification<ListingEntity> matchesText(String text) {
+        if(text != null && !text.isBlank()) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(criteriaBuilder.function(
+                    "listing_text_match", Boolean.class,
+                    root.get("title"), root.get("address"), root.get("description"), criteriaBuilder.literal(text)));
+        }
+        return null;
+    }
+
     public static Specification<ListingEntity> hasMinPrice(Double minPrice) {
         if(minPrice != null) {
             return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("price"), minPrice);
@@ -61,16 +76,152 @@ public class ListingSpecification {
         return null;
     }
 
+    public static Specification<ListingEntity> isAvailableBetween(Instant checkIn, Instant checkOut) {
+        if(checkIn != null && checkOut != null) {
+            return (root, query, criteriaBuilder) -> {
+                Subquery<Long> overlappingBookings = query.subquery(Long.class);
+                Root<BookingEntity> booking = overlappingBookings.from(BookingEntity.class);
+                overlappingBookings.select(booking.get("id")).where(
+                        criteriaBuilder.equal(booking.get("listing"), root),
+                        booking.get("status").in(BookingStatus.PENDING, BookingStatus.CONFIRMED),
+                        criteriaBuilder.lessThan(booking.get("startDate"), checkOut),
+                        criteriaBuilder.greaterThan(booking.get("endDate"), checkIn));
+                return criteriaBuilder.not(criteriaBuilder.exists(overlappingBookings));
+            };
+        }
+        return null;
+    }
+
     public static Specification<ListingEntity> hasMinAverageRating(Double minAverageRating) {
-        return (root, query, criteriaBuilder) -> {
-            if(minAverageRating == null) return null;
+        if(minAverageRating != null) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                    criteriaBuilder.greaterThan(root.get("reviewCount"), 0),
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("averageRating"), minAverageRating));
+        }
+        return null;
+    }
+
+    /**
+     * A minimal longitude greater than the maximum one means the box crosses the antimeridian, so it
+     * is split into one box on each side of it, the same way as the radius box.
+     */
+    public static Specification<ListingEntity> isWithinBox(Double minLatitude, Double minLongitude,
+                                                           Double maxLatitude, Double maxLongitude) {
+        if(minLatitude != null && minLongitude != null && maxLatitude != null && maxLongitude != null) {
+            if(minLongitude > maxLongitude) {
+                return Specification.where(inBox(minLatitude, minLongitude, maxLatitude, 180.0))
+                        .or(inBox(minLatitude, -180.0, maxLatitude, maxLongitude));
+            }
+            return inBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        }
+        return null;
+    }
+
+    /**
+     * The enclosing box lets the GiST location index narrow the candidates; the exact great-circle
+     * distance is then checked only for the rows inside it. A box that crosses the antimeridian is
+     * split into one box on each side of it.
+     */
+    public static Specification<ListingEntity> isWithinRadius(Double latitude, Double longitude, Double radiusKm) {
+        if(latitude != null && longitude != null && radiusKm != null) {
+            double angularRadius = radiusKm / EARTH_RADIUS_KM;
+            double latitudeDelta = Math.toDegrees(angularRadius);
+            double minLatitude = Math.max(-90, latitude - latitudeDelta);
+            double maxLatitude = Math.min(90, latitude + latitudeDelta);
+
+            double longitudeRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+            double longitudeDelta = minLatitude <= -90 || maxLatitude >= 90 || longitudeRatio >= 1
+                    ? 180
+                    : Math.toDegrees(Math.asin(longitudeRatio));
+            double minLongitude = longitude - longitudeDelta;
+            double maxLongitude = longitude + longitudeDelta;
 
-            Subquery<Double> averageRatingSubquery = query.subquery(Double.class);
-            Root<ReviewEntity> reviewRoot = averageRatingSubquery.from(ReviewEntity.class);
+            Specification<ListingEntity> withinBox;
+            if(longitudeDelta >= 180) {
+                withinBox = isWithinBox(minLatitude, -180.0, maxLatitude, 180.0);
+            } else if(minLongitude < -180) {
+                withinBox = Specification.where(isWithinBox(minLatitude, minLongitude + 360, maxLatitude, 180.0))
+                        .or(isWithinBox(minLatitude, -180.0, maxLatitude, maxLongitude));
+            } else if(maxLongitude > 180) {
+                withinBox = Specification.where(isWithinBox(minLatitude, minLongitude, maxLatitude, 180.0))
+                        .or(isWithinBox(minLatitude, -180.0, maxLatitude, maxLongitude - 360));
+            } else {
+                withinBox = isWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+            }
 
-            averageRatingSubquery.select(criteriaBuilder.avg(reviewRoot.get("rating")))
-                    .where(criteriaBuilder.equal(reviewRoot.get("listing"), root));
-            return criteriaBuilder.greaterThanOrEqualTo(averageRatingSubquery, minAverageRating);
+            Specification<ListingEntity> withinDistance = (root, query, criteriaBuilder) ->
+                    criteriaBuilder.lessThanOrEqualTo(distanceKm(root, criteriaBuilder, latitude, longitude), radiusKm);
+
+            return Specification.where(withinBox).and(withinDistance);
+        }
+        return null;
+    }
+
+    public static Specification<ListingEntity> orderByDistance(Double latitude, Double longitude) {
+        if(latitude != null && longitude != null) {
+            return (root, query, criteriaBuilder) -> {
+                if(!Long.class.equals(query.getResultType())) {
+                    query.orderBy(
+                            criteriaBuilder.asc(distanceKm(root, criteriaBuilder, latitude, longitude)),
+                            criteriaBuilder.asc(root.get("id")));
+                }
+                return null;
+            };
+        }
+        return null;
+    }
+
+    public static Specification<ListingEntity> orderByTextRank(String text) {
+        if(text != null && !text.isBlank()) {
+            return (root, query, criteriaBuilder) -> {
+                if(!Long.class.equals(query.getResultType())) {
+                    query.orderBy(
+                            criteriaBuilder.desc(criteriaBuilder.function("listing_text_rank", Double.class,
+                                    root.get("title"), root.get("address"), root.get("description"),
+                                    criteriaBuilder.literal(text))),
+                            criteriaBuilder.desc(root.get("id")));
+                }
+                return null;
+            };
+        }
+        return null;
+    }
+
+    public static Specification<ListingEntity> orderByPopularity() {
+        return (root, query, criteriaBuilder) -> {
+            if(!Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        criteriaBuilder.desc(root.get("popularityScore")),
+                        criteriaBuilder.desc(root.get("id")));
+            }
+            return null;
         };
     }
+
+    public static Specification<ListingEntity> isAfterCursor(ListingCursor cursor) {
+        if(cursor != null) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("createdAt"), cursor.createdAt()),
+                            criteriaBuilder.lessThan(root.get("id"), cursor.id())));
+        }
+        return null;
+    }
+
+    private static Specification<ListingEntity> inBox(double minLatitude, double minLongitude,
+                                                      double maxLatitude, double maxLongitude) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(criteriaBuilder.function(
+                "listing_in_box", Boolean.class,
+                root.get("latitude"), root.get("longitude"),
+                criteriaBuilder.literal(minLatitude), criteriaBuilder.literal(minLongitude),
+                criteriaBuilder.literal(maxLatitude), criteriaBuilder.literal(maxLongitude)));
+    }
+
+    private static Expression<Double> distanceKm(Root<ListingEntity> root, CriteriaBuilder criteriaBuilder,
+                                                 Double latitude, Double longitude) {
+        return criteriaBuilder.function("listing_distance_km", Double.class,
+                root.get("latitude"), root.get("longitude"),
+                criteriaBuilder.literal(latitude), criteriaBuilder.literal(longitude));
+    }
 }
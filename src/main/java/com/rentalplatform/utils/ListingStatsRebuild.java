@@ -0,0 +1,104 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.repository.ListingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Recomputes the monthly listing statistics from bookings and reviews, one id range of listings per
+ * transaction. Booking transitions and review writes keep the rows current between runs; the rebuild
+ * fills them on first deployment, re-prices revenue after price changes and repairs any drift.
+ */
+@Slf4j
+@Component
+@ManagedResource(objectName = "com.rentalplatform:type=ListingStatsRebuild")
+public class ListingStatsRebuild {
+
+    private static final String DELETE_RANGE = "DELETE FROM listing_monthly_stats WHERE listing_id > ? AND listing_id <= ?";
+    private static final String INSERT_RANGE = "INSERT INTO listing_monthly_stats (listing_id, month_start, " +
+            "booked_nights, revenue, pending_requests, review_count, rating_sum, updated_at) " +
+            "SELECT listing_id, month_start, SUM(booked_nights), SUM(revenue), SUM(pending_requests), " +
+            "SUM(review_count), SUM(rating_sum), now() FROM (" +
+            "  SELECT b.listing_id, CAST(date_trunc('month', n.night) AS date) AS month_start, " +
+            "         COUNT(*) AS booked_nights, COUNT(*) * COALESCE(MAX(l.price), 0) AS revenue, " +
+            "         0 AS pending_requests, 0 AS review_count, 0 AS rating_sum " +
+            "  FROM bookings b JOIN listings l ON l.id = b.listing_id " +
+            "  CROSS JOIN LATERAL generate_series(date_trunc('day', b.start_date), " +
+            "                                     b.end_date - interval '1 microsecond', interval '1 day') AS n(night) " +
+            "  WHERE b.listing_id > ? AND b.listing_id <= ? AND b.status IN ('CONFIRMED', 'FINISHED') " +
+            "  GROUP BY b.listing_id, CAST(date_trunc('month', n.night) AS date) " +
+            "  UNION ALL " +
+            "  SELECT listing_id, CAST(date_trunc('month', start_date) AS date), 0, 0, COUNT(*), 0, 0 " +
+            "  FROM bookings WHERE listing_id > ? AND listing_id <= ? AND status = 'PENDING' GROUP BY 1, 2 " +
+            "  UNION ALL " +
+            "  SELECT listing_id, CAST(date_trunc('month', created_at) AS date), 0, 0, 0, COUNT(*), SUM(rating) " +
+            "  FROM reviews WHERE listing_id > ? AND listing_id <= ? AND rating IS NOT NULL GROUP BY 1, 2" +
+            ") s GROUP BY listing_id, month_start";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ListingRepository listingRepository;
+
+    @Value("${listings.analytics.batch-size:1000}")
+    private long batchSize;
+
+    private volatile Instant lastRunStartedAt;
+    private volatile long lastRunRows;
+    private volatile long lastRunDurationMillis;
+
+    public ListingStatsRebuild(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ListingRepository listingRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.listingRepository = listingRepository;
+    }
+
+    @ManagedOperation(description = "Recompute the monthly listing statistics now")
+    @Scheduled(cron = "${listings.analytics.rebuild-cron:0 45 3 * * *}")
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        lastRunStartedAt = Instant.now();
+
+        long maxId = listingRepository.findMaxId();
+        long rows = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            long rangeFrom = fromId;
+            long rangeTo = fromId + batchSize;
+            Integer inserted = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(DELETE_RANGE, rangeFrom, rangeTo);
+                return jdbcTemplate.update(INSERT_RANGE, rangeFrom, rangeTo, rangeFrom, rangeTo, rangeFrom, rangeTo);
+            });
+            rows += inserted != null ? inserted : 0;
+        }
+
+        lastRunRows = rows;
+        lastRunDurationMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        log.info("Rebuilt {} monthly listing statistics rows in {} ms", rows, lastRunDurationMillis);
+    }
+
+    @ManagedAttribute(description = "Start time of the last run")
+    public String getLastRunStartedAt() {
+        return lastRunStartedAt != null ? lastRunStartedAt.toString() : null;
+    }
+
+    @ManagedAttribute(description = "Rows written by the last run")
+    public long getLastRunRows() {
+        return lastRunRows;
+    }
+
+    @ManagedAttribute(description = "Duration of the last run in milliseconds")
+    public long getLastRunDurationMillis() {
+        return lastRunDurationMillis;
+    }
+}
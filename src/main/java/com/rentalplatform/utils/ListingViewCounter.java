@@ -0,0 +1,177 @@
+package com.rentalplatform.utils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for listing page views. A view only increments a {@link LongAdder} striped
+ * per listing; a scheduled flush drains the adders and applies all deltas as one set-based UPDATE
+ * per chunk, so the database sees at most one statement per {@value #FLUSH_CHUNK_SIZE} viewed
+ * listings per interval. Buffered counts are flushed once more when the context shuts down.
+ * <p>
+ * A flush detaches each adder from the map before summing it, so the next view starts a fresh one.
+ * A view that already held the detached adder may still land on it; detached adders are summed
+ * once more by the following flush to pick those up and are then dropped.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ManagedResource(objectName = "com.rentalplatform:type=ListingViewCounter")
+public class ListingViewCounter {
+
+    private static final int FLUSH_CHUNK_SIZE = 10_000;
+    private static final String ADD_VIEWS = "UPDATE listings l SET view_count = l.view_count + v.views " +
+            "FROM (SELECT UNNEST(?::bigint[]) AS id, UNNEST(?::bigint[]) AS views) v WHERE l.id = v.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ListingPopularityTracker listingPopularityTracker;
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private Map<Long, LongAdder> detachedViews = new HashMap<>();
+
+    private final AtomicLong totalFlushedViews = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile Instant lastFlushAt = Instant.now();
+    private volatile int lastFlushListings;
+    private volatile long lastFlushViews;
+    private volatile long lastFlushDurationMillis;
+
+    public void recordView(Long listingId) {
+        pendingViews.computeIfAbsent(listingId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${listings.views.flush-interval:PT30S}")
+    public synchronized void flush() {
+        long startedAt = System.nanoTime();
+        Map<Long, Long> viewsById = new LinkedHashMap<>();
+        detachedViews.forEach((listingId, adder) -> addViews(viewsById, listingId, adder.sumThenReset()));
+
+        Map<Long, LongAdder> detached = new HashMap<>();
+        pendingViews.forEach((listingId, adder) -> {
+            if (pendingViews.remove(listingId, adder)) {
+                detached.put(listingId, adder);
+                addViews(viewsById, listingId, adder.sumThenReset());
+            }
+        });
+        detachedViews = detached;
+
+        List<Long> listingIds = new ArrayList<>(viewsById.keySet());
+        List<Long> counts = new ArrayList<>(viewsById.values());
+
+        long views = 0;
+        for (int from = 0; from < listingIds.size(); from += FLUSH_CHUNK_SIZE) {
+            int to = Math.min(from + FLUSH_CHUNK_SIZE, listingIds.size());
+            List<Long> chunkIds = listingIds.subList(from, to);
+            List<Long> chunkCounts = counts.subList(from, to);
+            try {
+                writeChunk(chunkIds, chunkCounts);
+            } catch (RuntimeException e) {
+                failedFlushes.incrementAndGet();
+                log.warn("Failed to flush views for {} listings, keeping them for the next flush: {}",
+                        chunkIds.size(), e.getMessage());
+                for (int i = 0; i < chunkIds.size(); i++) {
+                    pendingViews.computeIfAbsent(chunkIds.get(i), id -> new LongAdder()).add(chunkCounts.get(i));
+                }
+                continue;
+            }
+            for (int i = 0; i < chunkIds.size(); i++) {
+                listingPopularityTracker.recordViews(chunkIds.get(i), chunkCounts.get(i));
+                views += chunkCounts.get(i);
+            }
+        }
+
+        totalFlushedViews.addAndGet(views);
+        lastFlushListings = listingIds.size();
+        lastFlushViews = views;
+        lastFlushDurationMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        lastFlushAt = Instant.now();
+
+        if (views > 0) {
+            log.debug("Flushed {} views for {} listings in {} ms", views, listingIds.size(), lastFlushDurationMillis);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        log.info("Flushed buffered listing views on shutdown, {} listings left pending", getPendingListings());
+    }
+
+    @ManagedOperation(description = "Flush buffered view counts now")
+    public void flushNow() {
+        flush();
+    }
+
+    @ManagedAttribute(description = "Listings with buffered views")
+    public int getPendingListings() {
+        return (int) pendingViews.values().stream().filter(adder -> adder.sum() > 0).count();
+    }
+
+    @ManagedAttribute(description = "Views buffered since the last flush")
+    public long getPendingViews() {
+        return pendingViews.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @ManagedAttribute(description = "Milliseconds since the last completed flush")
+    public long getFlushLagMillis() {
+        return Duration.between(lastFlushAt, Instant.now()).toMillis();
+    }
+
+    @ManagedAttribute(description = "Listings written by the last flush")
+    public int getLastFlushListings() {
+        return lastFlushListings;
+    }
+
+    @ManagedAttribute(description = "Views written by the last flush")
+    public long getLastFlushViews() {
+        return lastFlushViews;
+    }
+
+    @ManagedAttribute(description = "Duration of the last flush in milliseconds")
+    public long getLastFlushDurationMillis() {
+        return lastFlushDurationMillis;
+    }
+
+    @ManagedAttribute(description = "Views written since startup")
+    public long getTotalFlushedViews() {
+        return totalFlushedViews.get();
+    }
+
+    @ManagedAttribute(description = "Flush chunks that failed and were retried later")
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    private void writeChunk(List<Long> listingIds, List<Long> counts) {
+        jdbcTemplate.update(ADD_VIEWS, statement -> {
+            Array ids = statement.getConnection().createArrayOf("bigint", listingIds.toArray());
+            Array views = statement.getConnection().createArrayOf("bigint", counts.toArray());
+            statement.setArray(1, ids);
+            statement.setArray(2, views);
+        });
+    }
+
+    private static void addViews(Map<Long, Long> viewsById, Long listingId, long views) {
+        if (views > 0) {
+            viewsById.merge(listingId, views, Long::sum);
+        }
+    }
+}
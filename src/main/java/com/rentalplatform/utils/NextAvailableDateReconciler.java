@@ -0,0 +1,71 @@
+package com.rentalplatform.utils;
+
+import com.rentalplatform.repository.ListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Next available dates are maintained incrementally as bookings are confirmed, cancelled and
+ * finished. Concurrent transitions on one listing can still leave a date behind, so this job walks
+ * all listings in id ranges and corrects the ones that drifted.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ManagedResource(objectName = "com.rentalplatform:type=NextAvailableDateReconciler")
+public class NextAvailableDateReconciler {
+
+    private final ListingRepository listingRepository;
+
+    @Value("${listings.next-available-date.batch-size:1000}")
+    private long batchSize;
+
+    private volatile long lastRunCorrected;
+    private volatile long lastRunDurationMillis;
+    private volatile Instant lastRunStartedAt;
+
+    @ManagedOperation(description = "Correct drifted next available dates now")
+    @Scheduled(cron = "${listings.next-available-date.reconcile-cron:0 15 3 * * *}")
+    public synchronized void reconcile() {
+        long startedAt = System.nanoTime();
+        lastRunStartedAt = Instant.now();
+
+        long maxId = listingRepository.findMaxId();
+        long corrected = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            corrected += listingRepository.reconcileNextAvailableDates(fromId, fromId + batchSize, Instant.now());
+        }
+
+        lastRunCorrected = corrected;
+        lastRunDurationMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        if (corrected > 0) {
+            log.warn("Corrected the next available date of {} listings", corrected);
+        } else {
+            log.info("Next available dates are consistent");
+        }
+    }
+
+    @ManagedAttribute(description = "Start time of the last run")
+    public String getLastRunStartedAt() {
+        return lastRunStartedAt != null ? lastRunStartedAt.toString() : null;
+    }
+
+    @ManagedAttribute(description = "Listings corrected by the last run")
+    public long getLastRunCorrected() {
+        return lastRunCorrected;
+    }
+
+    @ManagedAttribute(description = "Duration of the last run in milliseconds")
+    public long getLastRunDurationMillis() {
+        return lastRunDurationMillis;
+    }
+}
@@ -0,0 +1,309 @@
+package com.rentalplatform.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.controller.MessageWebSocketController;
+import com.rentalplatform.controller.NotificationWebSocketController;
+import com.rentalplatform.entity.OutboxEventType;
+import com.rentalplatform.event.OutboxEventAppendedEvent;
+import com.rentalplatform.repository.OutboxEventRepository;
+import com.rentalplatform.service.EmailService;
+import com.rentalplatform.service.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Carries out the side effects recorded by {@link OutboxService}. A drain is kicked off after every
+ * commit that appended events and, as a fallback, on a fixed delay. Drains run on their own
+ * {@code outboxRelayExecutor} thread, never on the scheduler, so slow deliveries cannot delay other
+ * scheduled jobs.
+ * <p>
+ * Events are claimed in batches by pushing their {@code available_at} forward by a lease, so a relay
+ * that dies mid-batch only delays them. An event is not claimed while an earlier event of the same
+ * aggregate is leased or waiting for a retry, and once an event fails the rest of its aggregate in the
+ * batch is released untouched, which keeps each aggregate in order. Claims are serialized with an
+ * advisory lock, so concurrent drains, on this instance or others, never split an aggregate.
+ */
+@Slf4j
+@Component
+@ManagedResource(objectName = "com.rentalplatform:type=OutboxRelay")
+public class OutboxRelay {
+
+    private static final long CLAIM_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final String CLAIM = "UPDATE outbox_events SET attempts = attempts + 1, available_at = ? " +
+            "WHERE id IN (SELECT o.id FROM outbox_events o WHERE o.failed_at IS NULL AND o.available_at <= ? " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p WHERE p.aggregate_type = o.aggregate_type " +
+            "AND p.aggregate_id = o.aggregate_id AND p.id < o.id AND p.failed_at IS NULL AND p.available_at > ?) " +
+            "ORDER BY o.id LIMIT ?) " +
+            "RETURNING id, aggregate_type, aggregate_id, type, payload, attempts, created_at";
+    private static final String DELETE_RELAYED = "DELETE FROM outbox_events WHERE id = ANY (CAST(? AS bigint[]))";
+    private static final String RETRY_LATER = "UPDATE outbox_events SET available_at = ?, last_error = ? WHERE id = ?";
+    private static final String GIVE_UP = "UPDATE outbox_events SET failed_at = ?, last_error = ? WHERE id = ?";
+    private static final String RELEASE = "UPDATE outbox_events SET available_at = ?, attempts = attempts - 1 " +
+            "WHERE id = ANY (CAST(? AS bigint[]))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final EmailService emailService;
+    private final RedisCacheCleaner redisCacheCleaner;
+    private final NotificationWebSocketController notificationWebSocketController;
+    private final MessageWebSocketController messageWebSocketController;
+    private final Executor relayExecutor;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.max-backoff:PT10M}")
+    private Duration maxBackoff;
+
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong givenUp = new AtomicLong();
+    private volatile long lastRelayLagMillis;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                       EmailService emailService, RedisCacheCleaner redisCacheCleaner,
+                       NotificationWebSocketController notificationWebSocketController,
+                       MessageWebSocketController messageWebSocketController,
+                       @Qualifier("outboxRelayExecutor") Executor relayExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.emailService = emailService;
+        this.redisCacheCleaner = redisCacheCleaner;
+        this.notificationWebSocketController = notificationWebSocketController;
+        this.messageWebSocketController = messageWebSocketController;
+        this.relayExecutor = relayExecutor;
+    }
+
+    @TransactionalEventListener
+    public void onOutboxEventAppended(OutboxEventAppendedEvent event) {
+        requestDrain();
+    }
+
+    /**
+     * Queues at most one drain at a time, so a burst of commits costs a single task on the relay
+     * executor. If a drain is already queued it will pick up the new events.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT5S}")
+    public void requestDrain() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            relayExecutor.execute(() -> {
+                drainQueued.set(false);
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    log.error("Outbox drain failed", e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            drainQueued.set(false);
+        }
+    }
+
+    @ManagedOperation(description = "Relay all events that are due now")
+    public void drain() {
+        List<OutboxRecord> batch;
+        do {
+            batch = claim();
+            relay(batch);
+        } while (batch.size() == batchSize);
+    }
+
+    @ManagedAttribute(description = "Events waiting to be relayed")
+    public long getPendingEvents() {
+        return outboxEventRepository.countByFailedAtIsNull();
+    }
+
+    @ManagedAttribute(description = "Events that exhausted their retries")
+    public long getFailedEvents() {
+        return outboxEventRepository.countByFailedAtIsNotNull();
+    }
+
+    @ManagedAttribute(description = "Events relayed since startup")
+    public long getRelayedEvents() {
+        return relayed.get();
+    }
+
+    @ManagedAttribute(description = "Failed relay attempts since startup")
+    public long getFailedAttempts() {
+        return failedAttempts.get();
+    }
+
+    @ManagedAttribute(description = "Events given up on since startup")
+    public long getGivenUpEvents() {
+        return givenUp.get();
+    }
+
+    @ManagedAttribute(description = "Time from commit to relay of the last event in milliseconds")
+    public long getLastRelayLagMillis() {
+        return lastRelayLagMillis;
+    }
+
+    private List<OutboxRecord> claim() {
+        Instant now = Instant.now();
+        List<OutboxRecord> claimed = transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", resultSet -> null, CLAIM_LOCK_KEY);
+            return jdbcTemplate.query(CLAIM,
+                    (resultSet, rowNum) -> new OutboxRecord(
+                            resultSet.getLong("id"),
+                            resultSet.getString("aggregate_type"),
+                            resultSet.getObject("aggregate_id", Long.class),
+                            OutboxEventType.valueOf(resultSet.getString("type")),
+                            resultSet.getString("payload"),
+                            resultSet.getInt("attempts"),
+                            resultSet.getTimestamp("created_at").toInstant()),
+                    Timestamp.from(now.plus(lease)), Timestamp.from(now), Timestamp.from(now), batchSize);
+        });
+        if (claimed == null) {
+            return List.of();
+        }
+        return claimed.stream()
+                .sorted(Comparator.comparing(OutboxRecord::id))
+                .toList();
+    }
+
+    private void relay(List<OutboxRecord> batch) {
+        List<Long> done = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        Set<AggregateKey> blocked = new HashSet<>();
+
+        for (OutboxRecord record : batch) {
+            AggregateKey aggregate = record.aggregateKey();
+            if (aggregate != null && blocked.contains(aggregate)) {
+                released.add(record.id());
+                continue;
+            }
+            try {
+                dispatch(record);
+                done.add(record.id());
+                lastRelayLagMillis = Duration.between(record.createdAt(), Instant.now()).toMillis();
+            } catch (Exception e) {
+                failedAttempts.incrementAndGet();
+                if (aggregate != null) {
+                    blocked.add(aggregate);
+                }
+                reschedule(record, e);
+            }
+        }
+
+        if (!done.isEmpty() || !released.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!done.isEmpty()) {
+                    jdbcTemplate.update(DELETE_RELAYED, joinIds(done));
+                }
+                if (!released.isEmpty()) {
+                    jdbcTemplate.update(RELEASE, Timestamp.from(Instant.now()), joinIds(released));
+                }
+            });
+            relayed.addAndGet(done.size());
+        }
+    }
+
+    private void dispatch(OutboxRecord record) throws Exception {
+        switch (record.type()) {
+            case EMAIL -> {
+                OutboxService.Email email = objectMapper.readValue(record.payload(), OutboxService.Email.class);
+                emailService.deliver(EmailService.message(email.to(), email.subject(), email.text()));
+            }
+            case NOTIFICATION_PUSH -> {
+                OutboxService.NotificationPush push = objectMapper.readValue(record.payload(),
+                        OutboxService.NotificationPush.class);
+                Set<String> usernames = new LinkedHashSet<>(push.usernames());
+                redisCacheCleaner.evictNotificationCachesByUsernames(usernames);
+                usernames.forEach(username -> notificationWebSocketController.sendNotification(username,
+                        push.message()));
+            }
+            case MESSAGE_PUSH -> {
+                OutboxService.MessagePush push = objectMapper.readValue(record.payload(),
+                        OutboxService.MessagePush.class);
+                messageWebSocketController.sendNotification(push.receiverUsername(), push.content());
+            }
+            case BOOKING_CACHE_EVICTION -> {
+                OutboxService.BookingCacheEviction eviction = objectMapper.readValue(record.payload(),
+                        OutboxService.BookingCacheEviction.class);
+                redisCacheCleaner.evictBookingCacheById(eviction.bookingId());
+                redisCacheCleaner.evictBookingCacheForUser(eviction.tenantUsername());
+                redisCacheCleaner.evictBookingCacheForLandlord(eviction.landlordUsername());
+            }
+            case REVIEW_CACHE_EVICTION -> {
+                OutboxService.ReviewCacheEviction eviction = objectMapper.readValue(record.payload(),
+                        OutboxService.ReviewCacheEviction.class);
+                redisCacheCleaner.evictReviewCacheByListingId(eviction.listingId());
+            }
+        }
+    }
+
+    private void reschedule(OutboxRecord record, Exception e) {
+        String error = Objects.requireNonNullElse(e.getMessage(), e.getClass().getName());
+        Instant now = Instant.now();
+        if (record.attempts() >= maxAttempts) {
+            givenUp.incrementAndGet();
+            log.error("Giving up on outbox event {} ({} {}) after {} attempts", record.id(), record.type(),
+                    record.aggregateId(), record.attempts(), e);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(GIVE_UP, Timestamp.from(now), error, record.id()));
+        } else {
+            Duration backoff = Duration.ofSeconds(1L << Math.min(record.attempts(), 20));
+            Instant retryAt = now.plus(backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff);
+            log.warn("Outbox event {} ({}) failed, retrying at {}: {}", record.id(), record.type(), retryAt, error);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(RETRY_LATER, Timestamp.from(retryAt), error, record.id()));
+        }
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private record OutboxRecord(Long id, String aggregateType, Long aggregateId, OutboxEventType type,
+                                String payload, int attempts, Instant createdAt) {
+
+        AggregateKey aggregateKey() {
+            return aggregateId != null ? new AggregateKey(aggregateType, aggregateId) : null;
+        }
+    }
+
+    private record AggregateKey(String type, Long id) {
+    }
+}
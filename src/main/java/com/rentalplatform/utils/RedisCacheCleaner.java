@@ -2,12 +2,15 @@ package com.rentalplatform.utils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
@@ -31,6 +34,10 @@ public class RedisCacheCleaner {
         evictCacheByPattern("bookingsForLandlord::" + landlordUsername + "_*");
     }
 
+    public void evictListingCalendar(Long listingId) {
+        evictCacheByPattern("listingCalendar::" + listingId + "_*");
+    }
+
     public void evictNotificationCacheByUsername(String username) {
         evictCacheByPattern("notifications::" + username + "_*");
     }
@@ -39,16 +46,46 @@ public class RedisCacheCleaner {
         evictCacheByPattern("unreadNotifications::" + username + "_*");
     }
 
-    private void evictCacheByPattern(String pattern) {
-        RedisConnection connection = redisTemplate.getConnectionFactory().getConnection();
+    public void evictNotificationCachesByUsernames(Set<String> usernames) {
+        evictPagedCacheForUsernames("notifications::", usernames);
+        evictPagedCacheForUsernames("unreadNotifications::", usernames);
+    }
+
+    /**
+     * Removes the {@code <cache>::<username>_<page>_<size>} entries of many users in a single scan.
+     */
+    private void evictPagedCacheForUsernames(String cachePrefix, Set<String> usernames) {
+        List<String> keysToDelete = new ArrayList<>();
+
+        try (Cursor<String> cursor = redisTemplate.scan(
+                ScanOptions.scanOptions().match(cachePrefix + "*_*_*").count(1000).build())) {
+
+            while (cursor.hasNext()) {
+                String redisKey = cursor.next();
+                String cacheKey = redisKey.substring(cachePrefix.length());
+                int sizeSeparator = cacheKey.lastIndexOf('_');
+                int pageSeparator = cacheKey.lastIndexOf('_', sizeSeparator - 1);
+                if (pageSeparator > 0 && usernames.contains(cacheKey.substring(0, pageSeparator))) {
+                    keysToDelete.add(redisKey);
+                }
+            }
 
-        try (Cursor<byte[]> cursor = connection.scan(
+        } catch (Exception e) {
+            log.error("Error while scanning Redis keys");
+            throw new RuntimeException("Error while scanning Redis keys", e);
+        }
+
+        if (!keysToDelete.isEmpty()) {
+            redisTemplate.delete(keysToDelete);
+        }
+    }
+
+    private void evictCacheByPattern(String pattern) {
+        try (Cursor<String> cursor = redisTemplate.scan(
                 ScanOptions.scanOptions().match(pattern).count(1000).build())) {
 
             while (cursor.hasNext()) {
-                byte[] key = cursor.next();
-                String redisKey = new String(key);
-                redisTemplate.delete(redisKey);
+                redisTemplate.delete(cursor.next());
             }
 
         } catch (Exception e) {
@@ -0,0 +1,116 @@
+package com.rentalplatform.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical hashed timer wheel. Level 0 has one slot per tick; every further level covers a whole
+ * rotation of the level below in each slot. Timers are filed on the lowest level whose rotation still
+ * reaches them and are cascaded down as the wheel turns, so scheduling and expiry are constant time
+ * regardless of how many timers are pending. Not thread-safe.
+ */
+public final class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] slotTicks;
+    private final List<List<Timer<T>>[]> levels = new ArrayList<>();
+    private final List<T> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.slotTicks = new long[levelCount + 1];
+        this.currentTick = startMillis / tickMillis;
+
+        long span = 1;
+        for (int level = 0; level <= levelCount; level++) {
+            slotTicks[level] = span;
+            span *= wheelSize;
+        }
+        for (int level = 0; level < levelCount; level++) {
+            List<Timer<T>>[] slots = new List[wheelSize];
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[slot] = new ArrayList<>();
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Due times are rounded up to the next tick, so a task never fires before it is due. Returns
+     * {@code false} when the due time lies beyond the last level's rotation; such timers have to be
+     * scheduled again once the wheel has turned closer to them.
+     */
+    public boolean schedule(long dueMillis, T task) {
+        if (!place(new Timer<>(Math.floorDiv(dueMillis + tickMillis - 1, tickMillis), task))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    public long horizonMillis() {
+        return slotTicks[levels.size()] * tickMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Turns the wheel up to {@code nowMillis} and returns every task that became due, in due order per tick.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    List<Timer<T>> slot = slotOf(level, currentTick);
+                    List<Timer<T>> cascading = new ArrayList<>(slot);
+                    slot.clear();
+                    cascading.forEach(this::place);
+                }
+            }
+            List<Timer<T>> slot = slotOf(0, currentTick);
+            for (Timer<T> timer : slot) {
+                expired.add(timer.task());
+            }
+            slot.clear();
+        }
+        expired.addAll(overdue);
+        overdue.clear();
+
+        size -= expired.size();
+        return expired;
+    }
+
+    private boolean place(Timer<T> timer) {
+        long delta = timer.dueTick() - currentTick;
+        if (delta <= 0) {
+            overdue.add(timer.task());
+            return true;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            if (delta < slotTicks[level + 1]) {
+                slotOf(level, timer.dueTick()).add(timer);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Timer<T>> slotOf(int level, long tick) {
+        return levels.get(level)[(int) ((tick / slotTicks[level]) % wheelSize)];
+    }
+
+    private record Timer<T>(long dueTick, T task) {
+    }
+}
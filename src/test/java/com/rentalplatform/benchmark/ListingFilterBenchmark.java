@@ -0,0 +1,242 @@
+package com.rentalplatform.benchmark;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingFilterView;
+import com.rentalplatform.search.ListingAvailabilityIndex;
+import com.rentalplatform.search.ListingFilterEngine;
+import com.rentalplatform.utils.ListingSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares three ways to serve the structured all-listings filters: the {@code ListingSpecification}
+ * path through Hibernate as {@code ListingService} runs it (entity page + count), the same filter as
+ * hand-written SQL, which shows the ORM's share, and the in-memory filter engine (bitmap query + fetch
+ * of the page ids). The schema is generated from the entities, so the SQL runs against the real
+ * indexes. Run with {@code main}; needs Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ListingFilterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String SQL_PAGE = "SELECT id, title, price, address, number_of_rooms, type FROM listings " +
+            "WHERE type = ? AND number_of_rooms = ? AND price BETWEEN ? AND ? " +
+            "AND review_count > 0 AND average_rating >= ? LIMIT ? OFFSET ?";
+    private static final String SQL_COUNT = "SELECT count(id) FROM listings " +
+            "WHERE type = ? AND number_of_rooms = ? AND price BETWEEN ? AND ? " +
+            "AND review_count > 0 AND average_rating >= ?";
+    private static final String SQL_BY_IDS = "SELECT id, title, price, address, number_of_rooms, type FROM listings " +
+            "WHERE id = ANY(?)";
+
+    @Param({"100000", "1000000"})
+    private int listings;
+
+    @Param({"0", "50"})
+    private int page;
+
+    private GenericContainer<?> postgres;
+    private Connection connection;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private SimpleJpaRepository<ListingEntity, Long> listingJpaRepository;
+    private Specification<ListingEntity> specification;
+    private ListingFilterEngine engine;
+    private FilterListingsDto filter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new GenericContainer<>(DockerImageName.parse("postgres:16"))
+                .withEnv("POSTGRES_PASSWORD", "postgres")
+                .withExposedPorts(5432);
+        postgres.start();
+
+        String url = "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/postgres";
+        connection = DriverManager.getConnection(url, "postgres", "postgres");
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource(url, "postgres", "postgres"));
+        factoryBean.setPackagesToScan("com.rentalplatform.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        listingJpaRepository = new SimpleJpaRepository<>(ListingEntity.class, entityManager);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO listings (title, description, price, address, number_of_rooms, type, " +
+                    "average_rating, review_count, created_at, next_available_date) " +
+                    "SELECT 'Listing ' || g, 'Description ' || g, 20 + (g % 480), 'Street ' || (g % 1000), " +
+                    "1 + (g % 6), (ARRAY['HOUSE','APARTMENT','ROOM'])[1 + g % 3], (g % 50) / 10.0, g % 7, " +
+                    "now() - (g || ' minutes')::interval, now() + ((g % 90) || ' days')::interval " +
+                    "FROM generate_series(1, " + listings + ") g");
+            statement.execute("ANALYZE listings");
+        }
+
+        ListingRepository listingRepository = mock(ListingRepository.class);
+        when(listingRepository.findFilterViewsAfterId(eq(0L), any(Pageable.class))).thenReturn(loadFilterViews());
+        engine = new ListingFilterEngine(listingRepository, mock(ListingAvailabilityIndex.class));
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        engine.loadAll();
+
+        filter = FilterListingsDto.builder()
+                .type(ListingType.APARTMENT)
+                .numberOfRooms(2)
+                .minPrice(100.0)
+                .maxPrice(300.0)
+                .minAverageRating(2.0)
+                .build();
+        specification = Specification
+                .where(ListingSpecification.hasMinPrice(filter.getMinPrice()))
+                .and(ListingSpecification.hasMaxPrice(filter.getMaxPrice()))
+                .and(ListingSpecification.hasNumberOfRooms(filter.getNumberOfRooms()))
+                .and(ListingSpecification.hasType(filter.getType()))
+                .and(ListingSpecification.hasMinAverageRating(filter.getMinAverageRating()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        entityManager.close();
+        entityManagerFactory.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void specification(Blackhole blackhole) {
+        Page<ListingEntity> result = listingJpaRepository.findAll(specification, PageRequest.of(page, PAGE_SIZE));
+        blackhole.consume(result.getTotalElements());
+        result.forEach(listing -> blackhole.consume(listing.getId()));
+        entityManager.clear();
+    }
+
+    @Benchmark
+    public void handWrittenSql(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_PAGE)) {
+            bindFilter(statement);
+            statement.setInt(6, PAGE_SIZE);
+            statement.setInt(7, page * PAGE_SIZE);
+            consume(statement, blackhole);
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SQL_COUNT)) {
+            bindFilter(statement);
+            consume(statement, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void filterEngine(Blackhole blackhole) throws SQLException {
+        Page<Long> ids = engine.query(filter, page, PAGE_SIZE);
+        blackhole.consume(ids.getTotalElements());
+
+        try (PreparedStatement statement = connection.prepareStatement(SQL_BY_IDS)) {
+            Array idArray = connection.createArrayOf("bigint", ids.getContent().toArray());
+            statement.setArray(1, idArray);
+            consume(statement, blackhole);
+        }
+    }
+
+    private void bindFilter(PreparedStatement statement) throws SQLException {
+        statement.setString(1, filter.getType().name());
+        statement.setInt(2, filter.getNumberOfRooms());
+        statement.setDouble(3, filter.getMinPrice());
+        statement.setDouble(4, filter.getMaxPrice());
+        statement.setDouble(5, filter.getMinAverageRating());
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    private List<ListingFilterView> loadFilterViews() throws SQLException {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        List<ListingFilterView> views = new ArrayList<>(listings);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id, price, number_of_rooms, type, average_rating, " +
+                     "review_count, next_available_date FROM listings ORDER BY id")) {
+            while (resultSet.next()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", resultSet.getLong("id"));
+                row.put("price", resultSet.getDouble("price"));
+                row.put("numberOfRooms", resultSet.getInt("number_of_rooms"));
+                row.put("type", ListingType.valueOf(resultSet.getString("type")));
+                row.put("averageRating", resultSet.getDouble("average_rating"));
+                row.put("reviewCount", resultSet.getInt("review_count"));
+                Timestamp nextAvailableDate = resultSet.getTimestamp("next_available_date");
+                row.put("nextAvailableDate", nextAvailableDate != null ? nextAvailableDate.toInstant() : null);
+                views.add(projectionFactory.createProjection(ListingFilterView.class, row));
+            }
+        }
+        return views;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListingFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.rentalplatform.cahingTesting;
+
+import com.rentalplatform.dto.creationDto.CreationBookingDto;
+import com.rentalplatform.entity.BookingEntity;
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.NotificationRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.service.BookingService;
+import com.rentalplatform.service.EmailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookingConcurrencyIT extends AbstractRedisTest {
+
+    private static final int PARALLEL_REQUESTS = 300;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private ListingEntity listing;
+    private final List<UserEntity> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        UserEntity landlord = userRepository.save(UserEntity.builder()
+                .username("concurrencyLandlord")
+                .email("concurrencyLandlord@gmail.com")
+                .password("123456")
+                .build());
+        users.add(landlord);
+
+        listing = listingRepository.save(ListingEntity.builder()
+                .title("Concurrency Listing")
+                .landlord(landlord)
+                .build());
+
+        for (int i = 0; i < PARALLEL_REQUESTS; i++) {
+            users.add(userRepository.save(UserEntity.builder()
+                    .username("concurrencyTenant" + i)
+                    .email("concurrencyTenant" + i + "@gmail.com")
+                    .password("123456")
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookingsOfListing());
+        listingRepository.deleteById(listing.getId());
+        notificationRepository.deleteAll(notificationRepository.findAll().stream()
+                .filter(notification -> users.contains(notification.getUser()))
+                .toList());
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    @Test
+    void testCreateBooking_WhenAllRequestsWantSameDates_ShouldAcceptExactlyOne() throws Exception {
+        LocalDate startDate = LocalDate.now().plusDays(3);
+
+        int accepted = bookInParallel(i -> startDate, i -> startDate.plusDays(4));
+
+        assertThat(accepted).isEqualTo(1);
+        assertThat(bookingsOfListing()).hasSize(1);
+    }
+
+    @Test
+    void testCreateBooking_WhenRequestsOverlapRandomly_ShouldNeverDoubleBook() throws Exception {
+        Random random = new Random(42);
+        int[] offsets = random.ints(PARALLEL_REQUESTS, 1, 60).toArray();
+        int[] lengths = random.ints(PARALLEL_REQUESTS, 1, 6).toArray();
+
+        int accepted = bookInParallel(
+                i -> LocalDate.now().plusDays(offsets[i]),
+                i -> LocalDate.now().plusDays(offsets[i] + lengths[i]));
+
+        List<BookingEntity> bookings = bookingsOfListing();
+        bookings.sort(Comparator.comparing(BookingEntity::getStartDate));
+
+        assertThat(bookings).hasSize(accepted);
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStartDate()).isAfterOrEqualTo(bookings.get(i - 1).getEndDate());
+        }
+    }
+
+    private int bookInParallel(DateForRequest startDate, DateForRequest endDate) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < PARALLEL_REQUESTS; i++) {
+            int request = i;
+            CreationBookingDto dto = CreationBookingDto.builder()
+                    .listingId(listing.getId())
+                    .startDate(startDate.of(request))
+                    .endDate(endDate.of(request))
+                    .build();
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.createBooking(dto, "concurrencyTenant" + request);
+                    return true;
+                } catch (BadRequestException e) {
+                    return false;
+                }
+            }));
+        }
+
+        start.countDown();
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(2, TimeUnit.MINUTES)) {
+                accepted++;
+            }
+        }
+        executor.shutdown();
+        return accepted;
+    }
+
+    private List<BookingEntity> bookingsOfListing() {
+        return new ArrayList<>(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getListing().getId().equals(listing.getId()))
+                .filter(booking -> booking.getStatus() == BookingStatus.PENDING
+                        || booking.getStatus() == BookingStatus.CONFIRMED)
+                .toList());
+    }
+
+    @FunctionalInterface
+    private interface DateForRequest {
+        LocalDate of(int request);
+    }
+}
@@ -11,6 +11,7 @@ import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
 import com.rentalplatform.repository.UserRepository;
 import com.rentalplatform.service.BookingService;
+import com.rentalplatform.utils.OutboxRelay;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,9 @@ public class BookingServiceIT extends AbstractRedisTest {
     @Autowired
     private ListingRepository listingRepository;
 
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     @Autowired
     private StringRedisTemplate redisTemplate;
 
@@ -141,11 +145,12 @@ public class BookingServiceIT extends AbstractRedisTest {
 
         CreationBookingDto dto = CreationBookingDto.builder()
                 .listingId(listingId)
-                .startDate(LocalDate.now().plusDays(2))
-                .endDate(LocalDate.now().plusDays(5))
+                .startDate(LocalDate.now().plusDays(6))
+                .endDate(LocalDate.now().plusDays(8))
                 .build();
 
         bookingService.createBooking(dto, username);
+        outboxRelay.drain();
 
         assertThat(redisOps.get(userCacheKey)).isNull();
         assertThat(redisOps.get(landlordCacheKey)).isNull();
@@ -200,6 +205,7 @@ public class BookingServiceIT extends AbstractRedisTest {
         assertThat(redisOps.get(bookingsCacheById)).isNotNull();
 
         bookingAction.accept(bookingId);
+        outboxRelay.drain();
 
         assertThat(redisOps.get(userCacheKey)).isNull();
         assertThat(redisOps.get(landlordCacheKey)).isNull();
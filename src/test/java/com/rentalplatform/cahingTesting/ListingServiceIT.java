@@ -0,0 +1,174 @@
+package com.rentalplatform.cahingTesting;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.ListingSummaryDto;
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.service.ListingService;
+import com.rentalplatform.utils.ListingCacheVersion;
+import com.rentalplatform.utils.ListingFilterKey;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListingServiceIT extends AbstractRedisTest {
+
+    @Autowired
+    private ListingService listingService;
+
+    @Autowired
+    private ListingCacheVersion listingCacheVersion;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ValueOperations<String, String> redisOps;
+
+    @BeforeEach
+    void setUp() {
+        redisOps = redisTemplate.opsForValue();
+    }
+
+    @Test
+    @Transactional
+    void testGetAllListings_ShouldCacheResultUnderCurrentVersion() {
+        FilterListingsDto filter = FilterListingsDto.builder().type(ListingType.APARTMENT).build();
+        String cacheKey = "listingSearch::" + listingCacheVersion.current() + "_" + ListingFilterKey.of(filter) + "_0_10";
+
+        listingService.getAllListings(filter, 0, 10);
+
+        assertThat(redisOps.get(cacheKey)).isNotNull();
+    }
+
+    @Test
+    @Transactional
+    void testGetAllListings_AfterVersionBump_ShouldNotReadPreviousEntry() {
+        FilterListingsDto filter = FilterListingsDto.builder().type(ListingType.HOUSE).build();
+        String previousVersion = listingCacheVersion.current();
+
+        listingService.getAllListings(filter, 0, 10);
+        listingCacheVersion.bump();
+
+        String cacheKey = "listingSearch::" + listingCacheVersion.current() + "_" + ListingFilterKey.of(filter) + "_0_10";
+        assertThat(listingCacheVersion.current()).isNotEqualTo(previousVersion);
+        assertThat(redisOps.get(cacheKey)).isNull();
+
+        listingService.getAllListings(filter, 0, 10);
+
+        assertThat(redisOps.get(cacheKey)).isNotNull();
+    }
+
+    @Test
+    @Transactional
+    void testGetAllListings_WhenRadiusCrossesAntimeridian_ShouldFindListingsOnBothSides() {
+        UserEntity landlord = userRepository.findByUsername("pacificLandlord")
+                .orElseGet(() -> userRepository.save(UserEntity.builder()
+                        .username("pacificLandlord")
+                        .email("pacificLandlord@gmail.com")
+                        .password("123456")
+                        .build()));
+        ListingEntity east = saveListing("Taveuni east", -16.85, 179.95, landlord);
+        ListingEntity west = saveListing("Taveuni west", -16.85, -179.95, landlord);
+        ListingEntity far = saveListing("Taveuni far", -16.85, -178.0, landlord);
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .latitude(-16.85)
+                .longitude(179.98)
+                .radiusKm(50.0)
+                .build();
+
+        assertThat(listingService.getAllListings(filter, 0, 50).getContent())
+                .extracting(ListingSummaryDto::getId)
+                .contains(east.getId(), west.getId())
+                .doesNotContain(far.getId());
+    }
+
+    @Test
+    @Transactional
+    void testGetAllListings_WithTextQuery_ShouldOrderByRelevance() {
+        UserEntity landlord = userRepository.findByUsername("rankLandlord")
+                .orElseGet(() -> userRepository.save(UserEntity.builder()
+                        .username("rankLandlord")
+                        .email("rankLandlord@gmail.com")
+                        .password("123456")
+                        .build()));
+        ListingEntity inDescription = listingRepository.save(ListingEntity.builder()
+                .title("Quiet flat")
+                .description("Small balcony facing the lighthouse")
+                .landlord(landlord)
+                .build());
+        ListingEntity inTitle = listingRepository.save(ListingEntity.builder()
+                .title("Lighthouse loft with lighthouse view")
+                .description("Top floor")
+                .landlord(landlord)
+                .build());
+        FilterListingsDto filter = FilterListingsDto.builder().query("lighthouse").build();
+
+        assertThat(listingService.getAllListings(filter, 0, 50).getContent())
+                .extracting(ListingSummaryDto::getId)
+                .containsSubsequence(inTitle.getId(), inDescription.getId());
+        assertThat(listingService.getListingFacets(filter).getTotal()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void testSaveListing_ShouldNotOverwriteCountersFlushedThroughJdbc() {
+        UserEntity landlord = userRepository.findByUsername("counterLandlord")
+                .orElseGet(() -> userRepository.save(UserEntity.builder()
+                        .username("counterLandlord")
+                        .email("counterLandlord@gmail.com")
+                        .password("123456")
+                        .build()));
+        ListingEntity listing = listingRepository.saveAndFlush(ListingEntity.builder()
+                .title("Counter flat")
+                .landlord(landlord)
+                .build());
+        jdbcTemplate.update("UPDATE listings SET view_count = 42, popularity_score = 7.5 WHERE id = ?",
+                listing.getId());
+
+        listing.setTitle("Counter flat renamed");
+        listingRepository.saveAndFlush(listing);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT view_count FROM listings WHERE id = ?", Long.class,
+                listing.getId())).isEqualTo(42L);
+        assertThat(jdbcTemplate.queryForObject("SELECT popularity_score FROM listings WHERE id = ?", Double.class,
+                listing.getId())).isEqualTo(7.5);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM listings WHERE id = ?", String.class,
+                listing.getId())).isEqualTo("Counter flat renamed");
+    }
+
+    @Test
+    void testListingFilterKey_ShouldMatchForEquivalentFilters() {
+        FilterListingsDto first = FilterListingsDto.builder().query(" Sea View ").title("").minPrice(100.0).build();
+        FilterListingsDto second = FilterListingsDto.builder().minPrice(100.0).query("sea view").build();
+
+        assertThat(ListingFilterKey.of(first)).isEqualTo(ListingFilterKey.of(second));
+    }
+
+    private ListingEntity saveListing(String title, double latitude, double longitude, UserEntity landlord) {
+        return listingRepository.save(ListingEntity.builder()
+                .title(title)
+                .type(ListingType.HOUSE)
+                .latitude(latitude)
+                .longitude(longitude)
+                .landlord(landlord)
+                .build());
+    }
+}
@@ -0,0 +1,147 @@
+package com.rentalplatform.cahingTesting;
+
+import com.rentalplatform.entity.BookingEntity;
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.service.BookingService;
+import com.rentalplatform.utils.NextAvailableDateReconciler;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the incremental next available date updates against a real database: confirming extends
+ * the date, cancelling recomputes it only when the cancelled booking was holding it, and the
+ * reconciler repairs a date that drifted anyway.
+ */
+public class NextAvailableDateIT extends AbstractRedisTest {
+
+    private static final String LANDLORD = "nextDateLandlord";
+    private static final String TENANT = "nextDateTenant";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private NextAvailableDateReconciler nextAvailableDateReconciler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional
+    void testConfirmBooking_ShouldExtendNextAvailableDate() {
+        ListingEntity listing = createListing();
+        BookingEntity first = createPendingBooking(listing, 1, 5);
+        BookingEntity second = createPendingBooking(listing, 6, 10);
+
+        bookingService.confirmBookingByLandlord(second.getId(), LANDLORD);
+        assertThat(nextAvailableDate(listing)).isEqualTo(second.getEndDate().plus(1, ChronoUnit.HOURS));
+
+        bookingService.confirmBookingByLandlord(first.getId(), LANDLORD);
+        assertThat(nextAvailableDate(listing)).isEqualTo(second.getEndDate().plus(1, ChronoUnit.HOURS));
+    }
+
+    @Test
+    @Transactional
+    void testCancelBooking_WhenItHoldsNextAvailableDate_ShouldRecomputeIt() {
+        ListingEntity listing = createListing();
+        BookingEntity first = createConfirmedBooking(listing, 1, 5);
+        BookingEntity second = createConfirmedBooking(listing, 6, 10);
+
+        bookingService.cancelBookingByTenant(second.getId(), TENANT);
+
+        assertThat(nextAvailableDate(listing)).isEqualTo(first.getEndDate().plus(1, ChronoUnit.HOURS));
+    }
+
+    @Test
+    @Transactional
+    void testCancelBooking_WhenAnotherBookingHoldsNextAvailableDate_ShouldLeaveItUnchanged() {
+        ListingEntity listing = createListing();
+        BookingEntity first = createConfirmedBooking(listing, 1, 5);
+        BookingEntity second = createConfirmedBooking(listing, 6, 10);
+        long version = listingVersion(listing);
+
+        bookingService.cancelBookingByTenant(first.getId(), TENANT);
+
+        assertThat(nextAvailableDate(listing)).isEqualTo(second.getEndDate().plus(1, ChronoUnit.HOURS));
+        assertThat(listingVersion(listing)).isEqualTo(version);
+    }
+
+    @Test
+    @Transactional
+    void testReconcile_ShouldCorrectDriftedNextAvailableDate() {
+        ListingEntity listing = createListing();
+        BookingEntity booking = createConfirmedBooking(listing, 1, 5);
+        jdbcTemplate.update("UPDATE listings SET next_available_date = ? WHERE id = ?",
+                Timestamp.from(booking.getEndDate().plus(30, ChronoUnit.DAYS)), listing.getId());
+
+        nextAvailableDateReconciler.reconcile();
+
+        assertThat(nextAvailableDate(listing)).isEqualTo(booking.getEndDate().plus(1, ChronoUnit.HOURS));
+        assertThat(nextAvailableDateReconciler.getLastRunCorrected()).isGreaterThanOrEqualTo(1);
+    }
+
+    private BookingEntity createConfirmedBooking(ListingEntity listing, int startInDays, int endInDays) {
+        BookingEntity booking = createPendingBooking(listing, startInDays, endInDays);
+        bookingService.confirmBookingByLandlord(booking.getId(), LANDLORD);
+        return booking;
+    }
+
+    private BookingEntity createPendingBooking(ListingEntity listing, int startInDays, int endInDays) {
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        return bookingRepository.save(BookingEntity.builder()
+                .tenant(user(TENANT))
+                .listing(listing)
+                .startDate(today.plus(startInDays, ChronoUnit.DAYS))
+                .endDate(today.plus(endInDays, ChronoUnit.DAYS))
+                .status(BookingStatus.PENDING)
+                .build());
+    }
+
+    private ListingEntity createListing() {
+        return listingRepository.save(ListingEntity.builder()
+                .title("Next date listing")
+                .landlord(user(LANDLORD))
+                .build());
+    }
+
+    private UserEntity user(String username) {
+        return userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(UserEntity.builder()
+                        .username(username)
+                        .email(username + "@gmail.com")
+                        .password("123456")
+                        .build()));
+    }
+
+    private Instant nextAvailableDate(ListingEntity listing) {
+        Timestamp date = jdbcTemplate.queryForObject("SELECT next_available_date FROM listings WHERE id = ?",
+                Timestamp.class, listing.getId());
+        return date != null ? date.toInstant() : null;
+    }
+
+    private long listingVersion(ListingEntity listing) {
+        return jdbcTemplate.queryForObject("SELECT version FROM listings WHERE id = ?", Long.class, listing.getId());
+    }
+}
@@ -5,6 +5,7 @@ import com.rentalplatform.entity.UserEntity;
 import com.rentalplatform.repository.NotificationRepository;
 import com.rentalplatform.repository.UserRepository;
 import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.utils.OutboxRelay;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,9 @@ public class NotificationServiceIT extends AbstractRedisTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     @Autowired
     private StringRedisTemplate redisTemplate;
 
@@ -119,6 +123,7 @@ public class NotificationServiceIT extends AbstractRedisTest {
         }
 
         action.run();
+        outboxRelay.drain();
 
         for (String cacheKey : cachesToEvict) {
             assertThat(redisOps.get(cacheKey)).isNull();
@@ -0,0 +1,64 @@
+package com.rentalplatform.cahingTesting;
+
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.utils.OutboxRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the relay the way production does: the service call commits on its own, and the
+ * after-commit listener has to drain the outbox on the relay executor without an explicit drain.
+ */
+public class OutboxRelayIT extends AbstractRedisTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    void testCreateNotification_AfterCommit_ShouldRelayAndEvictCache() throws InterruptedException {
+        UserEntity user = userRepository.findByUsername("relayUser")
+                .orElseGet(() -> userRepository.save(UserEntity.builder()
+                        .username("relayUser")
+                        .email("relayUser@gmail.com")
+                        .password("123456")
+                        .build()));
+        notificationService.createNotification("First message", user);
+        awaitTrue(() -> outboxRelay.getPendingEvents() == 0);
+
+        String cacheKey = "notifications::" + user.getUsername() + "_0_10";
+        notificationService.getAllNotifications(user.getUsername(), 0, 10);
+        assertThat(redisTemplate.hasKey(cacheKey)).isTrue();
+
+        long relayedBefore = outboxRelay.getRelayedEvents();
+        notificationService.createNotification("Second message", user);
+
+        awaitTrue(() -> !Boolean.TRUE.equals(redisTemplate.hasKey(cacheKey)));
+        assertThat(outboxRelay.getRelayedEvents()).isGreaterThan(relayedBefore);
+        assertThat(outboxRelay.getPendingEvents()).isZero();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10 seconds").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
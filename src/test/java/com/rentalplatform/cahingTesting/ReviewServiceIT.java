@@ -8,6 +8,7 @@ import com.rentalplatform.repository.ListingRepository;
 import com.rentalplatform.repository.ReviewRepository;
 import com.rentalplatform.repository.UserRepository;
 import com.rentalplatform.service.ReviewService;
+import com.rentalplatform.utils.OutboxRelay;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +37,9 @@ public class ReviewServiceIT extends AbstractRedisTest {
     @Autowired
     private ListingRepository listingRepository;
 
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     @Autowired
     private StringRedisTemplate redisTemplate;
 
@@ -113,6 +117,7 @@ public class ReviewServiceIT extends AbstractRedisTest {
         assertThat(redisOps.get(cacheKey)).isNotNull();
 
         reviewAction.accept(review.getId());
+        outboxRelay.drain();
         assertThat(redisOps.get(cacheKey)).isNull();
     }
 
@@ -14,14 +14,15 @@ import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
 import com.rentalplatform.repository.UserRepository;
 import com.rentalplatform.service.BookingService;
-import com.rentalplatform.service.EmailService;
+import com.rentalplatform.service.ListingAnalyticsService;
 import com.rentalplatform.service.NotificationService;
-import com.rentalplatform.utils.RedisCacheCleaner;
+import com.rentalplatform.service.OutboxService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -53,13 +54,16 @@ class BookingServiceTest {
     private BookingDtoMapper bookingDtoMapper;
 
     @Mock
-    private RedisCacheCleaner redisCacheCleaner;
+    private NotificationService notificationService;
 
     @Mock
-    private NotificationService notificationService;
+    private OutboxService outboxService;
+
+    @Mock
+    private ListingAnalyticsService listingAnalyticsService;
 
     @Mock
-    private EmailService emailService;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookingService bookingService;
@@ -287,12 +291,10 @@ class BookingServiceTest {
                 .status(BookingStatus.PENDING)
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.of(listing));
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.of(listing));
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(currentUser));
         when(bookingRepository.save(any(BookingEntity.class))).thenReturn(booking);
         when(bookingDtoMapper.makeBookingDto(booking)).thenReturn(bookingDto);
-        when(bookingRepository.findMaxEndDateByListingIdAndStatus(listing.getId(), BookingStatus.CONFIRMED))
-                .thenReturn(Optional.empty());
 
         BookingDto result = bookingService.createBooking(creationBookingDto, username);
 
@@ -301,9 +303,11 @@ class BookingServiceTest {
         assertEquals(bookingDto.getStatus(), result.getStatus());
 
         verify(bookingRepository, times(1)).save(any(BookingEntity.class));
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForUser(username);
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForLandlord(listing.getLandlord().getUsername());
-        verify(emailService, times(1)).sendEmail(
+        verify(outboxService, times(1)).evictBookingCaches(booking.getId(), username,
+                listing.getLandlord().getUsername());
+        verify(outboxService, times(1)).sendEmail(
+                eq(OutboxService.BOOKING),
+                eq(booking.getId()),
                 eq(landlord.getEmail()),
                 eq("New Booking Request"),
                 contains("A new booking request has been made for your listing")
@@ -323,7 +327,7 @@ class BookingServiceTest {
                 .endDate(LocalDate.of(2025, 5, 10))
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.empty());
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.createBooking(creationBookingDto, username));
     }
@@ -337,7 +341,7 @@ class BookingServiceTest {
                 .endDate(LocalDate.of(2025, 5, 10))
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.of(new ListingEntity()));
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.of(new ListingEntity()));
         when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.createBooking(creationBookingDto, username));
@@ -360,7 +364,7 @@ class BookingServiceTest {
                 .endDate(LocalDate.of(2025, 5, 10))
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
 
         BadRequestException exception = assertThrows(BadRequestException.class, () ->
@@ -388,7 +392,7 @@ class BookingServiceTest {
                 .endDate(LocalDate.now().plusDays(10))
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(currentUser));
 
         BadRequestException exception = assertThrows(BadRequestException.class, () ->
@@ -417,7 +421,7 @@ class BookingServiceTest {
                 .endDate(LocalDate.now().plusDays(10))
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(currentUser));
 
         BadRequestException exception = assertThrows(BadRequestException.class, () ->
@@ -450,11 +454,16 @@ class BookingServiceTest {
         ListingEntity listing = ListingEntity.builder()
                 .id(1L)
                 .landlord(landlord)
-                .bookings(List.of(existingBooking))
                 .build();
 
-        when(listingRepository.findById(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
+        when(listingRepository.findByIdForUpdate(creationBookingDto.getListingId())).thenReturn(Optional.ofNullable(listing));
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(currentUser));
+        when(bookingRepository.findMaxOverlappingEndDate(
+                listing.getId(),
+                List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED),
+                creationBookingDto.getStartDate().atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                creationBookingDto.getEndDate().atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .thenReturn(Optional.of(existingBooking.getEndDate()));
 
         BadRequestException exception = assertThrows(BadRequestException.class, () ->
                 bookingService.createBooking(creationBookingDto, username));
@@ -498,10 +507,12 @@ class BookingServiceTest {
         assertEquals(expectedDto.getStatus(), result.getStatus());
 
         verify(bookingRepository, times(1)).save(any(BookingEntity.class));
-        verify(redisCacheCleaner, times(1)).evictBookingCacheById(bookingId);
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForUser(booking.getTenant().getUsername());
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForLandlord(username);
-        verify(emailService, times(1)).sendEmail(
+        verify(listingRepository, times(1)).extendNextAvailableDate(listing.getId(), booking.getEndDate());
+        verify(listingAnalyticsService, times(1)).recordBookingTransition(booking, BookingStatus.PENDING);
+        verify(outboxService, times(1)).evictBookingCaches(bookingId, booking.getTenant().getUsername(), username);
+        verify(outboxService, times(1)).sendEmail(
+                eq(OutboxService.BOOKING),
+                eq(bookingId),
                 eq(booking.getTenant().getEmail()),
                 eq("Booking Confirmed"),
                 contains("Your booking for listing 'Test Listing' has been confirmed")
@@ -612,10 +623,11 @@ class BookingServiceTest {
         assertEquals(expectedDto.getStatus(), result.getStatus());
 
         verify(bookingRepository, times(1)).save(any(BookingEntity.class));
-        verify(redisCacheCleaner, times(1)).evictBookingCacheById(bookingId);
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForUser(username);
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForLandlord(landlord.getUsername());
-        verify(emailService, times(1)).sendEmail(
+        verify(listingRepository, never()).releaseNextAvailableDates(anyList());
+        verify(outboxService, times(1)).evictBookingCaches(bookingId, username, landlord.getUsername());
+        verify(outboxService, times(1)).sendEmail(
+                eq(OutboxService.BOOKING),
+                eq(bookingId),
                 eq(booking.getListing().getLandlord().getEmail()),
                 eq("Booking Canceled"),
                 contains("User has been canceled the booking for listing 'Test Listing'")
@@ -626,6 +638,36 @@ class BookingServiceTest {
         );
     }
 
+    @Test
+    void testCancelBookingByTenant_WhenConfirmed_ShouldReleaseNextAvailableDate() {
+        Long bookingId = 1L;
+        String username = "Tenant Username";
+
+        UserEntity tenant = UserEntity.builder().id(2L).username(username).build();
+        ListingEntity listing = ListingEntity.builder()
+                .id(1L)
+                .title("Test Listing")
+                .landlord(UserEntity.builder().id(3L).username("Landlord Username").build())
+                .build();
+
+        BookingEntity booking = BookingEntity.builder()
+                .id(bookingId)
+                .listing(listing)
+                .tenant(tenant)
+                .status(BookingStatus.CONFIRMED)
+                .startDate(Instant.now().plusSeconds(86400))
+                .endDate(Instant.now().plusSeconds(3 * 86400))
+                .build();
+
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        bookingService.cancelBookingByTenant(bookingId, username);
+
+        assertEquals(BookingStatus.CANCELLED, booking.getStatus());
+        verify(listingRepository, times(1)).releaseNextAvailableDates(List.of(bookingId));
+        verify(listingRepository, never()).extendNextAvailableDate(anyLong(), any());
+    }
+
     @Test
     void testCancelBookingByTenant_WhenBookingNotFound_ShouldThrowException() {
         Long bookingId = 1L;
@@ -698,10 +740,11 @@ class BookingServiceTest {
         assertEquals(expectedDto.getStatus(), result.getStatus());
 
         verify(bookingRepository, times(1)).save(any(BookingEntity.class));
-        verify(redisCacheCleaner, times(1)).evictBookingCacheById(bookingId);
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForUser(booking.getTenant().getUsername());
-        verify(redisCacheCleaner, times(1)).evictBookingCacheForLandlord(booking.getListing().getLandlord().getUsername());
-        verify(emailService, times(1)).sendEmail(
+        verify(outboxService, times(1)).evictBookingCaches(bookingId, booking.getTenant().getUsername(),
+                booking.getListing().getLandlord().getUsername());
+        verify(outboxService, times(1)).sendEmail(
+                eq(OutboxService.BOOKING),
+                eq(bookingId),
                 eq(booking.getTenant().getEmail()),
                 eq("Booking Declined"),
                 contains("The landlord has declined booking for the listing 'Test Listing'")
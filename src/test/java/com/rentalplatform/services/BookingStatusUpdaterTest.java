@@ -0,0 +1,168 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.JobCheckpointEntity;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.repository.JobCheckpointRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.service.OutboxService;
+import com.rentalplatform.utils.BookingStatusUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class BookingStatusUpdaterTest {
+
+    private static final String JOB_NAME = "booking-status-updater";
+    private static final String FINISH_CHUNK = "UPDATE bookings SET status = 'FINISHED' WHERE id IN";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final List<Long> savedLastIds = new ArrayList<>();
+
+    private BookingStatusUpdater bookingStatusUpdater;
+
+    @BeforeEach
+    void setUp() {
+        bookingStatusUpdater = new BookingStatusUpdater(jdbcTemplate, transactionManager, jobCheckpointRepository,
+                listingRepository, userRepository, outboxService, notificationService);
+        ReflectionTestUtils.setField(bookingStatusUpdater, "chunkSize", 2);
+    }
+
+    @Test
+    void testUpdateFinishedBookings_ShouldCheckpointEachChunkAndDeleteCheckpointWhenDone() {
+        when(jobCheckpointRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+        recordSavedCheckpoints();
+        when(jdbcTemplate.queryForList(startsWith(FINISH_CHUNK), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+
+        bookingStatusUpdater.updateFinishedBookings();
+
+        verify(jdbcTemplate).queryForList(startsWith(FINISH_CHUNK), eq(Long.class), any(Timestamp.class), eq(0L), eq(2));
+        verify(jdbcTemplate).queryForList(startsWith(FINISH_CHUNK), eq(Long.class), any(Timestamp.class), eq(2L), eq(2));
+        verify(listingRepository).releaseNextAvailableDates(List.of(1L, 2L));
+        verify(listingRepository).releaseNextAvailableDates(List.of(3L));
+        assertEquals(List.of(2L, 3L), savedLastIds);
+        verify(jobCheckpointRepository).deleteById(JOB_NAME);
+        assertEquals(3, bookingStatusUpdater.getLastRunRows());
+        assertEquals(2, bookingStatusUpdater.getLastRunChunks());
+    }
+
+    @Test
+    void testUpdateFinishedBookings_WhenCheckpointLeftBehind_ShouldResumeWithItsCutoffAndLastId() {
+        Instant cutoff = Instant.parse("2026-01-01T10:30:00Z");
+        JobCheckpointEntity checkpoint = JobCheckpointEntity.builder()
+                .jobName(JOB_NAME)
+                .cutoff(cutoff)
+                .lastId(40L)
+                .build();
+        when(jobCheckpointRepository.findById(JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        recordSavedCheckpoints();
+        when(jdbcTemplate.queryForList(startsWith(FINISH_CHUNK), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(41L));
+
+        bookingStatusUpdater.updateFinishedBookings();
+
+        verify(jdbcTemplate).queryForList(startsWith(FINISH_CHUNK), eq(Long.class), eq(Timestamp.from(cutoff)),
+                eq(40L), eq(2));
+        assertEquals(List.of(41L), savedLastIds);
+        assertEquals(cutoff, checkpoint.getCutoff());
+        verify(jobCheckpointRepository).deleteById(JOB_NAME);
+    }
+
+    @Test
+    void testUpdateFinishedBookings_WhenChunkFails_ShouldKeepCheckpointOfCommittedChunks() {
+        when(jobCheckpointRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+        recordSavedCheckpoints();
+        when(jdbcTemplate.queryForList(startsWith(FINISH_CHUNK), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenThrow(new QueryTimeoutException("statement timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> bookingStatusUpdater.updateFinishedBookings());
+
+        assertEquals(List.of(2L), savedLastIds);
+        verify(jobCheckpointRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void testFinishBookings_ShouldQueueEmailsAndNotifyTenantsInSameTransaction() throws Exception {
+        UserEntity tenant = UserEntity.builder().id(7L).username("tenant").build();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(5L);
+        when(row.getLong(2)).thenReturn(7L);
+        when(row.getString(3)).thenReturn("tenant@example.com");
+        when(row.getString(4)).thenReturn("Flat");
+
+        when(jdbcTemplate.queryForList(startsWith("UPDATE bookings SET status = 'FINISHED' WHERE id = ANY"),
+                eq(Long.class), any(Object[].class))).thenReturn(List.of(5L));
+        when(jdbcTemplate.query(startsWith("SELECT b.id"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(((RowMapper<Object>) invocation.getArgument(1)).mapRow(row, 0)));
+        when(userRepository.findAllById(List.of(7L))).thenReturn(List.of(tenant));
+
+        int finished = bookingStatusUpdater.finishBookings(List.of(5L));
+
+        assertEquals(1, finished);
+        verify(listingRepository).releaseNextAvailableDates(List.of(5L));
+        verify(outboxService).sendEmail(OutboxService.BOOKING, 5L, "tenant@example.com", "Booking Finished",
+                "Your booking 'Flat' has been finished");
+        verify(notificationService).createNotifications("Your booking 'Flat' has been finished", List.of(tenant));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testFinishBookings_WhenNothingFinished_ShouldNotNotify() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of());
+
+        assertEquals(0, bookingStatusUpdater.finishBookings(List.of(5L)));
+
+        verifyNoInteractions(outboxService, notificationService, listingRepository);
+    }
+
+    private void recordSavedCheckpoints() {
+        when(jobCheckpointRepository.save(any(JobCheckpointEntity.class))).thenAnswer(invocation -> {
+            JobCheckpointEntity checkpoint = invocation.getArgument(0);
+            savedLastIds.add(checkpoint.getLastId());
+            return checkpoint;
+        });
+    }
+}
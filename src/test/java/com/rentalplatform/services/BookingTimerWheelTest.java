@@ -0,0 +1,190 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.BookingIntervalView;
+import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.utils.BookingStatusUpdater;
+import com.rentalplatform.utils.BookingTimerWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class BookingTimerWheelTest {
+
+    private static final Duration WINDOW = Duration.ofHours(6);
+    private static final Duration REMINDER_LEAD = Duration.ofHours(24);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingStatusUpdater bookingStatusUpdater;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingTimerWheel bookingTimerWheel;
+
+    @BeforeEach
+    void setUp() {
+        bookingTimerWheel = new BookingTimerWheel(bookingRepository, bookingStatusUpdater, userRepository,
+                notificationService, jdbcTemplate, transactionManager, true, WINDOW, REMINDER_LEAD, 2);
+    }
+
+    @Test
+    void testTick_ShouldFinishOnlyBookingsThatHaveEnded() {
+        Instant now = Instant.now();
+        loadEndingBookings(interval(1L, now.minus(Duration.ofHours(1))), interval(2L, now.plus(Duration.ofHours(5))));
+
+        bookingTimerWheel.rebuild();
+        bookingTimerWheel.tick();
+
+        verify(bookingStatusUpdater, times(1)).finishBookings(List.of(1L));
+        verifyNoMoreInteractions(bookingStatusUpdater);
+        assertEquals(1, bookingTimerWheel.getPendingTimers());
+    }
+
+    @Test
+    void testTick_WhenMoreTimersDueThanMaxPerTick_ShouldSpreadThemOverTicks() {
+        Instant ended = Instant.now().minus(Duration.ofMinutes(10));
+        loadEndingBookings(interval(1L, ended), interval(2L, ended), interval(3L, ended));
+
+        bookingTimerWheel.rebuild();
+        bookingTimerWheel.tick();
+        bookingTimerWheel.tick();
+
+        InOrder inOrder = inOrder(bookingStatusUpdater);
+        inOrder.verify(bookingStatusUpdater).finishBookings(List.of(1L, 2L));
+        inOrder.verify(bookingStatusUpdater).finishBookings(List.of(3L));
+        assertEquals(0, bookingTimerWheel.getPendingTimers());
+    }
+
+    @Test
+    void testOnBookingStatusChanged_BeforeRebuild_ShouldIgnoreEvent() {
+        Instant ended = Instant.now().minus(Duration.ofMinutes(1));
+
+        bookingTimerWheel.onBookingStatusChanged(new BookingStatusChangedEvent(9L, 1L, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED, ended.minus(Duration.ofDays(2)), ended));
+
+        assertEquals(0, bookingTimerWheel.getPendingTimers());
+    }
+
+    @Test
+    void testOnBookingStatusChanged_WhenNotConfirmed_ShouldNotSchedule() {
+        Instant ended = Instant.now().minus(Duration.ofMinutes(1));
+        bookingTimerWheel.rebuild();
+
+        bookingTimerWheel.onBookingStatusChanged(new BookingStatusChangedEvent(9L, 1L, BookingStatus.CONFIRMED,
+                BookingStatus.CANCELLED, ended.minus(Duration.ofDays(2)), ended));
+        bookingTimerWheel.tick();
+
+        verifyNoInteractions(bookingStatusUpdater);
+    }
+
+    @Test
+    void testOnBookingStatusChanged_WhenConfirmedBookingEnded_ShouldFinishOnNextTick() {
+        Instant ended = Instant.now().minus(Duration.ofMinutes(1));
+        bookingTimerWheel.rebuild();
+
+        bookingTimerWheel.onBookingStatusChanged(new BookingStatusChangedEvent(9L, 1L, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED, ended.minus(Duration.ofDays(2)), ended));
+        bookingTimerWheel.tick();
+
+        verify(bookingStatusUpdater, times(1)).finishBookings(List.of(9L));
+    }
+
+    @Test
+    void testTick_WhenReminderDue_ShouldClaimItBeforeNotifying() throws Exception {
+        Instant startDate = Instant.now().plus(REMINDER_LEAD).plusMillis(200);
+        UserEntity tenant = UserEntity.builder().id(7L).username("tenant").build();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(7L);
+        when(row.getString(2)).thenReturn("Flat");
+        when(row.getTimestamp(3)).thenReturn(Timestamp.from(startDate));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(((RowMapper<Object>) invocation.getArgument(1)).mapRow(row, 0)));
+        when(userRepository.findAllById(List.of(7L))).thenReturn(List.of(tenant));
+        bookingTimerWheel.rebuild();
+
+        bookingTimerWheel.onBookingStatusChanged(new BookingStatusChangedEvent(9L, 1L, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED, startDate, startDate.plus(Duration.ofDays(2))));
+        assertEquals(1, bookingTimerWheel.getPendingTimers());
+        tickUntilNothingPending();
+
+        verify(jdbcTemplate).query(contains("reminder_sent_at IS NULL"), any(RowMapper.class), eq("{9}"));
+        String startsOn = DateTimeFormatter.ofPattern("yyyy-MM-dd").format(startDate.atZone(ZoneId.systemDefault()));
+        verify(notificationService).createNotifications(
+                "Your booking for listing 'Flat' starts on %s".formatted(startsOn), List.of(tenant));
+        verify(transactionManager).commit(any());
+        assertEquals(1, bookingTimerWheel.getFiredReminders());
+    }
+
+    @Test
+    void testTick_WhenReminderClaimedElsewhere_ShouldNotNotify() throws InterruptedException {
+        Instant startDate = Instant.now().plus(REMINDER_LEAD).plusMillis(200);
+        bookingTimerWheel.rebuild();
+
+        bookingTimerWheel.onBookingStatusChanged(new BookingStatusChangedEvent(9L, 1L, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED, startDate, startDate.plus(Duration.ofDays(2))));
+        tickUntilNothingPending();
+
+        verify(jdbcTemplate).query(contains("reminder_sent_at IS NULL"), any(RowMapper.class), eq("{9}"));
+        verifyNoInteractions(notificationService);
+        assertEquals(0, bookingTimerWheel.getFiredReminders());
+    }
+
+    private void tickUntilNothingPending() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+        bookingTimerWheel.tick();
+        while (bookingTimerWheel.getPendingTimers() > 0) {
+            assertTrue(System.nanoTime() < deadline, "timer did not fire within 3 seconds");
+            Thread.sleep(50);
+            bookingTimerWheel.tick();
+        }
+    }
+
+    private void loadEndingBookings(BookingIntervalView... bookings) {
+        when(bookingRepository.findIntervalsEndingBetween(eq(0L), eq(BookingStatus.CONFIRMED), any(Instant.class),
+                any(Instant.class), any())).thenReturn(List.of(bookings));
+    }
+
+    private static BookingIntervalView interval(Long id, Instant endDate) {
+        BookingIntervalView view = mock(BookingIntervalView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getEndDate()).thenReturn(endDate);
+        return view;
+    }
+}
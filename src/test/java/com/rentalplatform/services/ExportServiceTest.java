@@ -0,0 +1,127 @@
+package com.rentalplatform.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.dto.ExportFormat;
+import com.rentalplatform.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ExportService exportService;
+
+    @Test
+    void testExportListingsForLandlord_Csv_ShouldQuoteValuesAndUseFetchSize() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject(anyInt())).thenReturn(null);
+        when(resultSet.getObject(1)).thenReturn(1L);
+        when(resultSet.getObject(2)).thenReturn("Loft, \"city\" view");
+        when(resultSet.getObject(3)).thenReturn("Line one\nline two");
+        when(resultSet.getObject(4)).thenReturn(120.0);
+        when(resultSet.getObject(14)).thenReturn("landlord");
+        PreparedStatement statement = mockQuery(resultSet);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportListingsForLandlord("landlord", ExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,title,description,price,"));
+        assertEquals("1,\"Loft, \"\"city\"\" view\",\"Line one\nline two\",120.0,,,,,,,,,,landlord", lines[1]);
+        verify(statement).setFetchSize(1000);
+        verify(statement).setString(1, "landlord");
+    }
+
+    @Test
+    void testExportAllListings_Ndjson_ShouldStreamEveryListingWithoutParameters() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject(anyInt())).thenReturn(null);
+        when(resultSet.getObject(1)).thenReturn(3L);
+        when(resultSet.getObject(14)).thenReturn("landlord");
+        PreparedStatement statement = mockQuery(resultSet);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportAllListings(ExportFormat.NDJSON, false, out);
+
+        JsonNode listing = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertEquals(3L, listing.get("id").asLong());
+        assertEquals("landlord", listing.get("landlordUsername").asText());
+        verify(statement).setFetchSize(1000);
+        verify(statement, never()).setString(anyInt(), anyString());
+    }
+
+    @Test
+    void testExportBookingsForTenant_GzipNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        Instant startDate = Instant.parse("2026-05-01T00:00:00Z");
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject(anyInt())).thenReturn(null);
+        when(resultSet.getObject(1)).thenReturn(7L);
+        when(resultSet.getObject(6)).thenReturn("CONFIRMED");
+        when(resultSet.getObject(7)).thenReturn(Timestamp.from(startDate));
+        mockQuery(resultSet);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportBookingsForTenant("tenant", ExportFormat.NDJSON, true, out);
+
+        String content = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String[] lines = content.split("\n");
+        assertEquals(1, lines.length);
+
+        JsonNode booking = objectMapper.readTree(lines[0]);
+        assertEquals(7L, booking.get("id").asLong());
+        assertEquals("CONFIRMED", booking.get("status").asText());
+        assertEquals(startDate.toString(), booking.get("startDate").asText());
+        assertTrue(booking.get("endDate").isNull());
+    }
+
+    private PreparedStatement mockQuery(ResultSet resultSet) throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        doAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        return statement;
+    }
+}
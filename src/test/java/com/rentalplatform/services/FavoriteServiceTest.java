@@ -4,6 +4,7 @@ import com.rentalplatform.dto.ListingDto;
 import com.rentalplatform.entity.FavoriteEntity;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingFavoritedEvent;
 import com.rentalplatform.exception.BadRequestException;
 import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ListingDtoMapper;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.User;
 
 import java.util.ArrayList;
@@ -41,6 +43,9 @@ class FavoriteServiceTest {
     @Mock
     private FavoriteRepository favoriteRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FavoriteService favoriteService;
 
@@ -158,6 +163,7 @@ class FavoriteServiceTest {
         assertNotNull(result);
         assertEquals(listingDto.getId(), result.getId());
         verify(favoriteRepository, times(1)).save(any(FavoriteEntity.class));
+        verify(eventPublisher, times(1)).publishEvent(new ListingFavoritedEvent(listingId));
     }
 
     @Test
@@ -0,0 +1,126 @@
+package com.rentalplatform.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.service.IdempotencyService;
+import com.rentalplatform.utils.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyStore, new ObjectMapper(),
+                Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testExecute_WithoutKey_ShouldRunActionWithoutStore() {
+        ResponseEntity<String> response = idempotencyService.execute(null, "user", "op", "body",
+                String.class, () -> "done");
+
+        assertEquals("done", response.getBody());
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void testExecute_WhenKeyIsNew_ShouldRunActionAndStoreResponse() {
+        when(idempotencyStore.putIfAbsent(eq("op:user:key"), anyString(), any())).thenReturn(true);
+
+        ResponseEntity<String> response = idempotencyService.execute("key", "user", "op", "body",
+                String.class, () -> "done");
+
+        assertEquals("done", response.getBody());
+        assertFalse(response.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER));
+        verify(idempotencyStore).put(eq("op:user:key"), contains("done"), eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    void testExecute_WhenKeyIsReplayed_ShouldReturnStoredResponseWithoutRunningAction() {
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        when(idempotencyStore.putIfAbsent(eq("op:user:key"), anyString(), any())).thenReturn(true, false);
+        idempotencyService.execute("key", "user", "op", "body", String.class, () -> "done");
+        verify(idempotencyStore).put(eq("op:user:key"), stored.capture(), any());
+        when(idempotencyStore.get("op:user:key")).thenReturn(Optional.of(stored.getValue()));
+
+        Supplier<String> action = mock(Supplier.class);
+        ResponseEntity<String> response = idempotencyService.execute("key", "user", "op", "body",
+                String.class, action);
+
+        assertEquals("done", response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verifyNoInteractions(action);
+    }
+
+    @Test
+    void testExecute_WhenKeyIsReusedForDifferentRequest_ShouldThrowException() {
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        when(idempotencyStore.putIfAbsent(eq("op:user:key"), anyString(), any())).thenReturn(true, false);
+        idempotencyService.execute("key", "user", "op", "first", String.class, () -> "done");
+        verify(idempotencyStore).put(eq("op:user:key"), stored.capture(), any());
+        when(idempotencyStore.get("op:user:key")).thenReturn(Optional.of(stored.getValue()));
+
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute("key", "user", "op", "second", String.class, () -> "other"));
+    }
+
+    @Test
+    void testExecute_WhenActionFails_ShouldReleaseKey() {
+        when(idempotencyStore.putIfAbsent(eq("op:user:key"), anyString(), any())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key", "user", "op", "body",
+                String.class, () -> {
+                    throw new IllegalStateException("failed");
+                }));
+
+        verify(idempotencyStore).remove("op:user:key");
+        verify(idempotencyStore, never()).put(anyString(), anyString(), any());
+    }
+
+    @Test
+    void testRefreshClaims_ShouldExtendClaimOnlyWhileActionRuns() {
+        when(idempotencyStore.putIfAbsent(eq("op:user:key"), anyString(), any())).thenReturn(true);
+
+        idempotencyService.execute("key", "user", "op", "body", String.class, () -> {
+            idempotencyService.refreshClaims();
+            return "done";
+        });
+        idempotencyService.refreshClaims();
+
+        verify(idempotencyStore, times(1)).refresh("op:user:key", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testRefreshClaims_WhenActionFailed_ShouldNotExtendReleasedClaim() {
+        when(idempotencyStore.putIfAbsent(eq("op:user:key"), anyString(), any())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key", "user", "op", "body",
+                String.class, () -> {
+                    throw new IllegalStateException("failed");
+                }));
+        idempotencyService.refreshClaims();
+
+        verify(idempotencyStore, never()).refresh(anyString(), any());
+    }
+}
@@ -2,6 +2,7 @@ package com.rentalplatform.services;
 
 import com.rentalplatform.config.AwsS3Config;
 import com.rentalplatform.dto.ImageDto;
+import com.rentalplatform.dto.ResourceVersion;
 import com.rentalplatform.entity.ImageEntity;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.UserEntity;
@@ -10,6 +11,7 @@ import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ImageDtoMapper;
 import com.rentalplatform.repository.ImageRepository;
 import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ImageListVersionView;
 import com.rentalplatform.service.ImageService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +52,34 @@ class ImageServiceTest {
     @InjectMocks
     private ImageService imageService;
 
+    @Test
+    void testFindImagesVersion_ShouldDescribeImageList() {
+        Long listingId = 1L;
+        ImageListVersionView version = mock(ImageListVersionView.class);
+        when(version.getCount()).thenReturn(3L);
+        when(version.getMaxId()).thenReturn(12L);
+        when(version.getVersionSum()).thenReturn(4L);
+
+        when(listingRepository.existsById(listingId)).thenReturn(true);
+        when(imageRepository.findListVersionByListingId(listingId)).thenReturn(version);
+
+        Optional<ResourceVersion> result = imageService.findImagesVersion(listingId);
+
+        assertTrue(result.isPresent());
+        assertEquals("images-1-3-12-4", result.get().etag());
+        verify(imageRepository, never()).findAllByListingId(anyLong());
+    }
+
+    @Test
+    void testFindImagesVersion_WhenListingNotFound_ShouldReturnEmpty() {
+        Long listingId = 1L;
+
+        when(listingRepository.existsById(listingId)).thenReturn(false);
+
+        assertTrue(imageService.findImagesVersion(listingId).isEmpty());
+        verify(imageRepository, never()).findListVersionByListingId(anyLong());
+    }
+
     @Test
     void testGetImageForListing_Success() {
         Long listingId = 1L;
@@ -0,0 +1,124 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.dto.ListingAnalyticsDto;
+import com.rentalplatform.dto.PageDto;
+import com.rentalplatform.entity.BookingEntity;
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.entity.ListingMonthlyStatsEntity;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.repository.ListingMonthlyStatsRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingTitleView;
+import com.rentalplatform.service.ListingAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingAnalyticsServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private ListingMonthlyStatsRepository listingMonthlyStatsRepository;
+
+    @InjectMocks
+    private ListingAnalyticsService listingAnalyticsService;
+
+    @Test
+    void testRecordBookingTransition_WhenConfirmed_ShouldMovePendingRequestToNightsPerMonth() {
+        BookingEntity booking = booking(LocalDate.of(2026, 1, 30), LocalDate.of(2026, 2, 2), BookingStatus.CONFIRMED);
+
+        listingAnalyticsService.recordBookingTransition(booking, BookingStatus.PENDING);
+
+        verify(listingMonthlyStatsRepository, times(1))
+                .addToMonth(1L, LocalDate.of(2026, 1, 1), 2, 200.0, -1, 0, 0);
+        verify(listingMonthlyStatsRepository, times(1))
+                .addToMonth(1L, LocalDate.of(2026, 2, 1), 1, 100.0, 0, 0, 0);
+        verifyNoMoreInteractions(listingMonthlyStatsRepository);
+    }
+
+    @Test
+    void testRecordBookingTransition_WhenConfirmedBookingCancelled_ShouldRemoveItsNights() {
+        BookingEntity booking = booking(LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 13), BookingStatus.CANCELLED);
+
+        listingAnalyticsService.recordBookingTransition(booking, BookingStatus.CONFIRMED);
+
+        verify(listingMonthlyStatsRepository, times(1))
+                .addToMonth(1L, LocalDate.of(2026, 3, 1), -3, -300.0, 0, 0, 0);
+        verifyNoMoreInteractions(listingMonthlyStatsRepository);
+    }
+
+    @Test
+    void testRecordReviewChange_WhenRatingUnchanged_ShouldNotWrite() {
+        listingAnalyticsService.recordReviewChange(1L, Instant.now(), 4.0, 4.0);
+
+        verifyNoInteractions(listingMonthlyStatsRepository);
+    }
+
+    @Test
+    void testGetAnalytics_ShouldFillMissingMonthsWithZeros() {
+        String username = "landlord";
+        ListingTitleView listing = mock(ListingTitleView.class);
+        when(listing.getId()).thenReturn(1L);
+        when(listing.getTitle()).thenReturn("Test Listing");
+
+        ListingMonthlyStatsEntity january = ListingMonthlyStatsEntity.builder()
+                .listing(ListingEntity.builder().id(1L).build())
+                .monthStart(LocalDate.of(2026, 1, 1))
+                .bookedNights(31)
+                .revenue(3100.0)
+                .pendingRequests(2)
+                .reviewCount(2)
+                .ratingSum(9.0)
+                .build();
+
+        when(listingRepository.findTitlesByLandlordUsername(username, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(listing), PageRequest.of(0, 10), 1));
+        when(listingMonthlyStatsRepository.findAllByListingIdsAndMonths(List.of(1L), LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 2, 1))).thenReturn(List.of(january));
+
+        PageDto<ListingAnalyticsDto> result = listingAnalyticsService.getAnalytics(username,
+                YearMonth.of(2026, 1), YearMonth.of(2026, 2), 0, 10);
+
+        List<ListingAnalyticsDto.MonthlyStatsDto> months = result.getContent().get(0).getMonths();
+        assertEquals(2, months.size());
+        assertEquals(1.0, months.get(0).getOccupancyRate());
+        assertEquals(4.5, months.get(0).getAverageRating());
+        assertEquals(2, months.get(0).getPendingRequests());
+        assertEquals(0, months.get(1).getBookedNights());
+        assertNull(months.get(1).getAverageRating());
+    }
+
+    @Test
+    void testGetAnalytics_WhenRangeTooLong_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> listingAnalyticsService.getAnalytics("landlord",
+                YearMonth.of(2024, 1), YearMonth.of(2026, 1), 0, 10));
+        verifyNoInteractions(listingRepository, listingMonthlyStatsRepository);
+    }
+
+    private static BookingEntity booking(LocalDate startDate, LocalDate endDate, BookingStatus status) {
+        return BookingEntity.builder()
+                .id(1L)
+                .listing(ListingEntity.builder().id(1L).price(100.0).build())
+                .startDate(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant())
+                .endDate(endDate.atStartOfDay(ZoneId.systemDefault()).toInstant())
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.utils.ListingCalendarCache;
+import com.rentalplatform.utils.RedisCacheCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingCalendarCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final String VERSION_KEY = "listingCalendarVersion::1";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private RedisCacheCleaner redisCacheCleaner;
+
+    @InjectMocks
+    private ListingCalendarCache listingCalendarCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(listingCalendarCache, "ttl", TTL);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void testGet_ShouldReadMonthsUnderCurrentVersion() {
+        when(valueOperations.get(VERSION_KEY)).thenReturn(3);
+        when(valueOperations.multiGet(List.of("listingCalendar::1_v3_2026-03", "listingCalendar::1_v3_2026-04")))
+                .thenReturn(Arrays.asList(5, null));
+
+        ListingCalendarCache.Snapshot snapshot =
+                listingCalendarCache.get(1L, List.of(YearMonth.of(2026, 3), YearMonth.of(2026, 4)));
+
+        assertEquals(3L, snapshot.version());
+        assertEquals(Map.of(YearMonth.of(2026, 3), 5), snapshot.masks());
+    }
+
+    @Test
+    void testPut_WhenBookingChangedAfterRead_ShouldNotServeStaleMasks() {
+        YearMonth march = YearMonth.of(2026, 3);
+        when(valueOperations.get(VERSION_KEY)).thenReturn(null, 1);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList((Object) null));
+
+        ListingCalendarCache.Snapshot beforeBooking = listingCalendarCache.get(1L, List.of(march));
+        listingCalendarCache.onBookingStatusChanged(new BookingStatusChangedEvent(9L, 1L, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED, Instant.parse("2026-03-10T12:00:00Z"), Instant.parse("2026-03-12T12:00:00Z")));
+        listingCalendarCache.put(1L, beforeBooking.version(), Map.of(march, 0));
+        listingCalendarCache.get(1L, List.of(march));
+
+        verify(valueOperations).increment(VERSION_KEY);
+        verify(redisTemplate).expire(VERSION_KEY, TTL.multipliedBy(2));
+        verify(valueOperations).set("listingCalendar::1_v0_2026-03", 0, TTL);
+        verify(valueOperations).multiGet(List.of("listingCalendar::1_v1_2026-03"));
+    }
+
+    @Test
+    void testOnListingChanged_ShouldInvalidateOnlyOnDeletion() {
+        listingCalendarCache.onListingChanged(new ListingChangedEvent(1L, ListingChangedEvent.ChangeType.UPDATED));
+        verifyNoInteractions(valueOperations, redisCacheCleaner);
+
+        listingCalendarCache.onListingChanged(new ListingChangedEvent(1L, ListingChangedEvent.ChangeType.DELETED));
+
+        verify(valueOperations).increment(VERSION_KEY);
+        verify(redisCacheCleaner).evictListingCalendar(1L);
+    }
+}
@@ -0,0 +1,113 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.dto.ListingCalendarDto;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.exception.NotFoundException;
+import com.rentalplatform.repository.BookingRepository;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.BookingIntervalView;
+import com.rentalplatform.service.ListingCalendarService;
+import com.rentalplatform.utils.ListingCalendarCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingCalendarServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private ListingCalendarCache listingCalendarCache;
+
+    @InjectMocks
+    private ListingCalendarService listingCalendarService;
+
+    @Test
+    void testGetCalendar_WhenMonthsNotCached_ShouldLoadThemInOneQueryAndCacheThem() {
+        Long listingId = 1L;
+        LocalDate from = LocalDate.of(2026, 1, 30);
+        LocalDate to = LocalDate.of(2026, 2, 3);
+        BookingIntervalView booking = booking(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 2));
+
+        when(listingCalendarCache.get(eq(listingId), anyList()))
+                .thenReturn(new ListingCalendarCache.Snapshot(4L, Map.of()));
+        when(bookingRepository.findIntervalsOverlapping(eq(listingId), anyCollection(), any(), any()))
+                .thenReturn(List.of(booking));
+
+        ListingCalendarDto result = listingCalendarService.getCalendar(listingId, from, to);
+
+        assertEquals(4, result.getNights());
+        assertEquals(2, result.getOccupiedNights());
+        assertArrayEquals(new byte[]{0b0110}, Base64.getDecoder().decode(result.getOccupied()));
+        verify(bookingRepository, times(1)).findIntervalsOverlapping(eq(listingId), anyCollection(), any(), any());
+        verify(listingCalendarCache).put(listingId, 4L, Map.of(YearMonth.of(2026, 1), 1 << 30, YearMonth.of(2026, 2), 1));
+        verify(listingRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testGetCalendar_WhenMonthsCached_ShouldNotQueryBookings() {
+        Long listingId = 1L;
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 11);
+
+        when(listingCalendarCache.get(listingId, List.of(YearMonth.of(2026, 3))))
+                .thenReturn(new ListingCalendarCache.Snapshot(0L, Map.of(YearMonth.of(2026, 3), 0b1000000001)));
+
+        ListingCalendarDto result = listingCalendarService.getCalendar(listingId, from, to);
+
+        assertEquals(2, result.getOccupiedNights());
+        assertArrayEquals(new byte[]{0b1, 0b10}, Base64.getDecoder().decode(result.getOccupied()));
+        verifyNoInteractions(bookingRepository, listingRepository);
+        verify(listingCalendarCache, never()).put(anyLong(), anyLong(), anyMap());
+    }
+
+    @Test
+    void testGetCalendar_WhenListingNotFound_ShouldThrowException() {
+        Long listingId = 1L;
+
+        when(listingCalendarCache.get(eq(listingId), anyList()))
+                .thenReturn(new ListingCalendarCache.Snapshot(0L, Map.of()));
+        when(bookingRepository.findIntervalsOverlapping(eq(listingId), anyCollection(), any(), any()))
+                .thenReturn(List.of());
+        when(listingRepository.existsById(listingId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> listingCalendarService.getCalendar(listingId, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 2)));
+        verify(listingCalendarCache, never()).put(anyLong(), anyLong(), anyMap());
+    }
+
+    @Test
+    void testGetCalendar_WhenRangeTooLong_ShouldThrowException() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+
+        assertThrows(BadRequestException.class,
+                () -> listingCalendarService.getCalendar(1L, from, from.plusDays(ListingCalendarService.MAX_NIGHTS + 1)));
+        assertThrows(BadRequestException.class, () -> listingCalendarService.getCalendar(1L, from, from));
+        verifyNoInteractions(listingCalendarCache, bookingRepository);
+    }
+
+    private static BookingIntervalView booking(LocalDate startDate, LocalDate endDate) {
+        BookingIntervalView booking = mock(BookingIntervalView.class);
+        when(booking.getStartDate()).thenReturn(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        when(booking.getEndDate()).thenReturn(endDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        return booking;
+    }
+}
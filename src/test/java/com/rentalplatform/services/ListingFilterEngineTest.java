@@ -0,0 +1,281 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.ListingFacetsDto;
+import com.rentalplatform.dto.ListingSort;
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingFilterView;
+import com.rentalplatform.search.ListingAvailabilityIndex;
+import com.rentalplatform.search.ListingFilterEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingFilterEngineTest {
+
+    private static final View CHEAP_APARTMENT =
+            new View(1L, 100.0, 2, ListingType.APARTMENT, 4.5, 3, date(2026, 3, 1));
+    private static final View PRICEY_APARTMENT =
+            new View(2L, 250.0, 2, ListingType.APARTMENT, 3.0, 2, date(2026, 6, 1));
+    private static final View LARGE_APARTMENT =
+            new View(3L, 120.0, 3, ListingType.APARTMENT, 4.8, 5, null);
+    private static final View UNREVIEWED_HOUSE =
+            new View(4L, 90.0, 2, ListingType.HOUSE, 5.0, 0, null);
+    private static final View UNPRICED_ROOM =
+            new View(5L, null, 1, ListingType.ROOM, null, null, null);
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private ListingAvailabilityIndex listingAvailabilityIndex;
+
+    private ListingFilterEngine listingFilterEngine;
+
+    @BeforeEach
+    void setUp() {
+        listingFilterEngine = new ListingFilterEngine(listingRepository, listingAvailabilityIndex);
+        ReflectionTestUtils.setField(listingFilterEngine, "enabled", true);
+    }
+
+    @Test
+    void testSupports_ShouldAcceptOnlyStructuredFiltersOnceLoaded() {
+        FilterListingsDto structured = FilterListingsDto.builder().type(ListingType.HOUSE).minPrice(50.0).build();
+        assertFalse(listingFilterEngine.supports(structured));
+
+        loadListings();
+
+        assertTrue(listingFilterEngine.supports(structured));
+        assertFalse(listingFilterEngine.supports(FilterListingsDto.builder().query("sea view").build()));
+        assertFalse(listingFilterEngine.supports(FilterListingsDto.builder().address("Kyiv").build()));
+        assertFalse(listingFilterEngine.supports(FilterListingsDto.builder().sort(ListingSort.POPULAR).build()));
+        assertFalse(listingFilterEngine.supports(FilterListingsDto.builder().radiusKm(5.0).build()));
+        assertFalse(listingFilterEngine.supports(FilterListingsDto.builder().minLatitude(50.0).build()));
+    }
+
+    @Test
+    void testSupports_WithStayDates_ShouldRequireAvailabilityIndex() {
+        loadListings();
+        FilterListingsDto stay = FilterListingsDto.builder()
+                .checkIn(LocalDate.of(2026, 5, 1))
+                .checkOut(LocalDate.of(2026, 5, 4))
+                .build();
+        when(listingAvailabilityIndex.isReady()).thenReturn(false, true);
+
+        assertFalse(listingFilterEngine.supports(stay));
+        assertTrue(listingFilterEngine.supports(stay));
+    }
+
+    @Test
+    void testSupports_WhenDisabled_ShouldRejectEverything() {
+        ReflectionTestUtils.setField(listingFilterEngine, "enabled", false);
+
+        listingFilterEngine.loadAll();
+
+        assertFalse(listingFilterEngine.supports(FilterListingsDto.builder().build()));
+        verifyNoInteractions(listingRepository);
+    }
+
+    @Test
+    void testQuery_ShouldIntersectTypeAndRoomsAndApplyPriceRange() {
+        loadListings();
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .type(ListingType.APARTMENT)
+                .numberOfRooms(2)
+                .minPrice(80.0)
+                .maxPrice(300.0)
+                .build();
+
+        Page<Long> result = listingFilterEngine.query(filter, 0, 10);
+
+        assertEquals(List.of(1L, 2L), result.getContent());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void testQuery_WithPriceFilter_ShouldSkipListingsWithoutPrice() {
+        loadListings();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L),
+                listingFilterEngine.query(FilterListingsDto.builder().minPrice(0.0).build(), 0, 10).getContent());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                listingFilterEngine.query(FilterListingsDto.builder().build(), 0, 10).getContent());
+    }
+
+    @Test
+    void testQuery_WithMinRating_ShouldIgnoreListingsWithoutReviews() {
+        loadListings();
+
+        Page<Long> result = listingFilterEngine.query(FilterListingsDto.builder().minAverageRating(4.0).build(), 0, 10);
+
+        assertEquals(List.of(1L, 3L), result.getContent());
+    }
+
+    @Test
+    void testQuery_ShouldReturnRequestedPageWithTotalOfAllMatches() {
+        loadListings();
+
+        Page<Long> result = listingFilterEngine.query(FilterListingsDto.builder().build(), 1, 2);
+
+        assertEquals(List.of(3L, 4L), result.getContent());
+        assertEquals(5, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void testQuery_WithAvailableFrom_ShouldKeepListingsFreeFromThatDate() {
+        loadListings();
+
+        Page<Long> result = listingFilterEngine.query(
+                FilterListingsDto.builder().availableFrom(LocalDate.of(2026, 5, 1)).build(), 0, 10);
+
+        assertEquals(List.of(2L), result.getContent());
+    }
+
+    @Test
+    void testQuery_WithStayDates_ShouldExcludeBookedListings() {
+        loadListings();
+        LocalDate checkIn = LocalDate.of(2026, 5, 1);
+        LocalDate checkOut = LocalDate.of(2026, 5, 4);
+        when(listingAvailabilityIndex.findBookedListingIds(checkIn, checkOut)).thenReturn(Set.of(1L));
+
+        Page<Long> result = listingFilterEngine.query(FilterListingsDto.builder()
+                .type(ListingType.APARTMENT)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build(), 0, 10);
+
+        assertEquals(List.of(2L, 3L), result.getContent());
+    }
+
+    @Test
+    void testCountFacets_ShouldCountMatchesPerTypeRoomsAndPriceBucket() {
+        loadListings();
+
+        ListingFacetsDto facets = listingFilterEngine.countFacets(
+                FilterListingsDto.builder().type(ListingType.APARTMENT).build()).toDto();
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(3L, facets.getByType().get(ListingType.APARTMENT));
+        assertEquals(0L, facets.getByType().get(ListingType.HOUSE));
+        assertEquals(Map.of(2, 2L, 3, 1L), facets.getByNumberOfRooms());
+        assertEquals(2, facets.getByPrice().get(2).getCount());
+        assertEquals(1, facets.getByPrice().get(3).getCount());
+    }
+
+    @Test
+    void testOnListingChanged_WhenDeleted_ShouldStopMatching() {
+        loadListings();
+
+        listingFilterEngine.onListingChanged(new ListingChangedEvent(1L, ListingChangedEvent.ChangeType.DELETED));
+
+        assertEquals(List.of(2L),
+                listingFilterEngine.query(FilterListingsDto.builder().numberOfRooms(2).type(ListingType.APARTMENT).build(),
+                        0, 10).getContent());
+    }
+
+    @Test
+    void testOnListingChanged_WhenUpdated_ShouldMoveListingBetweenBitmaps() {
+        loadListings();
+        when(listingRepository.findFilterViewById(4L)).thenReturn(Optional.of(
+                new View(4L, 90.0, 3, ListingType.APARTMENT, 5.0, 1, null)));
+
+        listingFilterEngine.onListingChanged(new ListingChangedEvent(4L, ListingChangedEvent.ChangeType.UPDATED));
+
+        assertTrue(listingFilterEngine.query(FilterListingsDto.builder().type(ListingType.HOUSE).build(), 0, 10)
+                .isEmpty());
+        assertEquals(List.of(3L, 4L), listingFilterEngine.query(FilterListingsDto.builder()
+                .type(ListingType.APARTMENT).numberOfRooms(3).build(), 0, 10).getContent());
+    }
+
+    @Test
+    void testOnListingChanged_WhenListingNoLongerExists_ShouldRemoveIt() {
+        loadListings();
+        when(listingRepository.findFilterViewById(5L)).thenReturn(Optional.empty());
+
+        listingFilterEngine.onListingChanged(new ListingChangedEvent(5L, ListingChangedEvent.ChangeType.UPDATED));
+
+        assertEquals(4, listingFilterEngine.query(FilterListingsDto.builder().build(), 0, 10).getTotalElements());
+    }
+
+    @Test
+    void testOnListingsImported_ShouldIndexNewListings() {
+        loadListings();
+        View imported = new View(6L, 60.0, 1, ListingType.ROOM, null, 0, null);
+        when(listingRepository.findFilterViewsByIdIn(List.of(6L))).thenReturn(List.of(imported));
+
+        listingFilterEngine.onListingsImported(new ListingsImportedEvent(List.of(6L)));
+
+        assertEquals(List.of(6L), listingFilterEngine.query(FilterListingsDto.builder()
+                .type(ListingType.ROOM).minPrice(50.0).build(), 0, 10).getContent());
+    }
+
+    private void loadListings() {
+        when(listingRepository.findFilterViewsAfterId(0L, PageRequest.of(0, 5000))).thenReturn(List.of(
+                CHEAP_APARTMENT, PRICEY_APARTMENT, LARGE_APARTMENT, UNREVIEWED_HOUSE, UNPRICED_ROOM));
+        listingFilterEngine.loadAll();
+    }
+
+    private static Instant date(int year, int month, int day) {
+        return LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    private record View(Long id, Double price, Integer rooms, ListingType type, Double averageRating,
+                        Integer reviewCount, Instant nextAvailableDate) implements ListingFilterView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Double getPrice() {
+            return price;
+        }
+
+        @Override
+        public Integer getNumberOfRooms() {
+            return rooms;
+        }
+
+        @Override
+        public ListingType getType() {
+            return type;
+        }
+
+        @Override
+        public Double getAverageRating() {
+            return averageRating;
+        }
+
+        @Override
+        public Integer getReviewCount() {
+            return reviewCount;
+        }
+
+        @Override
+        public Instant getNextAvailableDate() {
+            return nextAvailableDate;
+        }
+    }
+}
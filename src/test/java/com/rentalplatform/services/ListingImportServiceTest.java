@@ -0,0 +1,225 @@
+package com.rentalplatform.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.dto.ListingImportResultDto;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.ListingTitleAddressView;
+import com.rentalplatform.service.ListingImportService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ListingImportService listingImportService;
+
+    @BeforeEach
+    void setUp() {
+        listingImportService = new ListingImportService(userRepository, listingRepository, jdbcTemplate,
+                transactionTemplate, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher);
+    }
+
+    @Test
+    void testImportListings_Ndjson_ShouldReportMalformedAndDuplicateRows() {
+        String username = "landlord";
+        UserEntity landlord = UserEntity.builder().id(1L).username(username).build();
+        String body = """
+                {"title":"Loft","description":"Nice","price":100,"address":"Main 1","numberOfRooms":2,"type":"APARTMENT"}
+                {"title":"Broken",
+                {"title":"Loft","description":"Again","price":120,"address":"Main 1","numberOfRooms":2,"type":"APARTMENT"}
+                """;
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
+        when(listingRepository.findTitlesAndAddressesByLandlordId(eq(1L), anyCollection())).thenReturn(List.of());
+        runTransactionCallbacks();
+
+        ListingImportResultDto result = listingImportService.importListings(stream(body), "application/x-ndjson", username);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals(3, result.getErrors().get(1).getLine());
+        assertEquals("You've already created a listing with such title and address",
+                result.getErrors().get(1).getMessage());
+        verify(jdbcTemplate, times(1)).batchUpdate(
+                any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ListingsImportedEvent.class));
+    }
+
+    @Test
+    void testImportListings_Csv_ShouldSkipListingsThatAlreadyExist() {
+        String username = "landlord";
+        UserEntity landlord = UserEntity.builder().id(1L).username(username).build();
+        String body = """
+                title,description,price,address,numberOfRooms,type
+                Loft,Nice,100,"Main 1, Kyiv",2,apartment
+                """;
+        ListingTitleAddressView existing = mock(ListingTitleAddressView.class);
+
+        when(existing.getTitle()).thenReturn("Loft");
+        when(existing.getAddress()).thenReturn("Main 1, Kyiv");
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
+        when(listingRepository.findTitlesAndAddressesByLandlordId(eq(1L), anyCollection())).thenReturn(List.of(existing));
+
+        ListingImportResultDto result = listingImportService.importListings(stream(body), "text/csv", username);
+
+        assertEquals(1, result.getTotalRows());
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void testImportListings_Csv_ShouldReadQuotedValuesSpanningLinesAsOneRow() throws Exception {
+        String username = "landlord";
+        UserEntity landlord = UserEntity.builder().id(1L).username(username).build();
+        String body = "id,title,description,price,address,latitude,longitude,numberOfRooms,type,averageRating," +
+                "reviewCount,createdAt,nextAvailableDate,landlordUsername\r\n" +
+                "1,\"Loft, \"\"city\"\" view\",\"Line one\r\nline two\",120.0,\"Main 1, Kyiv\",,,2,APARTMENT,0.0,0," +
+                "2026-01-01T10:00:00Z,,landlord\r\n" +
+                "2,Flat,Cheap,-5,Main 2,,,0,HOUSE,0.0,0,2026-01-01T10:00:00Z,,landlord\r\n" +
+                "3,Studio,\"Unterminated\r\n";
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
+        when(listingRepository.findTitlesAndAddressesByLandlordId(eq(1L), anyCollection())).thenReturn(List.of());
+        runTransactionCallbacks();
+
+        ListingImportResultDto result = listingImportService.importListings(stream(body), "text/csv", username);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("The number of rooms must be greater than 0; The price must be greater than 0",
+                result.getErrors().get(0).getMessage());
+        assertEquals(5, result.getErrors().get(1).getLine());
+        assertEquals("Unterminated quoted value", result.getErrors().get(1).getMessage());
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), setter.capture(), any(KeyHolder.class));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, 0);
+        verify(statement).setString(1, "Loft, \"city\" view");
+        verify(statement).setString(2, "Line one\r\nline two");
+        verify(statement).setString(4, "Main 1, Kyiv");
+    }
+
+    @Test
+    void testImportListings_Csv_WhenQuoteNeverCloses_ShouldReportTheRecordAndImportTheRest() {
+        String username = "landlord";
+        UserEntity landlord = UserEntity.builder().id(1L).username(username).build();
+        String body = """
+                title,description,price,address,numberOfRooms,type
+                Flat,Bright 5" windows,90,Main 2,1,apartment
+                Loft,"Never closed,100,Main 1,2,apartment
+                Studio,Cosy,80,Main 3,1,apartment
+                """;
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
+        when(listingRepository.findTitlesAndAddressesByLandlordId(eq(1L), anyCollection())).thenReturn(List.of());
+        runTransactionCallbacks();
+
+        ListingImportResultDto result = listingImportService.importListings(stream(body), "text/csv", username);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals("Unterminated quoted value", result.getErrors().get(0).getMessage());
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), setter.capture(), any(KeyHolder.class));
+        assertEquals(2, setter.getValue().getBatchSize());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, 0);
+        verify(statement).setString(2, "Bright 5\" windows");
+    }
+
+    @Test
+    void testImportListings_WhenRequiredFieldsMissing_ShouldReportValidationMessages() {
+        String username = "landlord";
+        UserEntity landlord = UserEntity.builder().id(1L).username(username).build();
+        String body = """
+                {"title":"Loft","price":100,"address":"Main 1","numberOfRooms":2,"type":"APARTMENT","latitude":91}
+                """;
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
+
+        ListingImportResultDto result = listingImportService.importListings(stream(body), "application/x-ndjson", username);
+
+        assertEquals(0, result.getImported());
+        assertEquals("Description is required!; Latitude must be between -90 and 90",
+                result.getErrors().get(0).getMessage());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void testImportListings_WhenContentTypeUnsupported_ShouldThrowException() {
+        String username = "landlord";
+        UserEntity landlord = UserEntity.builder().id(1L).username(username).build();
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingImportService.importListings(stream("{}"), "application/json", username));
+        assertEquals("Import supports only 'application/x-ndjson' and 'text/csv'", exception.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.BookingStatus;
+import com.rentalplatform.event.BookingStatusChangedEvent;
+import com.rentalplatform.event.ListingFavoritedEvent;
+import com.rentalplatform.utils.ListingPopularity;
+import com.rentalplatform.utils.ListingPopularityTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingPopularityTrackerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ListingPopularityTracker listingPopularityTracker;
+
+    @Test
+    void testLogScore_ShouldHalveWeightEveryHalfLife() {
+        Instant at = Instant.parse("2026-03-01T00:00:00Z");
+        double score = ListingPopularity.logScore(ListingPopularity.FAVORITE_WEIGHT, at);
+        double sameSignalLater = ListingPopularity.logScore(ListingPopularity.FAVORITE_WEIGHT,
+                at.plus(ListingPopularity.HALF_LIFE));
+
+        assertEquals(ListingPopularity.FAVORITE_WEIGHT, decayedValue(score, at), 1e-9);
+        assertEquals(ListingPopularity.FAVORITE_WEIGHT / 2,
+                decayedValue(score, at.plus(ListingPopularity.HALF_LIFE)), 1e-9);
+        assertEquals(Math.log(2), sameSignalLater - score, 1e-9);
+    }
+
+    @Test
+    void testFlush_ShouldMergeSignalsPerListingIntoOneUpdate() {
+        runTransactionCallbacks();
+        listingPopularityTracker.recordViews(1L, 3);
+        listingPopularityTracker.onListingFavorited(new ListingFavoritedEvent(1L));
+        listingPopularityTracker.onBookingStatusChanged(bookingStatusChanged(1L, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED));
+        listingPopularityTracker.onBookingStatusChanged(bookingStatusChanged(1L, BookingStatus.CONFIRMED,
+                BookingStatus.CONFIRMED));
+        listingPopularityTracker.recordViews(2L, 1);
+
+        listingPopularityTracker.flush();
+
+        List<Object[]> updates = capturedUpdates(1).get(0);
+        updates.sort(Comparator.comparing(update -> (Long) update[3]));
+        assertEquals(2, updates.size());
+        assertWritten(updates.get(0), 1L, 3 * ListingPopularity.VIEW_WEIGHT + ListingPopularity.FAVORITE_WEIGHT
+                + ListingPopularity.BOOKING_WEIGHT);
+        assertWritten(updates.get(1), 2L, ListingPopularity.VIEW_WEIGHT);
+    }
+
+    @Test
+    void testFlush_WhenNothingPending_ShouldNotWrite() {
+        listingPopularityTracker.recordViews(1L, 0);
+
+        listingPopularityTracker.flush();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void testFlush_WhenWriteFails_ShouldKeepWeightsForNextFlush() {
+        runTransactionCallbacks();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[]{1});
+        listingPopularityTracker.recordViews(1L, 2);
+
+        listingPopularityTracker.flush();
+        listingPopularityTracker.onListingFavorited(new ListingFavoritedEvent(1L));
+        listingPopularityTracker.flush();
+        listingPopularityTracker.flush();
+
+        List<List<Object[]>> batches = capturedUpdates(2);
+        assertEquals(1, batches.get(1).size());
+        assertWritten(batches.get(1).get(0), 1L, 2 * ListingPopularity.VIEW_WEIGHT
+                + ListingPopularity.FAVORITE_WEIGHT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> capturedUpdates(int flushes) {
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(flushes)).batchUpdate(startsWith("UPDATE listings"), updates.capture());
+        return updates.getAllValues();
+    }
+
+    private static void assertWritten(Object[] update, Long listingId, double weight) {
+        double signal = (Double) update[0];
+        assertEquals(listingId, update[3]);
+        assertEquals(signal, update[1]);
+        assertEquals(signal, update[2]);
+        assertEquals(weight, decayedValue(signal, Instant.now()), weight * 1e-5);
+    }
+
+    private static double decayedValue(double score, Instant at) {
+        return Math.exp(score - (at.getEpochSecond() - ListingPopularity.EPOCH.getEpochSecond())
+                / ListingPopularity.TAU_SECONDS);
+    }
+
+    private static BookingStatusChangedEvent bookingStatusChanged(Long listingId, BookingStatus previousStatus,
+                                                                  BookingStatus status) {
+        Instant startDate = Instant.parse("2026-05-01T00:00:00Z");
+        return new BookingStatusChangedEvent(10L, listingId, previousStatus, status, startDate,
+                startDate.plusSeconds(86400));
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+}
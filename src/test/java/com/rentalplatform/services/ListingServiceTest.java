@@ -1,31 +1,54 @@
 package com.rentalplatform.services;
 
+import com.rentalplatform.dto.CursorPageDto;
 import com.rentalplatform.dto.creationDto.CreationListingDto;
 import com.rentalplatform.dto.updateDto.EditListingDto;
 import com.rentalplatform.dto.FilterListingsDto;
 import com.rentalplatform.dto.ListingDto;
+import com.rentalplatform.dto.ListingFacetsDto;
+import com.rentalplatform.dto.ListingSort;
+import com.rentalplatform.dto.ListingSuggestionDto;
+import com.rentalplatform.dto.ListingSummaryDto;
+import com.rentalplatform.dto.PageDto;
+import com.rentalplatform.dto.ResourceVersion;
 import com.rentalplatform.entity.ListingEntity;
 import com.rentalplatform.entity.ListingType;
 import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.ListingChangedEvent;
 import com.rentalplatform.exception.BadRequestException;
 import com.rentalplatform.exception.NotFoundException;
 import com.rentalplatform.mapper.ListingDtoMapper;
+import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.ReviewRepository;
 import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.EntityVersionView;
+import com.rentalplatform.repository.projection.ListingFacetRow;
+import com.rentalplatform.repository.projection.RecentReviewView;
+import com.rentalplatform.search.ListingAvailabilityIndex;
+import com.rentalplatform.search.ListingFilterEngine;
+import com.rentalplatform.search.ListingSimilarityIndex;
+import com.rentalplatform.search.ListingSuggestionIndex;
 import com.rentalplatform.service.ListingService;
+import com.rentalplatform.utils.ListingCursor;
+import com.rentalplatform.utils.ListingViewCounter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,9 +63,30 @@ class ListingServiceTest {
     @Mock
     private ListingRepository listingRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
     @Mock
     private ListingDtoMapper listingDtoMapper;
 
+    @Mock
+    private ListingFilterEngine listingFilterEngine;
+
+    @Mock
+    private ListingSuggestionIndex listingSuggestionIndex;
+
+    @Mock
+    private ListingSimilarityIndex listingSimilarityIndex;
+
+    @Mock
+    private ListingViewCounter listingViewCounter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ListingService listingService;
 
@@ -67,6 +111,30 @@ class ListingServiceTest {
         assertEquals(listingDto.getId(), result.getId());
         verify(listingRepository, times(1)).findById(listingId);
         verify(listingDtoMapper, times(1)).makeListingDto(listing);
+        verifyNoInteractions(listingViewCounter);
+    }
+
+    @Test
+    void testRecordView_ShouldCountView() {
+        listingService.recordView(1L);
+
+        verify(listingViewCounter, times(1)).recordView(1L);
+    }
+
+    @Test
+    void testFindListingVersion_ShouldNotLoadListing() {
+        Long listingId = 1L;
+        Instant updatedAt = Instant.parse("2025-01-01T10:00:00Z");
+        EntityVersionView version = mock(EntityVersionView.class);
+        when(version.getVersion()).thenReturn(3L);
+        when(version.getUpdatedAt()).thenReturn(updatedAt);
+
+        when(listingRepository.findVersionById(listingId)).thenReturn(Optional.of(version));
+
+        Optional<ResourceVersion> result = listingService.findListingVersion(listingId);
+
+        assertEquals(Optional.of(new ResourceVersion("listing-1-3", updatedAt)), result);
+        verify(listingRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -98,7 +166,7 @@ class ListingServiceTest {
                 .landlord(landlord)
                 .build();
 
-        ListingDto listingDto = ListingDto.builder()
+        ListingSummaryDto listingDto = ListingSummaryDto.builder()
                 .id(1L)
                 .title("Test Title")
                 .build();
@@ -106,16 +174,17 @@ class ListingServiceTest {
         Page<ListingEntity> listingsPage = new PageImpl<>(List.of(listing), request, 1);
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(landlord));
-        when(listingRepository.findAllWithReviewsByLandlordId(landlord.getId(), request)).thenReturn(listingsPage);
-        when(listingDtoMapper.makeListingDtoWithReviews(listing)).thenReturn(listingDto);
+        when(listingRepository.findAllByLandlordId(landlord.getId(), request)).thenReturn(listingsPage);
+        when(listingDtoMapper.makeListingSummaryDto(listing, List.of())).thenReturn(listingDto);
 
-        Page<ListingDto> result = listingService.getMyListings(username, page, size);
+        Page<ListingSummaryDto> result = listingService.getMyListings(username, page, size);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(userRepository, times(1)).findByUsername(username);
-        verify(listingRepository, times(1)).findAllWithReviewsByLandlordId(landlord.getId(), request);
-        verify(listingDtoMapper, times(1)).makeListingDtoWithReviews(listing);
+        verify(listingRepository, times(1)).findAllByLandlordId(landlord.getId(), request);
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(listing, List.of());
+        verify(reviewRepository, never()).findRecentByListingIds(anyCollection(), anyInt());
     }
 
     @Test
@@ -144,7 +213,7 @@ class ListingServiceTest {
                 () -> listingService.getMyListings(username, page, size));
 
         assertEquals("Maximum page size is 50", exception.getMessage());
-        verify(listingRepository, never()).findAllWithReviewsByLandlordId(anyLong(), any(PageRequest.class));
+        verify(listingRepository, never()).findAllByLandlordId(anyLong(), any(PageRequest.class));
     }
 
     @Test
@@ -168,7 +237,7 @@ class ListingServiceTest {
                 .title("Test Title")
                 .build();
 
-        ListingDto listingDto = ListingDto.builder()
+        ListingSummaryDto listingDto = ListingSummaryDto.builder()
                 .id(listing.getId())
                 .title(listing.getTitle())
                 .build();
@@ -177,14 +246,61 @@ class ListingServiceTest {
 
         when(listingRepository.findAll(any(Specification.class), eq(pageRequest)))
                 .thenReturn(listingPage);
-        when(listingDtoMapper.makeListingDtoWithReviews(listing)).thenReturn(listingDto);
+        when(listingDtoMapper.makeListingSummaryDto(listing, List.of())).thenReturn(listingDto);
 
-        Page<ListingDto> result = listingService.getAllListings(filter, page, size);
+        PageDto<ListingSummaryDto> result = listingService.getAllListings(filter, page, size);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(listingRepository, times(1)).findAll(any(Specification.class), eq(pageRequest));
-        verify(listingDtoMapper, times(1)).makeListingDtoWithReviews(listing);
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(listing, List.of());
+    }
+
+    @Test
+    void testGetAllListings_ShouldLoadRecentReviewsInOneQuery() {
+        int page = 0;
+        int size = 10;
+        PageRequest pageRequest = PageRequest.of(page, size);
+        FilterListingsDto filter = FilterListingsDto.builder().build();
+
+        ListingEntity reviewed = ListingEntity.builder().id(1L).reviewCount(2).build();
+        ListingEntity notReviewed = ListingEntity.builder().id(2L).reviewCount(0).build();
+        RecentReviewView recentReview = mock(RecentReviewView.class);
+
+        when(recentReview.getListingId()).thenReturn(1L);
+        when(listingRepository.findAll(any(Specification.class), eq(pageRequest)))
+                .thenReturn(new PageImpl<>(List.of(reviewed, notReviewed), pageRequest, 2));
+        when(reviewRepository.findRecentByListingIds(eq(List.of(1L)), anyInt())).thenReturn(List.of(recentReview));
+
+        listingService.getAllListings(filter, page, size);
+
+        verify(reviewRepository, times(1)).findRecentByListingIds(eq(List.of(1L)), anyInt());
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(reviewed, List.of(recentReview));
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(notReviewed, List.of());
+    }
+
+    @Test
+    void testGetAllListings_WhenFilterEngineSupportsFilter_ShouldFetchOnlyPageIds() {
+        int page = 0;
+        int size = 10;
+        PageRequest pageRequest = PageRequest.of(page, size);
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .type(ListingType.APARTMENT)
+                .build();
+
+        ListingEntity first = ListingEntity.builder().id(7L).build();
+        ListingEntity second = ListingEntity.builder().id(3L).build();
+
+        when(listingFilterEngine.supports(filter)).thenReturn(true);
+        when(listingFilterEngine.query(filter, page, size)).thenReturn(new PageImpl<>(List.of(7L, 3L), pageRequest, 2));
+        when(listingRepository.findAllByIdIn(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        PageDto<ListingSummaryDto> result = listingService.getAllListings(filter, page, size);
+
+        assertEquals(2, result.getTotalElements());
+        verify(listingRepository, never()).findAll(any(Specification.class), any(PageRequest.class));
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(first, List.of());
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(second, List.of());
     }
 
     @Test
@@ -200,6 +316,328 @@ class ListingServiceTest {
         verify(listingRepository, never()).findAll(any(Specification.class), any(PageRequest.class));
     }
 
+    @Test
+    void testGetAllListings_WhenStayDatesGiven_ShouldExcludeBookedListings() {
+        int page = 0;
+        int size = 10;
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        LocalDate checkOut = checkIn.plusDays(4);
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build();
+
+        when(listingRepository.findAll(any(Specification.class), any(PageRequest.class))).thenReturn(Page.empty());
+
+        listingService.getAllListings(filter, page, size);
+
+        verify(listingRepository, times(1)).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListings_WhenFilterEngineServesStay_ShouldDropListingsBookedElsewhere() {
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(4))
+                .build();
+        ListingEntity second = ListingEntity.builder().id(2L).build();
+        ListingEntity third = ListingEntity.builder().id(3L).build();
+
+        when(listingFilterEngine.supports(filter)).thenReturn(true);
+        when(listingFilterEngine.query(filter, 0, 2))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L), PageRequest.of(0, 2), 3));
+        when(listingFilterEngine.query(filter, 0, 3))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L, 3L), PageRequest.of(0, 3), 3));
+        when(bookingRepository.findListingIdsBookedBetween(anyList(), eq(ListingAvailabilityIndex.ACTIVE_STATUSES),
+                any(Instant.class), any(Instant.class))).thenReturn(List.of(1L));
+        when(listingRepository.findAllByIdIn(List.of(2L, 3L))).thenReturn(List.of(second, third));
+
+        PageDto<ListingSummaryDto> result = listingService.getAllListings(filter, 0, 2);
+
+        assertEquals(2, result.getTotalElements());
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(second, List.of());
+        verify(listingDtoMapper, times(1)).makeListingSummaryDto(third, List.of());
+        verify(listingRepository, never()).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetListingFacets_WhenStayDatesGiven_ShouldCountInDatabase() {
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(4))
+                .build();
+
+        when(listingFilterEngine.supports(filter)).thenReturn(true);
+        when(listingRepository.countFacets(any(Specification.class))).thenReturn(List.of());
+
+        listingService.getListingFacets(filter);
+
+        verify(listingFilterEngine, never()).countFacets(any(FilterListingsDto.class));
+    }
+
+    @Test
+    void testGetAllListings_WhenCheckOutNotAfterCheckIn_ShouldThrowException() {
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .checkIn(checkIn)
+                .checkOut(checkIn)
+                .build();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.getAllListings(filter, 0, 10));
+        assertEquals("The check-in date must be before the check-out date", exception.getMessage());
+
+        verify(listingRepository, never()).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListings_WhenRadiusWithoutLocation_ShouldThrowException() {
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .radiusKm(5.0)
+                .build();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.getAllListings(filter, 0, 10));
+        assertEquals("Latitude and longitude are required for radius search and distance sort", exception.getMessage());
+
+        verify(listingRepository, never()).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListings_WhenBoundingBoxIncomplete_ShouldThrowException() {
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .minLatitude(50.0)
+                .maxLatitude(51.0)
+                .minLongitude(30.0)
+                .build();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.getAllListings(filter, 0, 10));
+        assertEquals("Bounding box requires minimal and maximum latitude and longitude", exception.getMessage());
+    }
+
+    @Test
+    void testGetAllListings_WhenBoundingBoxCrossesAntimeridian_ShouldQueryDatabase() {
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .minLatitude(-20.0)
+                .maxLatitude(-10.0)
+                .minLongitude(170.0)
+                .maxLongitude(-170.0)
+                .build();
+
+        when(listingRepository.findAll(any(Specification.class), any(PageRequest.class))).thenReturn(Page.empty());
+
+        listingService.getAllListings(filter, 0, 10);
+
+        verify(listingRepository, times(1)).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListings_WhenBoundingBoxLatitudesSwapped_ShouldThrowException() {
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .minLatitude(51.0)
+                .maxLatitude(50.0)
+                .minLongitude(30.0)
+                .maxLongitude(31.0)
+                .build();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.getAllListings(filter, 0, 10));
+        assertEquals("Bounding box minimal latitude must not exceed the maximum one", exception.getMessage());
+    }
+
+    @Test
+    void testGetAllListings_WhenSortedByDistance_ShouldQueryDatabase() {
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .latitude(50.45)
+                .longitude(30.52)
+                .radiusKm(10.0)
+                .sort(ListingSort.DISTANCE)
+                .build();
+
+        when(listingRepository.findAll(any(Specification.class), any(PageRequest.class))).thenReturn(Page.empty());
+
+        listingService.getAllListings(filter, 0, 10);
+
+        verify(listingFilterEngine, times(1)).supports(filter);
+        verify(listingRepository, times(1)).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListings_WhenSortedByPopularity_ShouldQueryDatabase() {
+        FilterListingsDto filter = FilterListingsDto.builder()
+                .type(ListingType.APARTMENT)
+                .sort(ListingSort.POPULAR)
+                .build();
+
+        when(listingRepository.findAll(any(Specification.class), any(PageRequest.class))).thenReturn(Page.empty());
+
+        listingService.getAllListings(filter, 0, 10);
+
+        verify(listingFilterEngine, never()).query(any(FilterListingsDto.class), anyInt(), anyInt());
+        verify(listingRepository, times(1)).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListingsByCursor_WhenSortedByPopularity_ShouldThrowException() {
+        FilterListingsDto filter = FilterListingsDto.builder().sort(ListingSort.POPULAR).build();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.getAllListingsByCursor(filter, null, 10));
+        assertEquals("Sorting by popularity is not supported with cursor pagination", exception.getMessage());
+    }
+
+    @Test
+    void testGetListingFacets_ShouldSumGroupedRowsPerFacet() {
+        FilterListingsDto filter = FilterListingsDto.builder().minPrice(10.0).build();
+
+        when(listingRepository.countFacets(any(Specification.class))).thenReturn(List.of(
+                new ListingFacetRow(ListingType.APARTMENT, 2, 1, 3L),
+                new ListingFacetRow(ListingType.APARTMENT, 3, 1, 2L),
+                new ListingFacetRow(ListingType.HOUSE, 2, 4, 1L)));
+
+        ListingFacetsDto result = listingService.getListingFacets(filter);
+
+        assertEquals(6, result.getTotal());
+        assertEquals(5L, result.getByType().get(ListingType.APARTMENT));
+        assertEquals(1L, result.getByType().get(ListingType.HOUSE));
+        assertEquals(0L, result.getByType().get(ListingType.ROOM));
+        assertEquals(4L, result.getByNumberOfRooms().get(2));
+        assertEquals(2L, result.getByNumberOfRooms().get(3));
+        assertEquals(5L, result.getByPrice().get(1).getCount());
+        assertEquals(1L, result.getByPrice().get(4).getCount());
+        verify(listingRepository, times(1)).countFacets(any(Specification.class));
+    }
+
+    @Test
+    void testSuggest_Success() {
+        List<ListingSuggestionDto> suggestions = List.of(ListingSuggestionDto.builder()
+                .text("12 Main Street")
+                .field(ListingSuggestionDto.SuggestionField.ADDRESS)
+                .weight(4)
+                .build());
+
+        when(listingSuggestionIndex.isReady()).thenReturn(true);
+        when(listingSuggestionIndex.suggest("main st", 5)).thenReturn(suggestions);
+
+        List<ListingSuggestionDto> result = listingService.suggest("main st", 5);
+
+        assertEquals(suggestions, result);
+    }
+
+    @Test
+    void testSuggest_WhenLimitTooLarge_ShouldThrowException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.suggest("main", 11));
+        assertEquals("Maximum number of suggestions is 10", exception.getMessage());
+
+        verify(listingSuggestionIndex, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    void testSuggest_WhenLimitBelowOne_ShouldThrowException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.suggest("main", -1));
+        assertEquals("Number of suggestions must be at least 1", exception.getMessage());
+
+        verify(listingSuggestionIndex, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    void testGetSimilarListings_ShouldKeepIndexOrder() {
+        Long listingId = 1L;
+        ListingEntity first = ListingEntity.builder().id(7L).reviewCount(0).build();
+        ListingEntity second = ListingEntity.builder().id(3L).reviewCount(0).build();
+        ListingSummaryDto firstDto = ListingSummaryDto.builder().id(7L).build();
+        ListingSummaryDto secondDto = ListingSummaryDto.builder().id(3L).build();
+
+        when(listingRepository.existsById(listingId)).thenReturn(true);
+        when(listingSimilarityIndex.isReady()).thenReturn(true);
+        when(listingSimilarityIndex.findSimilar(listingId, 2)).thenReturn(List.of(7L, 3L));
+        when(listingRepository.findAllByIdIn(List.of(7L, 3L))).thenReturn(List.of(second, first));
+        when(listingDtoMapper.makeListingSummaryDto(first, List.of())).thenReturn(firstDto);
+        when(listingDtoMapper.makeListingSummaryDto(second, List.of())).thenReturn(secondDto);
+
+        List<ListingSummaryDto> result = listingService.getSimilarListings(listingId, 2);
+
+        assertEquals(List.of(firstDto, secondDto), result);
+    }
+
+    @Test
+    void testGetSimilarListings_WhenListingNotFound_ShouldThrowException() {
+        Long listingId = 1L;
+
+        when(listingRepository.existsById(listingId)).thenReturn(false);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> listingService.getSimilarListings(listingId, 5));
+        assertEquals("Listing with id '1' not found", exception.getMessage());
+
+        verify(listingSimilarityIndex, never()).findSimilar(anyLong(), anyInt());
+    }
+
+    @Test
+    void testGetAllListingsByCursor_WhenMoreRowsThanSize_ShouldReturnNextCursor() {
+        int size = 2;
+        FilterListingsDto filter = FilterListingsDto.builder().build();
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+
+        ListingEntity first = ListingEntity.builder().id(3L).createdAt(createdAt).build();
+        ListingEntity second = ListingEntity.builder().id(2L).createdAt(createdAt).build();
+        ListingEntity third = ListingEntity.builder().id(1L).createdAt(createdAt).build();
+
+        when(listingRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(first, second, third));
+        when(listingDtoMapper.makeListingSummaryDto(List.of(first, second), Map.of()))
+                .thenReturn(List.of(ListingSummaryDto.builder().id(3L).build(), ListingSummaryDto.builder().id(2L).build()));
+
+        CursorPageDto<ListingSummaryDto> result = listingService.getAllListingsByCursor(filter, null, size);
+
+        assertTrue(result.isHasNext());
+        assertEquals(2, result.getContent().size());
+        assertEquals(new ListingCursor(createdAt, 2L), ListingCursor.decode(result.getNextCursor()));
+        verify(listingRepository, never()).findAll(any(Specification.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetAllListingsByCursor_WhenLastPage_ShouldNotReturnNextCursor() {
+        FilterListingsDto filter = FilterListingsDto.builder().build();
+        String cursor = new ListingCursor(Instant.parse("2025-01-01T10:00:00Z"), 5L).encode();
+        ListingEntity listing = ListingEntity.builder().id(4L).createdAt(Instant.now()).build();
+
+        when(listingRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(listing));
+        when(listingDtoMapper.makeListingSummaryDto(List.of(listing), Map.of()))
+                .thenReturn(List.of(ListingSummaryDto.builder().id(4L).build()));
+
+        CursorPageDto<ListingSummaryDto> result = listingService.getAllListingsByCursor(filter, cursor, 10);
+
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(1, result.getContent().size());
+    }
+
+    @Test
+    void testGetAllListingsByCursor_WhenSizeBelowOne_ShouldThrowException() {
+        FilterListingsDto filter = FilterListingsDto.builder().build();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> listingService.getAllListingsByCursor(filter, null, 0));
+        assertEquals("Page size must be at least 1", exception.getMessage());
+        verifyNoInteractions(listingRepository);
+    }
+
+    @Test
+    void testGetAllListingsByCursor_WhenCursorInvalid_ShouldThrowException() {
+        FilterListingsDto filter = FilterListingsDto.builder().build();
+
+        assertThrows(BadRequestException.class,
+                () -> listingService.getAllListingsByCursor(filter, "not-a-cursor", 10));
+        verify(listingRepository, never()).findBy(any(Specification.class), any(Function.class));
+    }
+
     @Test
     void testCreateListing_Success() {
         String username = "Test Username";
@@ -388,6 +826,8 @@ class ListingServiceTest {
 
         verify(listingRepository, times(1)).findById(listingId);
         verify(listingRepository, times(1)).delete(listing);
+        verify(eventPublisher, times(1))
+                .publishEvent(new ListingChangedEvent(listingId, ListingChangedEvent.ChangeType.DELETED));
     }
 
     @Test
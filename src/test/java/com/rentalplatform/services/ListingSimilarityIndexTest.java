@@ -0,0 +1,153 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingSimilarityView;
+import com.rentalplatform.search.ListingSimilarityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingSimilarityIndexTest {
+
+    private static final View KYIV_APARTMENT =
+            new View(1L, "Cozy apartment in Kyiv center", 100.0, 2, ListingType.APARTMENT, 50.45, 30.52);
+    private static final View KYIV_APARTMENT_NEARBY =
+            new View(2L, "Cozy apartment near Kyiv center", 110.0, 2, ListingType.APARTMENT, 50.46, 30.51);
+    private static final View LVIV_HOUSE =
+            new View(3L, "Large family house", 900.0, 6, ListingType.HOUSE, 49.84, 24.03);
+    private static final View KYIV_ROOM =
+            new View(4L, "Studio room in Kyiv", 60.0, 1, ListingType.ROOM, 50.44, 30.50);
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ListingSimilarityIndex listingSimilarityIndex;
+
+    @BeforeEach
+    void setUp() {
+        listingSimilarityIndex = new ListingSimilarityIndex(listingRepository);
+        ReflectionTestUtils.setField(listingSimilarityIndex, "enabled", true);
+    }
+
+    @Test
+    void testLoadAll_ShouldMakeIndexReady() {
+        assertFalse(listingSimilarityIndex.isReady());
+
+        loadListings();
+
+        assertTrue(listingSimilarityIndex.isReady());
+    }
+
+    @Test
+    void testFindSimilar_ShouldRankClosestListingsFirstAndExcludeListingItself() {
+        loadListings();
+
+        assertEquals(List.of(2L, 4L, 3L), listingSimilarityIndex.findSimilar(1L, 3));
+        assertEquals(List.of(2L), listingSimilarityIndex.findSimilar(1L, 1));
+    }
+
+    @Test
+    void testFindSimilar_WhenListingNotIndexed_ShouldReturnEmptyList() {
+        loadListings();
+
+        assertTrue(listingSimilarityIndex.findSimilar(99L, 5).isEmpty());
+        assertTrue(listingSimilarityIndex.findSimilar(1L, 0).isEmpty());
+    }
+
+    @Test
+    void testOnListingChanged_WhenDeletedAndAnotherAdded_ShouldReuseFreedSlot() {
+        loadListings();
+
+        listingSimilarityIndex.onListingChanged(new ListingChangedEvent(2L, ListingChangedEvent.ChangeType.DELETED));
+
+        assertEquals(List.of(4L, 3L), listingSimilarityIndex.findSimilar(1L, 3));
+        assertTrue(listingSimilarityIndex.findSimilar(2L, 3).isEmpty());
+
+        View readded = new View(5L, "Cozy apartment near Kyiv center", 105.0, 2, ListingType.APARTMENT, 50.46, 30.51);
+        when(listingRepository.findSimilarityViewById(5L)).thenReturn(Optional.of(readded));
+        listingSimilarityIndex.onListingChanged(new ListingChangedEvent(5L, ListingChangedEvent.ChangeType.CREATED));
+
+        assertEquals(List.of(5L, 4L, 3L), listingSimilarityIndex.findSimilar(1L, 3));
+        assertEquals(4, ReflectionTestUtils.getField(listingSimilarityIndex, "slotCount"));
+    }
+
+    @Test
+    void testOnListingChanged_WhenUpdated_ShouldReindexListingInPlace() {
+        loadListings();
+
+        View movedHouse = new View(3L, "Cozy apartment in Kyiv center", 100.0, 2, ListingType.APARTMENT, 50.45, 30.52);
+        when(listingRepository.findSimilarityViewById(3L)).thenReturn(Optional.of(movedHouse));
+        listingSimilarityIndex.onListingChanged(new ListingChangedEvent(3L, ListingChangedEvent.ChangeType.UPDATED));
+
+        assertEquals(List.of(3L, 2L, 4L), listingSimilarityIndex.findSimilar(1L, 3));
+        assertEquals(4, ReflectionTestUtils.getField(listingSimilarityIndex, "slotCount"));
+    }
+
+    private void loadListings() {
+        when(listingRepository.findSimilarityViewsAfterId(0L, PageRequest.of(0, 5000)))
+                .thenReturn(List.of(KYIV_APARTMENT, KYIV_APARTMENT_NEARBY, LVIV_HOUSE, KYIV_ROOM));
+        listingSimilarityIndex.loadAll();
+    }
+
+    private record View(Long id, String title, Double price, Integer rooms, ListingType type,
+                        Double latitude, Double longitude) implements ListingSimilarityView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public Double getPrice() {
+            return price;
+        }
+
+        @Override
+        public Integer getNumberOfRooms() {
+            return rooms;
+        }
+
+        @Override
+        public ListingType getType() {
+            return type;
+        }
+
+        @Override
+        public Double getAverageRating() {
+            return null;
+        }
+
+        @Override
+        public Integer getReviewCount() {
+            return 0;
+        }
+
+        @Override
+        public Double getLatitude() {
+            return latitude;
+        }
+
+        @Override
+        public Double getLongitude() {
+            return longitude;
+        }
+    }
+}
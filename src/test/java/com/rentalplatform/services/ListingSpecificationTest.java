@@ -0,0 +1,92 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.ListingEntity;
+import com.rentalplatform.utils.ListingSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class ListingSpecificationTest {
+
+    @Mock
+    private Root<ListingEntity> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+
+    @Mock
+    private Path<Object> path;
+
+    @Mock
+    private Expression<Object> expression;
+
+    @Test
+    void testMatchesText_ShouldOnlyFilterByFullTextMatch() {
+        Predicate match = mock(Predicate.class);
+        doReturn(path).when(root).get(anyString());
+        doReturn(expression).when(criteriaBuilder).literal("sea view");
+        doReturn(expression).when(criteriaBuilder).function(eq("listing_text_match"), eq(Boolean.class), any(Expression[].class));
+        doReturn(match).when(criteriaBuilder).isTrue(any());
+
+        Predicate predicate = ListingSpecification.matchesText("sea view").toPredicate(root, query, criteriaBuilder);
+
+        assertSame(match, predicate);
+        verify(root).get("title");
+        verify(root).get("address");
+        verify(root).get("description");
+        verifyNoInteractions(query);
+    }
+
+    @Test
+    void testMatchesText_WhenBlank_ShouldNotFilter() {
+        assertNull(ListingSpecification.matchesText(" "));
+        assertNull(ListingSpecification.orderByTextRank(null));
+    }
+
+    @Test
+    void testOrderByTextRank_ShouldOrderByRankThenId() {
+        Order byRank = mock(Order.class);
+        Order byId = mock(Order.class);
+        Expression<Object> rank = mock(Expression.class);
+        Path<Object> id = mock(Path.class);
+        doReturn(ListingEntity.class).when(query).getResultType();
+        doReturn(path).when(root).get(anyString());
+        doReturn(id).when(root).get("id");
+        doReturn(expression).when(criteriaBuilder).literal("sea view");
+        doReturn(rank).when(criteriaBuilder).function(eq("listing_text_rank"), eq(Double.class), any(Expression[].class));
+        doReturn(byRank).when(criteriaBuilder).desc(rank);
+        doReturn(byId).when(criteriaBuilder).desc(id);
+
+        Predicate predicate = ListingSpecification.orderByTextRank("sea view").toPredicate(root, query, criteriaBuilder);
+
+        assertNull(predicate);
+        verify(query).orderBy(byRank, byId);
+    }
+
+    @Test
+    void testOrderByTextRank_WhenCounting_ShouldNotOrder() {
+        doReturn(Long.class).when(query).getResultType();
+
+        ListingSpecification.orderByTextRank("sea view").toPredicate(root, query, criteriaBuilder);
+
+        verify(query, never()).orderBy(any(Order[].class));
+        verifyNoInteractions(criteriaBuilder);
+    }
+}
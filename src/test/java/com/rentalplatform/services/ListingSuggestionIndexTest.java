@@ -0,0 +1,135 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.dto.ListingSuggestionDto;
+import com.rentalplatform.dto.ListingSuggestionDto.SuggestionField;
+import com.rentalplatform.event.ListingChangedEvent;
+import com.rentalplatform.event.ListingsImportedEvent;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.projection.ListingSuggestionView;
+import com.rentalplatform.search.ListingSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingSuggestionIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @InjectMocks
+    private ListingSuggestionIndex listingSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(listingSuggestionIndex, "enabled", true);
+    }
+
+    @Test
+    void testSuggest_WhenKeysShareAPrefix_ShouldSplitEdgesAndCompleteEachBranch() {
+        load(listing(1L, "Main Street", 0), listing(2L, "Maple Avenue", 0), listing(3L, "Main Square", 0));
+
+        assertEquals(List.of("Main Square", "Main Street", "Maple Avenue"), texts("ma", 10));
+        assertEquals(List.of("Main Square", "Main Street"), texts("MAIN", 10));
+        assertEquals(List.of("Main Street"), texts("main st", 10));
+        assertEquals(List.of("Maple Avenue"), texts("map", 10));
+        assertEquals(List.of("Main Street"), texts("street", 10));
+        assertTrue(texts("mainz", 10).isEmpty());
+        assertTrue(texts("  ", 10).isEmpty());
+        assertEquals(List.of("a", "m", "s"), rootLabels().stream().map(label -> label.substring(0, 1)).toList());
+    }
+
+    @Test
+    void testSuggest_ShouldRankByPopularityThenText() {
+        load(listing(1L, "Sea View Flat", 4), listing(2L, "Sunny Loft", 1), listing(3L, "Sea View Flat", 0),
+                listing(4L, "Studio Centre", 1));
+
+        List<ListingSuggestionDto> suggestions = listingSuggestionIndex.suggest("s", 10);
+
+        assertEquals(List.of("Sea View Flat", "Studio Centre", "Sunny Loft"),
+                suggestions.stream().map(ListingSuggestionDto::getText).toList());
+        assertEquals(List.of(6L, 2L, 2L), suggestions.stream().map(ListingSuggestionDto::getWeight).toList());
+        assertEquals(List.of("Sea View Flat", "Studio Centre"), texts("s", 2));
+    }
+
+    @Test
+    void testOnListingChanged_WhenReviewsChange_ShouldReorderCachedSuggestions() {
+        load(listing(1L, "Sea View Flat", 2), listing(2L, "Sunny Loft", 0));
+        ListingSuggestionView updated = listing(2L, "Sunny Loft", 5);
+        when(listingRepository.findSuggestionViewById(2L)).thenReturn(Optional.of(updated));
+
+        listingSuggestionIndex.onListingChanged(new ListingChangedEvent(2L, ListingChangedEvent.ChangeType.UPDATED));
+
+        assertEquals(List.of("Sunny Loft", "Sea View Flat"), texts("s", 10));
+    }
+
+    @Test
+    void testOnListingChanged_WhenDeleted_ShouldPruneAndMergeNodes() {
+        load(listing(1L, "Main Street", 0), listing(2L, "Maple Avenue", 0));
+        assertTrue(rootLabels().contains("ma"));
+
+        listingSuggestionIndex.onListingChanged(new ListingChangedEvent(2L, ListingChangedEvent.ChangeType.DELETED));
+
+        assertEquals(List.of("main street", "street"), rootLabels());
+        assertTrue(texts("map", 10).isEmpty());
+        assertTrue(texts("avenue", 10).isEmpty());
+        assertEquals(List.of("Main Street"), texts("ma", 10));
+        verify(listingRepository, never()).findSuggestionViewById(anyLong());
+
+        ListingSuggestionView mango = listing(3L, "Mango Court", 0);
+        when(listingRepository.findSuggestionViewsByIdIn(List.of(3L))).thenReturn(List.of(mango));
+        listingSuggestionIndex.onListingsImported(new ListingsImportedEvent(List.of(3L)));
+
+        assertEquals(List.of("Main Street", "Mango Court"), texts("ma", 10));
+        assertEquals(List.of("Mango Court"), texts("man", 10));
+    }
+
+    @Test
+    void testOnListingChanged_WhenTextSharedByAnotherListing_ShouldKeepItWithLowerWeight() {
+        load(listing(1L, "Sea View Flat", 3), listing(2L, "Sea View Flat", 0));
+
+        listingSuggestionIndex.onListingChanged(new ListingChangedEvent(1L, ListingChangedEvent.ChangeType.DELETED));
+
+        List<ListingSuggestionDto> suggestions = listingSuggestionIndex.suggest("view", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals("Sea View Flat", suggestions.get(0).getText());
+        assertEquals(SuggestionField.TITLE, suggestions.get(0).getField());
+        assertEquals(1L, suggestions.get(0).getWeight());
+    }
+
+    private void load(ListingSuggestionView... listings) {
+        when(listingRepository.findSuggestionViewsAfterId(eq(0L), any())).thenReturn(List.of(listings));
+        listingSuggestionIndex.loadAll();
+        assertTrue(listingSuggestionIndex.isReady());
+    }
+
+    private List<String> texts(String prefix, int limit) {
+        return listingSuggestionIndex.suggest(prefix, limit).stream().map(ListingSuggestionDto::getText).toList();
+    }
+
+    private List<String> rootLabels() {
+        Object root = ReflectionTestUtils.getField(listingSuggestionIndex, "root");
+        Object[] children = (Object[]) ReflectionTestUtils.getField(root, "children");
+        return Arrays.stream(children).map(child -> (String) ReflectionTestUtils.getField(child, "label")).toList();
+    }
+
+    private static ListingSuggestionView listing(Long id, String title, int reviewCount) {
+        ListingSuggestionView view = mock(ListingSuggestionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getTitle()).thenReturn(title);
+        when(view.getReviewCount()).thenReturn(reviewCount);
+        return view;
+    }
+}
@@ -0,0 +1,94 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.utils.ListingPopularityTracker;
+import com.rentalplatform.utils.ListingViewCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ListingPopularityTracker listingPopularityTracker;
+
+    @InjectMocks
+    private ListingViewCounter listingViewCounter;
+
+    @Test
+    void testFlush_ShouldWriteBufferedViewsInOneStatement() {
+        listingViewCounter.recordView(1L);
+        listingViewCounter.recordView(1L);
+        listingViewCounter.recordView(1L);
+        listingViewCounter.recordView(2L);
+
+        listingViewCounter.flush();
+
+        verify(jdbcTemplate, times(1)).update(startsWith("UPDATE listings"), any(PreparedStatementSetter.class));
+        verify(listingPopularityTracker, times(1)).recordViews(1L, 3L);
+        verify(listingPopularityTracker, times(1)).recordViews(2L, 1L);
+        assertEquals(4, listingViewCounter.getTotalFlushedViews());
+        assertEquals(0, listingViewCounter.getPendingViews());
+    }
+
+    @Test
+    void testFlush_WhenNoViews_ShouldNotWrite() {
+        listingViewCounter.flush();
+
+        verifyNoInteractions(jdbcTemplate, listingPopularityTracker);
+    }
+
+    @Test
+    void testFlush_WhenWriteFails_ShouldKeepViewsForNextFlush() {
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(1);
+        listingViewCounter.recordView(1L);
+        listingViewCounter.recordView(1L);
+
+        listingViewCounter.flush();
+
+        assertEquals(1, listingViewCounter.getFailedFlushes());
+        assertEquals(2, listingViewCounter.getPendingViews());
+        verifyNoInteractions(listingPopularityTracker);
+
+        listingViewCounter.flush();
+
+        verify(listingPopularityTracker, times(1)).recordViews(1L, 2L);
+        assertEquals(0, listingViewCounter.getPendingViews());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WhenViewLandsOnDetachedAdder_ShouldCountItInNextFlush() {
+        listingViewCounter.recordView(1L);
+        listingViewCounter.recordView(1L);
+        Map<Long, LongAdder> pendingViews =
+                (Map<Long, LongAdder>) ReflectionTestUtils.getField(listingViewCounter, "pendingViews");
+        LongAdder heldByLateView = pendingViews.get(1L);
+
+        listingViewCounter.flush();
+        heldByLateView.increment();
+        listingViewCounter.flush();
+
+        verify(listingPopularityTracker, times(1)).recordViews(1L, 2L);
+        verify(listingPopularityTracker, times(1)).recordViews(1L, 1L);
+        assertEquals(3, listingViewCounter.getTotalFlushedViews());
+    }
+}
@@ -1,6 +1,5 @@
 package com.rentalplatform.services;
 
-import com.rentalplatform.controller.MessageWebSocketController;
 import com.rentalplatform.dto.MessageDto;
 import com.rentalplatform.entity.MessageEntity;
 import com.rentalplatform.entity.UserEntity;
@@ -10,6 +9,7 @@ import com.rentalplatform.mapper.MessageDtoMapper;
 import com.rentalplatform.repository.MessageRepository;
 import com.rentalplatform.repository.UserRepository;
 import com.rentalplatform.service.MessageService;
+import com.rentalplatform.service.OutboxService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -36,7 +36,7 @@ class MessageServiceTest {
     private MessageRepository messageRepository;
 
     @Mock
-    private MessageWebSocketController messageWebSocketController;
+    private OutboxService outboxService;
 
     @InjectMocks
     private MessageService messageService;
@@ -245,7 +245,7 @@ class MessageServiceTest {
         messageService.sendMessage(receiverUsername, content, senderUsername);
 
         verify(messageRepository, times(1)).save(any(MessageEntity.class));
-        verify(messageWebSocketController, times(1)).sendNotification(receiverUsername, content);
+        verify(outboxService, times(1)).pushMessage(receiver.getId(), receiverUsername, content);
     }
 
     @Test
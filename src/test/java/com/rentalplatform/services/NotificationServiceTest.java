@@ -1,6 +1,5 @@
 package com.rentalplatform.services;
 
-import com.rentalplatform.controller.NotificationWebSocketController;
 import com.rentalplatform.dto.NotificationDto;
 import com.rentalplatform.entity.NotificationEntity;
 import com.rentalplatform.entity.UserEntity;
@@ -10,6 +9,7 @@ import com.rentalplatform.mapper.NotificationDtoMapper;
 import com.rentalplatform.repository.NotificationRepository;
 import com.rentalplatform.repository.UserRepository;
 import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.service.OutboxService;
 import com.rentalplatform.utils.RedisCacheCleaner;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +22,7 @@ import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,7 +43,7 @@ class NotificationServiceTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private NotificationWebSocketController notificationWebSocketController;
+    private OutboxService outboxService;
 
     @InjectMocks
     private NotificationService notificationService;
@@ -318,8 +319,8 @@ class NotificationServiceTest {
         notificationService.createNotification(message, user);
 
         verify(notificationRepository, times(1)).save(any(NotificationEntity.class));
-        verify(redisCacheCleaner, times(1)).evictNotificationCacheByUsername(username);
-        verify(notificationWebSocketController, times(1)).sendNotification(username, message);
+        verify(outboxService, times(1)).pushNotification(user.getId(), List.of(username), message);
+        verify(redisCacheCleaner, never()).evictNotificationCacheByUsername(anyString());
     }
 
     @Test
@@ -359,4 +360,17 @@ class NotificationServiceTest {
 
         assertEquals("Notification with id '1' not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateNotifications_ShouldSaveInOneBatchAndRecordOnePush() {
+        UserEntity first = UserEntity.builder().id(1L).username("first").build();
+        UserEntity second = UserEntity.builder().id(2L).username("second").build();
+
+        notificationService.createNotifications("New listing", List.of(first, second));
+
+        verify(notificationRepository, times(1)).saveAll(argThat((List<NotificationEntity> notifications) ->
+                notifications.size() == 2));
+        verify(outboxService, times(1)).pushNotification(null, Set.of("first", "second"), "New listing");
+        verify(notificationRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,198 @@
+package com.rentalplatform.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentalplatform.controller.MessageWebSocketController;
+import com.rentalplatform.controller.NotificationWebSocketController;
+import com.rentalplatform.entity.OutboxEventEntity;
+import com.rentalplatform.entity.OutboxEventType;
+import com.rentalplatform.event.OutboxEventAppendedEvent;
+import com.rentalplatform.repository.OutboxEventRepository;
+import com.rentalplatform.service.EmailService;
+import com.rentalplatform.utils.OutboxRelay;
+import com.rentalplatform.utils.RedisCacheCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String EMAIL = "{\"to\":\"tenant@example.com\",\"subject\":\"Booking\",\"text\":\"Confirmed\"}";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private RedisCacheCleaner redisCacheCleaner;
+
+    @Mock
+    private NotificationWebSocketController notificationWebSocketController;
+
+    @Mock
+    private MessageWebSocketController messageWebSocketController;
+
+    private final List<Runnable> queuedDrains = new ArrayList<>();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(jdbcTemplate, transactionManager, outboxEventRepository, new ObjectMapper(),
+                emailService, redisCacheCleaner, notificationWebSocketController, messageWebSocketController,
+                queuedDrains::add);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 200);
+        ReflectionTestUtils.setField(outboxRelay, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 10);
+        ReflectionTestUtils.setField(outboxRelay, "maxBackoff", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testDrain_WhenDeliveryFails_ShouldRetryWithExponentialBackoff() throws SQLException {
+        claimReturns(email(1L, 5L, 3));
+        doThrow(new MailSendException("smtp down")).when(emailService).deliver(any());
+
+        Instant before = Instant.now();
+        outboxRelay.drain();
+        Instant after = Instant.now();
+
+        ArgumentCaptor<Timestamp> retryAt = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET available_at = ?, last_error"),
+                retryAt.capture(), eq("smtp down"), eq(1L));
+        assertFalse(retryAt.getValue().toInstant().isBefore(before.plusSeconds(8)));
+        assertFalse(retryAt.getValue().toInstant().isAfter(after.plusSeconds(8)));
+        assertEquals(1, outboxRelay.getFailedAttempts());
+        assertEquals(0, outboxRelay.getRelayedEvents());
+    }
+
+    @Test
+    void testDrain_WhenBackoffExceedsMaximum_ShouldRetryAfterMaxBackoff() throws SQLException {
+        claimReturns(email(1L, 5L, 12));
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 20);
+        doThrow(new MailSendException("smtp down")).when(emailService).deliver(any());
+
+        Instant before = Instant.now();
+        outboxRelay.drain();
+        Instant after = Instant.now();
+
+        ArgumentCaptor<Timestamp> retryAt = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET available_at = ?, last_error"),
+                retryAt.capture(), eq("smtp down"), eq(1L));
+        assertFalse(retryAt.getValue().toInstant().isBefore(before.plus(Duration.ofMinutes(10))));
+        assertFalse(retryAt.getValue().toInstant().isAfter(after.plus(Duration.ofMinutes(10))));
+    }
+
+    @Test
+    void testDrain_WhenMaxAttemptsReached_ShouldGiveUp() throws SQLException {
+        claimReturns(email(1L, 5L, 10));
+        doThrow(new MailSendException("smtp down")).when(emailService).deliver(any());
+
+        outboxRelay.drain();
+
+        verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET failed_at"),
+                any(Timestamp.class), eq("smtp down"), eq(1L));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE outbox_events SET available_at = ?, last_error"),
+                any(Object[].class));
+        assertEquals(1, outboxRelay.getGivenUpEvents());
+    }
+
+    @Test
+    void testDrain_WhenEventFails_ShouldReleaseLaterEventsOfSameAggregateOnly() throws SQLException {
+        claimReturns(email(1L, 5L, 1), email(2L, 5L, 1), email(3L, 6L, 1));
+        doThrow(new MailSendException("smtp down")).doNothing().when(emailService).deliver(any());
+
+        outboxRelay.drain();
+
+        verify(emailService, times(2)).deliver(any());
+        verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET available_at = ?, last_error"),
+                any(Timestamp.class), eq("smtp down"), eq(1L));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM outbox_events"), eq("{3}"));
+        verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET available_at = ?, attempts = attempts - 1"),
+                any(Timestamp.class), eq("{2}"));
+        assertEquals(1, outboxRelay.getRelayedEvents());
+    }
+
+    @Test
+    void testOnOutboxEventAppended_WhenDrainAlreadyQueued_ShouldQueueOnlyOnce() {
+        OutboxEventAppendedEvent event = new OutboxEventAppendedEvent(1L, OutboxEventType.EMAIL);
+
+        outboxRelay.onOutboxEventAppended(event);
+        outboxRelay.onOutboxEventAppended(event);
+        outboxRelay.requestDrain();
+
+        assertEquals(1, queuedDrains.size());
+
+        queuedDrains.get(0).run();
+        outboxRelay.onOutboxEventAppended(event);
+
+        assertEquals(2, queuedDrains.size());
+    }
+
+    private void claimReturns(OutboxEventEntity... events) throws SQLException {
+        List<ResultSet> rows = new ArrayList<>();
+        for (OutboxEventEntity event : events) {
+            rows.add(resultSet(event));
+        }
+        when(jdbcTemplate.query(startsWith("UPDATE outbox_events SET attempts"), any(RowMapper.class),
+                any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> claimed = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                claimed.add(mapper.mapRow(rows.get(i), i));
+            }
+            return claimed;
+        });
+    }
+
+    private static ResultSet resultSet(OutboxEventEntity event) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(event.getId());
+        when(resultSet.getString("aggregate_type")).thenReturn(event.getAggregateType());
+        when(resultSet.getObject("aggregate_id", Long.class)).thenReturn(event.getAggregateId());
+        when(resultSet.getString("type")).thenReturn(event.getType().name());
+        when(resultSet.getString("payload")).thenReturn(event.getPayload());
+        when(resultSet.getInt("attempts")).thenReturn(event.getAttempts());
+        when(resultSet.getTimestamp("created_at")).thenReturn(Timestamp.from(event.getCreatedAt()));
+        return resultSet;
+    }
+
+    private static OutboxEventEntity email(Long id, Long bookingId, int attempts) {
+        return OutboxEventEntity.builder()
+                .id(id)
+                .aggregateType("booking")
+                .aggregateId(bookingId)
+                .type(OutboxEventType.EMAIL)
+                .payload(EMAIL)
+                .attempts(attempts)
+                .build();
+    }
+}
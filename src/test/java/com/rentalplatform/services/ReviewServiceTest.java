@@ -1,6 +1,7 @@
 package com.rentalplatform.services;
 
 import com.rentalplatform.dto.creationDto.CreationReviewDto;
+import com.rentalplatform.dto.ResourceVersion;
 import com.rentalplatform.dto.ReviewDto;
 import com.rentalplatform.dto.updateDto.UpdateReviewDto;
 import com.rentalplatform.entity.*;
@@ -11,16 +12,18 @@ import com.rentalplatform.repository.BookingRepository;
 import com.rentalplatform.repository.ListingRepository;
 import com.rentalplatform.repository.ReviewRepository;
 import com.rentalplatform.repository.UserRepository;
-import com.rentalplatform.service.EmailService;
+import com.rentalplatform.repository.projection.ReviewVersionView;
+import com.rentalplatform.service.ListingAnalyticsService;
 import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.service.OutboxService;
 import com.rentalplatform.service.RatingService;
 import com.rentalplatform.service.ReviewService;
-import com.rentalplatform.utils.RedisCacheCleaner;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -37,7 +40,7 @@ import static org.mockito.Mockito.*;
 class ReviewServiceTest {
 
     @Mock
-    private EmailService emailService;
+    private OutboxService outboxService;
 
     @Mock
     private RatingService ratingService;
@@ -61,7 +64,10 @@ class ReviewServiceTest {
     private NotificationService notificationService;
 
     @Mock
-    private RedisCacheCleaner redisCacheCleaner;
+    private ListingAnalyticsService listingAnalyticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ReviewService reviewService;
@@ -96,6 +102,27 @@ class ReviewServiceTest {
         assertThrows(NotFoundException.class, () -> reviewService.getReviewById(reviewId));
     }
 
+    @Test
+    void testFindReviewVersion_ShouldCombineReviewAndListingVersions() {
+        Long reviewId = 1L;
+        Instant reviewUpdatedAt = Instant.parse("2025-01-01T10:00:00Z");
+        Instant listingUpdatedAt = Instant.parse("2025-01-02T10:00:00Z");
+
+        ReviewVersionView version = mock(ReviewVersionView.class);
+        when(version.getVersion()).thenReturn(2L);
+        when(version.getUpdatedAt()).thenReturn(reviewUpdatedAt);
+        when(version.getListingVersion()).thenReturn(5L);
+        when(version.getListingUpdatedAt()).thenReturn(listingUpdatedAt);
+        when(reviewRepository.findVersionById(reviewId)).thenReturn(Optional.of(version));
+
+        Optional<ResourceVersion> result = reviewService.findReviewVersion(reviewId);
+
+        assertTrue(result.isPresent());
+        assertEquals("review-1-2-5", result.get().etag());
+        assertEquals(listingUpdatedAt, result.get().lastModified());
+        verify(reviewRepository, never()).findById(anyLong());
+    }
+
     @Test
     void testGetReviewsForListing_WithoutSorting_Success() {
         Long listingId = 1L;
@@ -272,9 +299,13 @@ class ReviewServiceTest {
         verify(bookingRepository, times(1))
                 .existsByListingAndTenantAndStatus(listing, tenant, BookingStatus.FINISHED);
         verify(reviewRepository, times(1)).save(any(ReviewEntity.class));
+        verify(listingRepository, times(1)).addReviewRating(listing.getId(), creationReviewDto.getRating());
+        verify(listingAnalyticsService, times(1)).recordReviewChange(eq(listing.getId()), any(), isNull(),
+                eq(creationReviewDto.getRating()));
         verify(ratingService, times(1)).updateLandlordRating(landlord.getId());
-        verify(redisCacheCleaner, times(1)).evictReviewCacheByListingId(creationReviewDto.getListingId());
-        verify(emailService, times(1)).sendEmail(eq(landlord.getEmail()),
+        verify(outboxService, times(1)).evictReviewCaches(review.getId(), creationReviewDto.getListingId());
+        verify(outboxService, times(1)).sendEmail(eq(OutboxService.REVIEW), eq(review.getId()),
+                eq(landlord.getEmail()),
                 eq("New Review Received"),
                 contains(listing.getTitle()));
         verify(notificationService, times(1))
@@ -435,7 +466,8 @@ class ReviewServiceTest {
         assertEquals(expectedDto.getComment(), result.getComment());
         verify(reviewRepository, times(1)).findById(reviewId);
         verify(reviewRepository, times(1)).save(any(ReviewEntity.class));
-        verify(redisCacheCleaner, times(1)).evictReviewCacheByListingId(reviewToUpdate.getListing().getId());
+        verify(outboxService, times(1)).evictReviewCaches(reviewId, reviewToUpdate.getListing().getId());
+        verify(listingRepository, times(1)).replaceReviewRating(listing.getId(), 8.0, 5.0);
         verify(ratingService, times(1)).updateLandlordRating(listing.getLandlord().getId());
         verify(reviewDtoMapper, times(1)).makeReviewDto(reviewToUpdate);
     }
@@ -499,7 +531,10 @@ class ReviewServiceTest {
         reviewService.deleteReview(reviewId, username);
 
         verify(reviewRepository, times(1)).delete(Objects.requireNonNull(reviewToDelete));
-        verify(redisCacheCleaner, times(1)).evictReviewCacheByListingId(reviewToDelete.getListing().getId());
+        verify(listingRepository, times(1)).removeReviewRating(listing.getId(), reviewToDelete.getRating());
+        verify(listingAnalyticsService, times(1)).recordReviewChange(listing.getId(), reviewToDelete.getCreatedAt(),
+                reviewToDelete.getRating(), null);
+        verify(outboxService, times(1)).evictReviewCaches(reviewId, reviewToDelete.getListing().getId());
         verify(ratingService, times(1)).updateLandlordRating(reviewToDelete.getListing().getLandlord().getId());
     }
 
@@ -0,0 +1,219 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.entity.ListingType;
+import com.rentalplatform.event.SavedSearchChangedEvent;
+import com.rentalplatform.repository.SavedSearchRepository;
+import com.rentalplatform.repository.projection.ListingPercolationView;
+import com.rentalplatform.repository.projection.SavedSearchView;
+import com.rentalplatform.search.SavedSearchPercolator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchPercolatorTest {
+
+    private static final String VERSION_KEY = "savedSearchPercolator:version";
+    private static final String CHANGES_KEY = "savedSearchPercolator:changes";
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @InjectMocks
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(savedSearchPercolator, "enabled", true);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void testPercolate_ShouldReturnOnlySearchesTheListingSatisfies() {
+        SavedSearchView byTitle = search(1L, 10L);
+        when(byTitle.getTitle()).thenReturn("Sea view");
+        SavedSearchView byTypeAndRooms = search(2L, 11L);
+        when(byTypeAndRooms.getType()).thenReturn(ListingType.APARTMENT);
+        when(byTypeAndRooms.getNumberOfRooms()).thenReturn(2);
+        when(byTypeAndRooms.getMaxPrice()).thenReturn(150.0);
+        SavedSearchView tooExpensive = search(3L, 12L);
+        when(tooExpensive.getMinPrice()).thenReturn(300.0);
+        load(byTitle, byTypeAndRooms, tooExpensive);
+
+        List<SavedSearchPercolator.Match> matches = savedSearchPercolator.percolate(
+                listing("Flat with Sea view", "Large balcony", 120.0));
+
+        assertEquals(Set.of(1L, 2L), savedSearchIds(matches));
+        assertTrue(matches.stream().noneMatch(SavedSearchPercolator.Match::requiresTextMatch));
+    }
+
+    @Test
+    void testPercolate_WhenSearchHasText_ShouldLeaveTextMatchToDatabase() {
+        SavedSearchView requiredWord = search(1L, 10L);
+        when(requiredWord.getQuery()).thenReturn("cozy balcony -noisy");
+        SavedSearchView alternatives = search(2L, 11L);
+        when(alternatives.getQuery()).thenReturn("garden or pool");
+        SavedSearchView otherWord = search(3L, 12L);
+        when(otherWord.getQuery()).thenReturn("fireplace");
+        load(requiredWord, alternatives, otherWord);
+
+        List<SavedSearchPercolator.Match> matches = savedSearchPercolator.percolate(
+                listing("Flat with Sea view", "Large balcony", 120.0));
+
+        assertEquals(Set.of(1L, 2L), savedSearchIds(matches));
+        assertTrue(matches.stream().allMatch(SavedSearchPercolator.Match::requiresTextMatch));
+    }
+
+    @Test
+    void testPercolate_WhenBoxCrossesAntimeridian_ShouldMatchListingsOnEitherSide() {
+        SavedSearchView acrossAntimeridian = search(1L, 10L);
+        when(acrossAntimeridian.getMinLatitude()).thenReturn(-20.0);
+        when(acrossAntimeridian.getMaxLatitude()).thenReturn(-10.0);
+        when(acrossAntimeridian.getMinLongitude()).thenReturn(170.0);
+        when(acrossAntimeridian.getMaxLongitude()).thenReturn(-170.0);
+        SavedSearchView betweenTheSameMeridians = search(2L, 11L);
+        when(betweenTheSameMeridians.getMinLatitude()).thenReturn(-20.0);
+        when(betweenTheSameMeridians.getMaxLatitude()).thenReturn(-10.0);
+        when(betweenTheSameMeridians.getMinLongitude()).thenReturn(-170.0);
+        when(betweenTheSameMeridians.getMaxLongitude()).thenReturn(170.0);
+        load(acrossAntimeridian, betweenTheSameMeridians);
+        ListingPercolationView fiji = listing("Flat with Sea view", "Large balcony", 120.0);
+        when(fiji.getLatitude()).thenReturn(-17.7);
+        when(fiji.getLongitude()).thenReturn(178.0);
+
+        List<SavedSearchPercolator.Match> matches = savedSearchPercolator.percolate(fiji);
+
+        assertEquals(Set.of(1L), savedSearchIds(matches));
+    }
+
+    @Test
+    void testOnSavedSearchChanged_WhenDeleted_ShouldStopMatchingAndLogChange() {
+        SavedSearchView byTitle = search(1L, 10L);
+        when(byTitle.getTitle()).thenReturn("Sea view");
+        load(byTitle);
+
+        savedSearchPercolator.onSavedSearchChanged(new SavedSearchChangedEvent(1L, true));
+
+        assertTrue(savedSearchPercolator.percolate(listing("Flat with Sea view", "Large balcony", 120.0)).isEmpty());
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of(VERSION_KEY, CHANGES_KEY)), eq("1"),
+                eq("10000"));
+    }
+
+    @Test
+    void testSyncChangesFromElsewhere_WhenVersionUnchangedOrOwnChange_ShouldNotReadSearches() {
+        when(valueOperations.get(VERSION_KEY)).thenReturn("3", "3", "4");
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(4L);
+        mockLoggedChanges(new LinkedHashSet<>());
+        load();
+
+        savedSearchPercolator.syncChangesFromElsewhere();
+        savedSearchPercolator.onSavedSearchChanged(new SavedSearchChangedEvent(1L, true));
+        savedSearchPercolator.syncChangesFromElsewhere();
+
+        verify(savedSearchRepository, times(1)).findViewsAfterId(eq(0L), any());
+        verify(savedSearchRepository, never()).findViewById(anyLong());
+    }
+
+    @Test
+    void testSyncChangesFromElsewhere_ShouldApplyOnlyLoggedSearches() {
+        SavedSearchView deletedElsewhere = search(1L, 10L);
+        when(deletedElsewhere.getTitle()).thenReturn("Sea view");
+        when(valueOperations.get(VERSION_KEY)).thenReturn("3", "5", "5");
+        load(deletedElsewhere);
+        SavedSearchView createdElsewhere = search(7L, 11L);
+        when(createdElsewhere.getTitle()).thenReturn("Flat with");
+        when(savedSearchRepository.findViewById(7L)).thenReturn(Optional.of(createdElsewhere));
+        when(savedSearchRepository.findViewById(1L)).thenReturn(Optional.empty());
+        mockLoggedChanges(new LinkedHashSet<>(List.of(TypedTuple.of("7", 4.0), TypedTuple.of("1", 5.0))));
+
+        savedSearchPercolator.syncChangesFromElsewhere();
+        savedSearchPercolator.syncChangesFromElsewhere();
+
+        assertEquals(Set.of(7L), savedSearchIds(savedSearchPercolator.percolate(
+                listing("Flat with Sea view", "Large balcony", 120.0))));
+        verify(zSetOperations).rangeByScoreWithScores(CHANGES_KEY, 4, Double.POSITIVE_INFINITY);
+        verify(zSetOperations).rangeByScoreWithScores(CHANGES_KEY, 6, Double.POSITIVE_INFINITY);
+        verify(savedSearchRepository, times(1)).findViewsAfterId(eq(0L), any());
+    }
+
+    @Test
+    void testSyncChangesFromElsewhere_WhenBehindChangeLog_ShouldRebuildWhileServingPreviousIndex() {
+        SavedSearchView byTitle = search(1L, 10L);
+        when(byTitle.getTitle()).thenReturn("Sea view");
+        when(valueOperations.get(VERSION_KEY)).thenReturn("3", "20000", "20000");
+        load(byTitle);
+        mockLoggedChanges(new LinkedHashSet<>());
+        ListingPercolationView listing = listing("Flat with Sea view", "Large balcony", 120.0);
+        when(savedSearchRepository.findViewsAfterId(eq(0L), any())).thenAnswer(invocation -> {
+            assertTrue(savedSearchPercolator.isReady());
+            assertEquals(Set.of(1L), savedSearchIds(savedSearchPercolator.percolate(listing)));
+            return List.of();
+        });
+
+        savedSearchPercolator.syncChangesFromElsewhere();
+
+        assertTrue(savedSearchPercolator.percolate(listing).isEmpty());
+        assertTrue(savedSearchPercolator.isReady());
+        verify(savedSearchRepository, never()).findViewById(anyLong());
+    }
+
+    private void mockLoggedChanges(Set<TypedTuple<String>> changes) {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScoreWithScores(eq(CHANGES_KEY), anyDouble(), anyDouble())).thenReturn(changes);
+    }
+
+    private void load(SavedSearchView... searches) {
+        when(savedSearchRepository.findViewsAfterId(eq(0L), any())).thenReturn(List.of(searches));
+        savedSearchPercolator.loadAll();
+    }
+
+    private static SavedSearchView search(Long id, Long userId) {
+        SavedSearchView view = mock(SavedSearchView.class, invocation -> null);
+        when(view.getId()).thenReturn(id);
+        when(view.getUserId()).thenReturn(userId);
+        return view;
+    }
+
+    private static ListingPercolationView listing(String title, String description, Double price) {
+        ListingPercolationView listing = mock(ListingPercolationView.class);
+        when(listing.getTitle()).thenReturn(title);
+        when(listing.getAddress()).thenReturn("Odesa, Beach street 1");
+        when(listing.getDescription()).thenReturn(description);
+        when(listing.getPrice()).thenReturn(price);
+        when(listing.getType()).thenReturn(ListingType.APARTMENT);
+        when(listing.getNumberOfRooms()).thenReturn(2);
+        return listing;
+    }
+
+    private static Set<Long> savedSearchIds(List<SavedSearchPercolator.Match> matches) {
+        return matches.stream().map(SavedSearchPercolator.Match::savedSearchId).collect(Collectors.toSet());
+    }
+}
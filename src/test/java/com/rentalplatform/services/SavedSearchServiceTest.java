@@ -0,0 +1,171 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.dto.FilterListingsDto;
+import com.rentalplatform.dto.SavedSearchDto;
+import com.rentalplatform.entity.SavedSearchEntity;
+import com.rentalplatform.entity.UserEntity;
+import com.rentalplatform.event.SavedSearchChangedEvent;
+import com.rentalplatform.exception.BadRequestException;
+import com.rentalplatform.mapper.SavedSearchDtoMapper;
+import com.rentalplatform.repository.ListingRepository;
+import com.rentalplatform.repository.SavedSearchMatchRepository;
+import com.rentalplatform.repository.SavedSearchRepository;
+import com.rentalplatform.repository.UserRepository;
+import com.rentalplatform.repository.projection.ListingPercolationView;
+import com.rentalplatform.search.SavedSearchPercolator;
+import com.rentalplatform.service.NotificationService;
+import com.rentalplatform.service.SavedSearchService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private SavedSearchMatchRepository savedSearchMatchRepository;
+
+    @Mock
+    private SavedSearchDtoMapper savedSearchDtoMapper;
+
+    @Mock
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    @Test
+    void testCreateSavedSearch_Success() {
+        UserEntity user = UserEntity.builder().id(1L).username("tenant").build();
+        FilterListingsDto filter = FilterListingsDto.builder().query("loft").maxPrice(900.0).build();
+        SavedSearchEntity saved = SavedSearchEntity.builder().id(5L).name("Lofts").user(user).build();
+        SavedSearchDto expectedDto = SavedSearchDto.builder().id(5L).name("Lofts").build();
+
+        when(userRepository.findByUsername("tenant")).thenReturn(Optional.of(user));
+        when(savedSearchRepository.countByUserId(1L)).thenReturn(0L);
+        when(savedSearchRepository.save(any(SavedSearchEntity.class))).thenReturn(saved);
+        when(savedSearchDtoMapper.makeSavedSearchDto(saved)).thenReturn(expectedDto);
+
+        SavedSearchDto result = savedSearchService.createSavedSearch(" Lofts ", filter, "tenant");
+
+        assertEquals(expectedDto, result);
+        verify(savedSearchRepository).save(argThat(search ->
+                "Lofts".equals(search.getName()) && "loft".equals(search.getQuery()) && search.getMaxPrice() == 900.0));
+        verify(eventPublisher).publishEvent(new SavedSearchChangedEvent(5L, false));
+    }
+
+    @Test
+    void testCreateSavedSearch_WhenFilteringByDates_ShouldThrowException() {
+        UserEntity user = UserEntity.builder().id(1L).username("tenant").build();
+        FilterListingsDto filter = FilterListingsDto.builder().checkIn(LocalDate.now()).build();
+
+        when(userRepository.findByUsername("tenant")).thenReturn(Optional.of(user));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> savedSearchService.createSavedSearch("Summer", filter, "tenant"));
+
+        assertEquals("Saved searches cannot filter by dates", exception.getMessage());
+        verify(savedSearchRepository, never()).save(any());
+    }
+
+    @Test
+    void testAlertMatchingSearches_ShouldNotifyEachUserOnceAndSkipLandlord() {
+        Long listingId = 10L;
+        ListingPercolationView listing = mock(ListingPercolationView.class);
+        when(listing.getLandlordId()).thenReturn(99L);
+        when(listing.getTitle()).thenReturn("Sunny loft");
+        UserEntity tenant = UserEntity.builder().id(1L).username("tenant").build();
+
+        when(savedSearchPercolator.isReady()).thenReturn(true);
+        when(listingRepository.findPercolationViewById(listingId)).thenReturn(Optional.of(listing));
+        when(savedSearchPercolator.percolate(listing)).thenReturn(List.of(
+                new SavedSearchPercolator.Match(1L, 1L, false),
+                new SavedSearchPercolator.Match(2L, 1L, true),
+                new SavedSearchPercolator.Match(3L, 2L, true),
+                new SavedSearchPercolator.Match(4L, 99L, false)));
+        when(savedSearchRepository.findIdsMatchingListingText(listingId, List.of(2L, 3L))).thenReturn(List.of(2L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("{1,2}"), eq(listingId)))
+                .thenReturn(List.of(1L, 2L));
+        when(userRepository.findAllById(List.of(1L))).thenReturn(List.of(tenant));
+
+        savedSearchService.alertMatchingSearches(listingId);
+
+        verify(notificationService, times(1))
+                .createNotifications("New listing 'Sunny loft' matches one of your saved searches", List.of(tenant));
+    }
+
+    @Test
+    void testAlertMatchingSearches_WhenAlreadyAlerted_ShouldNotNotify() {
+        Long listingId = 10L;
+        ListingPercolationView listing = mock(ListingPercolationView.class);
+        when(listing.getLandlordId()).thenReturn(99L);
+
+        when(savedSearchPercolator.isReady()).thenReturn(true);
+        when(listingRepository.findPercolationViewById(listingId)).thenReturn(Optional.of(listing));
+        when(savedSearchPercolator.percolate(listing)).thenReturn(List.of(new SavedSearchPercolator.Match(1L, 1L, false)));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("{1}"), eq(listingId))).thenReturn(List.of());
+
+        savedSearchService.alertMatchingSearches(listingId);
+
+        verify(notificationService, never()).createNotifications(anyString(), anyList());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testAlertMatchingSearches_WhenPercolatorLoading_ShouldRetryOnceReady() {
+        Long listingId = 10L;
+        when(savedSearchPercolator.isReady()).thenReturn(false, true, true);
+        when(savedSearchPercolator.isEnabled()).thenReturn(true);
+
+        savedSearchService.alertMatchingSearches(listingId);
+
+        assertEquals(1, savedSearchService.getDeferredAlerts());
+        verify(listingRepository, never()).findPercolationViewById(anyLong());
+
+        when(listingRepository.findPercolationViewById(listingId)).thenReturn(Optional.empty());
+        savedSearchService.retryDeferredAlerts();
+
+        verify(listingRepository, times(1)).findPercolationViewById(listingId);
+        assertEquals(0, savedSearchService.getDeferredAlerts());
+    }
+
+    @Test
+    void testAlertMatchingSearches_WhenAlertsDisabled_ShouldNotDefer() {
+        when(savedSearchPercolator.isReady()).thenReturn(false);
+        when(savedSearchPercolator.isEnabled()).thenReturn(false);
+
+        savedSearchService.alertMatchingSearches(10L);
+
+        assertEquals(0, savedSearchService.getDeferredAlerts());
+        verifyNoInteractions(listingRepository);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rentalplatform.services;
+
+import com.rentalplatform.utils.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void testAdvance_ShouldNeverFireBeforeDueTime() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 2, 0);
+
+        assertTrue(wheel.schedule(2500, "a"));
+
+        assertTrue(wheel.advance(2999).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_ShouldCascadeTimersFromUpperLevelAcrossSlotRollover() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 2, 3500);
+
+        wheel.schedule(5000, "level0");
+        wheel.schedule(8000, "level1");
+        wheel.schedule(9000, "level1Later");
+        wheel.schedule(17000, "wrapped");
+        assertEquals(4, wheel.size());
+
+        assertTrue(wheel.advance(4999).isEmpty());
+        assertEquals(List.of("level0"), wheel.advance(5000));
+        assertTrue(wheel.advance(7999).isEmpty());
+        assertEquals(List.of("level1"), wheel.advance(8000));
+        assertTrue(wheel.advance(8999).isEmpty());
+        assertEquals(List.of("level1Later"), wheel.advance(9000));
+        assertTrue(wheel.advance(16999).isEmpty());
+        assertEquals(List.of("wrapped"), wheel.advance(17000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testSchedule_WhenBeyondHorizon_ShouldReject() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 2, 3500);
+
+        assertEquals(16000, wheel.horizonMillis());
+        assertFalse(wheel.schedule(19000, "far"));
+        assertTrue(wheel.schedule(18000, "edge"));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testSchedule_WhenAlreadyDue_ShouldFireOnNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 2, 10_000);
+
+        wheel.schedule(4000, "late");
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("late"), wheel.advance(10_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_WhenSkippingManyTicks_ShouldReturnTimersInDueOrder() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 2, 0);
+
+        wheel.schedule(3000, "b");
+        wheel.schedule(1000, "a");
+        wheel.schedule(3000, "c");
+
+        assertEquals(List.of("a", "b", "c"), wheel.advance(20000));
+    }
+}